@@ -25,4 +25,7 @@ public class AppConstants {
         "/actuator/health",
         "/actuator/info"
     );
+
+    // Upload job progress stream (SSE), the only endpoint answered through async dispatches
+    public static final String UPLOAD_JOB_EVENTS = "/v3/admin/upload-jobs/*/events";
 }
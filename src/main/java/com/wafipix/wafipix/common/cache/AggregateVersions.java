@@ -0,0 +1,171 @@
+package com.wafipix.wafipix.common.cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versions of the aggregates behind the public endpoints, used as HTTP validators
+ * A version is fingerprinted from MAX(updatedAt) and COUNT of every entity in the aggregate (the count catches
+ * deletes, which leave updatedAt untouched) and re-checked at most once per TTL. Every detected change and every
+ * explicit invalidation starts a new generation, so readers never get a validator older than the data they see.
+ * Review lists are reshuffled every period without any row changing, so their validator also carries the period.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AggregateVersions {
+
+    public static final String CATALOG = "catalog";
+    public static final String WORKS = "works";
+    public static final String REVIEWS = "reviews";
+    public static final String CLIENTS = "clients";
+    public static final String SOCIAL_MEDIA = "social-media";
+    public static final String ADVERTISEMENT_VIDEOS = "advertisement-videos";
+
+    // Auditable entities whose rows make up each aggregate
+    private static final Map<String, List<String>> ENTITIES = Map.of(
+            CATALOG, List.of("Category", "Service", "ServiceFeature", "FAQ", "Package", "Feature"),
+            WORKS, List.of("Work", "Service", "Gallery", "GalleryItem", "FileVariant"), // Work bodies show the service title
+            REVIEWS, List.of("Review"),
+            CLIENTS, List.of("Client"),
+            SOCIAL_MEDIA, List.of("SocialMedia"),
+            ADVERTISEMENT_VIDEOS, List.of("AdvertisementVideo")
+    );
+
+    private final EntityManager entityManager;
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    @Value("${http.cache.version-ttl:5s}")
+    private Duration versionTtl;
+
+    @Value("${reviews.shuffle-period:5m}")
+    private Duration reviewShufflePeriod;
+
+    public Version current(String aggregate) {
+        Version cached = versions.get(aggregate);
+        Version version = cached != null && !isExpired(cached) ? cached : recheck(aggregate);
+        return REVIEWS.equals(aggregate) ? version.inPeriod(now(), reviewShufflePeriod) : version;
+    }
+
+    /**
+     * Start a new generation once the data readers see has changed (e.g. after an in-memory cache was rebuilt)
+     */
+    public synchronized void invalidate(String aggregate) {
+        Version cached = versions.get(aggregate);
+        if (cached != null) {
+            // Also due for a fingerprint check, the change may not be visible in it yet
+            versions.put(aggregate, cached.next(cached.fingerprint(), now(), System.nanoTime() - versionTtl.toNanos()));
+        }
+    }
+
+    private synchronized Version recheck(String aggregate) {
+        Version cached = versions.get(aggregate);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+        List<String> entities = ENTITIES.get(aggregate);
+        if (entities == null) {
+            throw new IllegalArgumentException("Unknown aggregate: " + aggregate);
+        }
+
+        StringBuilder fingerprint = new StringBuilder();
+        for (Object value : fingerprintQuery(entities).getSingleResult()) {
+            fingerprint.append(value).append(';');
+        }
+
+        Version version;
+        if (cached == null) {
+            // Changes before a restart are unknown, so validators of earlier runs never look current
+            version = new Version(aggregate, fingerprint.toString(), 0,
+                    now().truncatedTo(ChronoUnit.SECONDS), System.nanoTime());
+        } else if (!cached.fingerprint().contentEquals(fingerprint)) {
+            // Last-Modified is when the change was seen, a delete leaves no newer updatedAt behind
+            version = cached.next(fingerprint.toString(), now(), System.nanoTime());
+            log.debug("Aggregate '{}' changed, now at generation {}", aggregate, version.generation());
+        } else {
+            version = cached.checked(System.nanoTime());
+        }
+        versions.put(aggregate, version);
+        return version;
+    }
+
+    // One statement per check, with a pair of scalar subqueries per entity
+    private TypedQuery<Object[]> fingerprintQuery(List<String> entities) {
+        StringJoiner select = new StringJoiner(", ", "SELECT ", "");
+        for (String entity : entities) {
+            select.add("(SELECT MAX(e.updatedAt) FROM " + entity + " e)");
+            select.add("(SELECT COUNT(e) FROM " + entity + " e)");
+        }
+        return entityManager.createQuery(select.toString(), Object[].class);
+    }
+
+    private boolean isExpired(Version version) {
+        return System.nanoTime() - version.checkedAt() >= versionTtl.toNanos();
+    }
+
+    private static Instant now() {
+        return Instant.now();
+    }
+
+    /**
+     * @param checkedAt nanoTime of the last fingerprint check
+     */
+    public record Version(String aggregate, String fingerprint, long generation, Instant lastModified, long checkedAt) {
+
+        Version next(String fingerprint, Instant lastModified, long checkedAt) {
+            // HTTP dates have second precision, a change in the same second must still move Last-Modified forward
+            Instant truncated = lastModified.truncatedTo(ChronoUnit.SECONDS);
+            Instant moved = truncated.isAfter(this.lastModified) ? truncated : this.lastModified.plusSeconds(1);
+            return new Version(aggregate, fingerprint, generation + 1, moved, checkedAt);
+        }
+
+        Version checked(long checkedAt) {
+            return new Version(aggregate, fingerprint, generation, lastModified, checkedAt);
+        }
+
+        /**
+         * Same data in the period containing now, periods are counted from the epoch like the review shuffle seed
+         */
+        Version inPeriod(Instant now, Duration period) {
+            long length = Math.max(1, period.toMillis());
+            long index = now.toEpochMilli() / length;
+            Instant start = Instant.ofEpochMilli(index * length).truncatedTo(ChronoUnit.SECONDS);
+            return new Version(aggregate, fingerprint + "period:" + index + ';', generation,
+                    start.isAfter(lastModified) ? start : lastModified, checkedAt);
+        }
+
+        /**
+         * Strong entity tag of the aggregate state, with a suffix per content coding
+         */
+        public String etag(String contentCoding) {
+            StringBuilder etag = new StringBuilder("\"").append(aggregate).append('-')
+                    .append(Long.toHexString(hash(fingerprint))).append('-').append(generation);
+            if (contentCoding != null) {
+                etag.append('-').append(contentCoding);
+            }
+            return etag.append('"').toString();
+        }
+
+        // 64-bit FNV-1a, the fingerprint itself is too long for a header
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
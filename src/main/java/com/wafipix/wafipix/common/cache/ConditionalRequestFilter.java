@@ -0,0 +1,166 @@
+package com.wafipix.wafipix.common.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Conditional GET for the public read endpoints
+ * Validators come from the version of the aggregate behind the path, so If-None-Match / If-Modified-Since
+ * are answered with 304 before the controller runs any query or serialization. They and Cache-Control are only
+ * sent with 2xx and 304 responses, an error must not be cached or revalidated as the current version.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalRequestFilter extends OncePerRequestFilter {
+
+    // Public path prefix -> aggregate its responses are derived from (uploads carry their own validators)
+    private static final Map<String, String> AGGREGATES_BY_PATH = Map.of(
+            "/v3/public/services", AggregateVersions.CATALOG,
+            "/v3/public/packages", AggregateVersions.CATALOG,
+            "/v3/public/works", AggregateVersions.WORKS,
+            "/v3/public/reviews", AggregateVersions.REVIEWS,
+            "/v3/public/clients", AggregateVersions.CLIENTS,
+            "/v3/public/social-media", AggregateVersions.SOCIAL_MEDIA,
+            "/v3/public/advertisement-videos", AggregateVersions.ADVERTISEMENT_VIDEOS
+    );
+
+    private final AggregateVersions aggregateVersions;
+
+    @Value("${http.cache.max-age:30s}")
+    private Duration maxAge;
+
+    @Value("${http.cache.stale-while-revalidate:5m}")
+    private Duration staleWhileRevalidate;
+
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method)) || aggregateFor(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NotNull HttpServletRequest request,
+            @NotNull HttpServletResponse response,
+            @NotNull FilterChain filterChain) throws ServletException, IOException {
+
+        AggregateVersions.Version version = aggregateVersions.current(aggregateFor(request.getRequestURI()));
+        // Cached bodies are compressed for clients that accept it, each coding is a different representation
+        String etag = version.etag(ResponseBytesCache.preferredCoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING)));
+
+        long lastModified = version.lastModified().toEpochMilli();
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        CacheableResponse cacheable = new CacheableResponse(response, "public, max-age=" + maxAge.toSeconds()
+                + ", stale-while-revalidate=" + staleWhileRevalidate.toSeconds(), etag, lastModified);
+        // Answers 304 when the client's copy is current (412 for a failed If-Unmodified-Since), validators are sent below
+        if (new ServletWebRequest(request, new HeaderlessResponse(response)).checkNotModified(etag, lastModified)) {
+            cacheable.sendCacheHeaders();
+            return;
+        }
+        filterChain.doFilter(request, cacheable);
+        cacheable.sendCacheHeaders();
+    }
+
+    private static String aggregateFor(String path) {
+        for (Map.Entry<String, String> entry : AGGREGATES_BY_PATH.entrySet()) {
+            String prefix = entry.getKey();
+            if (path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the cache headers once the status is known: before the body is written, or after the chain for
+     * responses without one
+     */
+    private static final class CacheableResponse extends HttpServletResponseWrapper {
+
+        private final String cacheControl;
+        private final String etag;
+        private final long lastModified;
+        private boolean decided;
+
+        CacheableResponse(HttpServletResponse response, String cacheControl, String etag, long lastModified) {
+            super(response);
+            this.cacheControl = cacheControl;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        void sendCacheHeaders() {
+            if (decided || isCommitted()) {
+                return;
+            }
+            decided = true;
+            int status = getStatus();
+            if ((status >= 200 && status < 300) || status == HttpServletResponse.SC_NOT_MODIFIED) {
+                setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                setHeader(HttpHeaders.ETAG, etag);
+                setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            sendCacheHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            sendCacheHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            sendCacheHeaders();
+            super.flushBuffer();
+        }
+    }
+
+    /**
+     * Lets the precondition check set the status only, the validators it would add are sent by CacheableResponse
+     */
+    private static final class HeaderlessResponse extends HttpServletResponseWrapper {
+
+        HeaderlessResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.wafipix.wafipix.common.cache;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ready-to-write JSON bodies of hot public responses, keyed by namespace and request parameters
+ * Entries carry the namespace version they were built under, so invalidate(namespace) drops a whole
+ * namespace at once and a body computed concurrently with an invalidation is never served afterwards
+ * Bodies worth compressing also keep a gzip and, when the native encoder loads, a Brotli variant
+ */
+@Component
+@Slf4j
+public class ResponseBytesCache {
+
+    public static final String SERVICES = "services";
+    public static final String WORKS = "works";
+
+    static final int MAX_ENTRIES = 2000;
+    private static final int MIN_COMPRESSIBLE_BYTES = 1024;
+    // Compressed once per entry, 11 costs several times more for a few percent
+    private static final int BROTLI_QUALITY = 9;
+    private static final boolean BROTLI_AVAILABLE = loadBrotli();
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    // Least recently served entries go first, parameter scanning only pushes out the cold tail
+    private final Map<String, Entry> entries = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    public ResponseBytesCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Respond with the cached body for the key, serializing the supplied body on a miss
+     * The Brotli variant is preferred over gzip when the client accepts both
+     */
+    public ResponseEntity<byte[]> respond(String namespace, String key, HttpServletRequest request, Supplier<?> body) {
+        Entry entry = get(namespace, key, body);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String coding = preferredCoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (entry.brotli() != null && "br".equals(coding)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "br");
+            return ResponseEntity.ok().headers(headers).body(entry.brotli());
+        }
+        if (entry.gzip() != null && coding != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return ResponseEntity.ok().headers(headers).body(entry.gzip());
+        }
+        return ResponseEntity.ok().headers(headers).body(entry.json());
+    }
+
+    public void invalidate(String namespace) {
+        long version = versionOf(namespace).incrementAndGet();
+        String prefix = namespace + ":";
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+        log.debug("Response cache namespace '{}' invalidated (version {})", namespace, version);
+    }
+
+    Entry get(String namespace, String key, Supplier<?> body) {
+        // Read the version before computing, an invalidation racing with the computation makes the entry stale
+        long version = versionOf(namespace).get();
+        String cacheKey = namespace + ":" + key;
+        Entry cached = entries.get(cacheKey);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+
+        Entry computed = serialize(version, body.get());
+        entries.put(cacheKey, computed);
+        return computed;
+    }
+
+    private Entry serialize(long version, Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+        if (json.length < MIN_COMPRESSIBLE_BYTES) {
+            return new Entry(version, json, null, null);
+        }
+        return new Entry(version, json, gzip(json), BROTLI_AVAILABLE ? brotli(json) : null);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private AtomicLong versionOf(String namespace) {
+        return versions.computeIfAbsent(namespace, ignored -> new AtomicLong());
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] json) {
+        try {
+            return Encoder.compress(json, new Encoder.Parameters().setQuality(BROTLI_QUALITY).setMode(Encoder.Mode.TEXT));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean loadBrotli() {
+        if (!Brotli4jLoader.isAvailable()) {
+            log.warn("Brotli encoder unavailable, cached responses are only gzipped", Brotli4jLoader.getUnavailabilityCause());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Content coding cached bodies are sent with for the Accept-Encoding header: br, gzip or null for identity
+     */
+    static String preferredCoding(String acceptEncoding) {
+        if (BROTLI_AVAILABLE && accepts(acceptEncoding, "br")) {
+            return "br";
+        }
+        return accepts(acceptEncoding, "gzip") ? "gzip" : null;
+    }
+
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String accepted : acceptEncoding.split(",")) {
+            String[] parts = accepted.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase(coding)) {
+                continue;
+            }
+            // coding;q=0 explicitly refuses it
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") && param.substring(2).trim().matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    record Entry(long version, byte[] json, byte[] gzip, byte[] brotli) {
+    }
+}
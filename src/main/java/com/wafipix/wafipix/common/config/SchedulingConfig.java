@@ -0,0 +1,12 @@
+package com.wafipix.wafipix.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled maintenance tasks (e.g. sweeping abandoned staged uploads)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package com.wafipix.wafipix.common.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +18,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 
 import com.wafipix.wafipix.common.AppConstants;
 import com.wafipix.wafipix.common.security.filter.JwtAuthenticationFilter;
@@ -63,6 +67,10 @@ public class SecurityConfig {
                     for (String endpoint : AppConstants.PUBLIC_ENDPOINTS) {
                         requestMatcher = requestMatcher.requestMatchers(endpoint).permitAll();
                     }
+                    // Async dispatches of the event stream only finish a response authorized on the original request
+                    requestMatcher = requestMatcher.requestMatchers(new AndRequestMatcher(
+                            new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                            AntPathRequestMatcher.antMatcher(HttpMethod.GET, AppConstants.UPLOAD_JOB_EVENTS))).permitAll();
                     requestMatcher.anyRequest().authenticated();
                 })
                 .oauth2Login(oauth ->
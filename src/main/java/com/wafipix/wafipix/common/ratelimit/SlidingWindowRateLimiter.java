@@ -0,0 +1,150 @@
+package com.wafipix.wafipix.common.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory sliding window counters per key (an email, a client IP)
+ * The count over the last window is estimated from the current fixed window plus the share of the previous one
+ * that still overlaps it. Counters are swapped by compare-and-set, the map only locks a bin to insert a new key.
+ * Keys idle for two windows count nothing and are evicted. When the map is full of live keys, the least recently
+ * seen tenth is evicted to make room, so a flood of new keys never locks out everyone else. Rejected attempts
+ * count as activity, a key that is being hammered stays tracked.
+ */
+public class SlidingWindowRateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final int limit;
+    private final long windowNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Map<String, AtomicReference<Window>> counters = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    public SlidingWindowRateLimiter(int limit, Duration window, int maxKeys) {
+        this(limit, window, maxKeys, System::nanoTime);
+    }
+
+    SlidingWindowRateLimiter(int limit, Duration window, int maxKeys, LongSupplier clock) {
+        if (limit < 1 || window.isZero() || window.isNegative() || maxKeys < 1) {
+            throw new IllegalArgumentException("Rate limit, window and key capacity must be positive");
+        }
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong() - SWEEP_INTERVAL_NANOS);
+    }
+
+    /**
+     * Count one event for the key
+     * @return false, without counting it, when the key already reached the limit within the window
+     */
+    public boolean tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicReference<Window> counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= maxKeys) {
+                makeRoom(now);
+            }
+            counter = counters.computeIfAbsent(key, k -> new AtomicReference<>(new Window(now, 0, 0, now)));
+        }
+
+        while (true) {
+            Window current = counter.get();
+            Window rolled = current.rollTo(now, windowNanos);
+            if (rolled.estimate(now, windowNanos) >= limit) {
+                // Best effort, losing this race only ages the key by one attempt
+                counter.compareAndSet(current, rolled.seenAt(now));
+                return false;
+            }
+            if (counter.compareAndSet(current, rolled.increment(now))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drop keys without events in the last two windows
+     * @return Number of keys removed
+     */
+    public int evictIdle() {
+        return evictIdle(clock.getAsLong());
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    // Full sweeps are rate limited, a flood of new keys must not turn every request into one
+    private void makeRoom(long now) {
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+            evictIdle(now);
+        }
+        if (counters.size() >= maxKeys) {
+            evictLeastRecentlySeen();
+        }
+    }
+
+    private int evictIdle(long now) {
+        int before = counters.size();
+        counters.values().removeIf(counter -> counter.get().isIdle(now, windowNanos));
+        return Math.max(0, before - counters.size());
+    }
+
+    // A tenth at a time, so the scan is paid once per batch of new keys and not for each of them
+    private synchronized void evictLeastRecentlySeen() {
+        if (counters.size() < maxKeys) {
+            return;
+        }
+        List<Map.Entry<String, AtomicReference<Window>>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().get().lastSeen()));
+        int evict = Math.min(entries.size(), Math.max(1, maxKeys / 10) + counters.size() - maxKeys);
+        for (int i = 0; i < evict; i++) {
+            counters.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+    }
+
+    /**
+     * @param lastSeen nanoTime of the last attempt, admitted or not
+     */
+    private record Window(long start, int previous, int current, long lastSeen) {
+
+        Window rollTo(long now, long windowNanos) {
+            long elapsed = now - start;
+            if (elapsed < windowNanos) {
+                return this;
+            }
+            if (elapsed < 2 * windowNanos) {
+                return new Window(start + windowNanos, current, 0, lastSeen);
+            }
+            return new Window(now, 0, 0, lastSeen);
+        }
+
+        double estimate(long now, long windowNanos) {
+            double previousOverlap = (double) (windowNanos - (now - start)) / windowNanos;
+            return previous * previousOverlap + current;
+        }
+
+        Window increment(long now) {
+            return new Window(start, previous, current + 1, now);
+        }
+
+        Window seenAt(long now) {
+            return new Window(start, previous, current, now);
+        }
+
+        boolean isIdle(long now, long windowNanos) {
+            return now - start >= 2 * windowNanos;
+        }
+    }
+}
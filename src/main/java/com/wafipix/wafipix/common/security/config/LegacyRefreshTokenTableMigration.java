@@ -0,0 +1,48 @@
+package com.wafipix.wafipix.common.security.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Drops the refresh_tokens table that held raw refresh tokens before they were stored hashed in refresh_sessions
+ * Those tokens are still signed and unexpired for up to their full lifetime, so the table is a store of usable
+ * credentials. This runs on every startup, after the schema update and before the web server accepts requests;
+ * once the table is gone it finds nothing to drop.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LegacyRefreshTokenTableMigration implements SmartInitializingSingleton {
+
+    private static final String LEGACY_TABLE = "refresh_tokens";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                String table = metaData.storesUpperCaseIdentifiers() ? LEGACY_TABLE.toUpperCase() : LEGACY_TABLE;
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), table,
+                        new String[]{"TABLE"})) {
+                    return tables.next();
+                }
+            });
+            if (Boolean.TRUE.equals(exists)) {
+                jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+                log.info("Dropped legacy table {} with raw refresh tokens, devices log in again", LEGACY_TABLE);
+            }
+        } catch (Exception e) {
+            // Startup continues, the table is never read, but its tokens stay on disk until it is dropped
+            log.error("Failed to drop legacy table {}: {}", LEGACY_TABLE, e.getMessage(), e);
+        }
+    }
+}
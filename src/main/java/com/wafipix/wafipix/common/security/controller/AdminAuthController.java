@@ -13,12 +13,15 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
+
 /**
  * Controller for admin/employee authentication using OTP
  */
@@ -32,6 +35,9 @@ public class AdminAuthController {
     private final UserRepository userRepository;
     private final SecurityMapper securityMapper;
     
+    @Value("${otp.trusted-proxies:}")
+    private Set<String> trustedProxies;
+    
     /**
      * Send OTP code to admin/employee email
      * @param request Send OTP request containing email and device ID
@@ -55,15 +61,18 @@ public class AdminAuthController {
     /**
      * Verify OTP and complete admin/employee login
      * @param request Verify OTP request containing email, OTP code, and device ID
+     * @param httpRequest HTTP request for getting client IP
      * @param response HTTP response for setting cookies
      * @return Login response with JWT tokens and user info
      */
     @PostMapping("/verify-otp")
-    public ResponseEntity<?> verifyOtpAndLogin(@Valid @RequestBody VerifyOtpRequest request, HttpServletResponse response) {
+    public ResponseEntity<?> verifyOtpAndLogin(@Valid @RequestBody VerifyOtpRequest request,
+                                               HttpServletRequest httpRequest, HttpServletResponse response) {
         try {
             log.info("Received verify OTP request for email: {}", request.getEmail());
             
-            return adminAuthService.verifyOtpAndLogin(request, response);
+            String clientIp = getClientIpAddress(httpRequest);
+            return adminAuthService.verifyOtpAndLogin(request, clientIp, response);
             
         } catch (Exception e) {
             log.error("Error in verify OTP endpoint: {}", e.getMessage(), e);
@@ -72,36 +81,25 @@ public class AdminAuthController {
     }
     
     /**
-     * Get client IP address from request
-     * Handles various proxy headers for accurate IP detection
+     * Get client IP address from request, used to rate limit OTP requests
+     * Forwarding headers are set by clients at will, so they are only followed for connections from a trusted
+     * proxy, walking X-Forwarded-For from the right past further trusted hops
      */
     private String getClientIpAddress(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
         String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
-            return xRealIp;
+        if (!trustedProxies.contains(remoteAddr) || xForwardedFor == null || xForwardedFor.isBlank()) {
+            return remoteAddr;
         }
         
-        String xForwarded = request.getHeader("X-Forwarded");
-        if (xForwarded != null && !xForwarded.isEmpty() && !"unknown".equalsIgnoreCase(xForwarded)) {
-            return xForwarded;
-        }
-        
-        String forwardedFor = request.getHeader("Forwarded-For");
-        if (forwardedFor != null && !forwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(forwardedFor)) {
-            return forwardedFor;
-        }
-        
-        String forwarded = request.getHeader("Forwarded");
-        if (forwarded != null && !forwarded.isEmpty() && !"unknown".equalsIgnoreCase(forwarded)) {
-            return forwarded;
+        String[] hops = xForwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                return hop;
+            }
         }
-        
-        return request.getRemoteAddr();
+        return remoteAddr;
     }
     
     /**
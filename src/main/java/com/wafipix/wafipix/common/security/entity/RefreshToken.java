@@ -6,16 +6,23 @@ import com.wafipix.wafipix.modules.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
 
+/**
+ * Current refresh token of a user's device, stored as its SHA-256 hash and replaced on every refresh
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_sessions",
+       uniqueConstraints = {
+           // Every lookup and rotation goes through the device of a user
+           @UniqueConstraint(name = "uk_refresh_sessions_user_device", columnNames = {"user_id", "device_id"})
+       })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class RefreshToken extends BaseEntity {
-    @Column(unique = true, nullable = false)
-    private String token;
+    @Column(nullable = false, name = "token_hash", length = 64)
+    private String tokenHash; // Hex encoded SHA-256 of the issued token
 
     @Column(nullable = false, name = "device_id")
     private String deviceId;
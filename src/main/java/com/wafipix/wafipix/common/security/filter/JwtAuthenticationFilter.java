@@ -5,9 +5,8 @@ import com.wafipix.wafipix.common.exception.AuthenticationException;
 import com.wafipix.wafipix.common.exception.AuthorizationException;
 import com.wafipix.wafipix.common.exception.BusinessException;
 import com.wafipix.wafipix.common.security.service.JWTService;
-
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
+import com.wafipix.wafipix.common.security.service.UserStatusService;
+import com.wafipix.wafipix.common.security.service.impl.JwtUserDetails;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -20,23 +19,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
-
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JWTService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserStatusService userStatusService;
 
     @Override
     protected void doFilterInternal(
@@ -97,64 +92,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
 
-            // Process token
-            String username = jwtService.getUsernameFromToken(token);
+            // Process token, a single parse verifies the signature and expiry
+            JWTService.TokenVerification verification = jwtService.verify(token);
+            if (!verification.isValid()) {
+                rejectToken(request, response, verification.failure());
+                return;
+            }
+            JWTService.TokenClaims claims = verification.claims();
+            String username = claims.subject();
             Authentication contextHolder = SecurityContextHolder.getContext().getAuthentication();
 
             // Only authenticate if username is valid and no existing authentication
             if (username != null && contextHolder == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                // Validate token
-                if (jwtService.validateToken(token)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    // Token invalid - check if refresh token exists
-                    boolean hasRefreshToken = hasRefreshTokenCookie(request);
-                    if (hasRefreshToken) {
-                        log.warn("Invalid access token but refresh token exists - token expired");
-                        jwtService.handleException(
-                                request,
-                                response,
-                                "Access token expired. Please refresh your token.",
-                                HttpStatus.UNAUTHORIZED
-                        );
-                        return;
-                    } else {
-                        log.warn("Invalid access token and no refresh token - user logged out");
-                        jwtService.handleException(
-                                request,
-                                response,
-                                "Authentication required. Please login.",
-                                HttpStatus.FORBIDDEN
-                        );
-                        return;
-                    }
-                }
+                JwtUserDetails userDetails = toUserDetails(claims, username);
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
             
             filterChain.doFilter(request, response);
-        } catch (ExpiredJwtException e) {
-            log.error("JWT token expired: {}", e.getMessage());
-            // Check if refresh token exists to determine proper status code
-            boolean hasRefreshToken = hasRefreshTokenCookie(request);
-            HttpStatus status = hasRefreshToken ? HttpStatus.UNAUTHORIZED : HttpStatus.FORBIDDEN;
-            String message = hasRefreshToken ? 
-                "Access token expired. Please refresh your token." : 
-                "Authentication required. Please login.";
-            
-            jwtService.handleException(request, response, message, status);
-        } catch (MalformedJwtException | JwtException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            jwtService.handleException(
-                    request,
-                    response,
-                    "Invalid token format",
-                    HttpStatus.FORBIDDEN
-            );
         } catch (UsernameNotFoundException e) {
             log.error("User not found in JWT filter: {}", e.getMessage());
             jwtService.handleException(
@@ -199,6 +156,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     }
 
+    /**
+     * Answer a token that failed verification
+     * An expired token is 401 when it can still be refreshed, anything else means logging in again
+     *
+     * @param request HTTP request
+     * @param response HTTP response
+     * @param failure Why verification failed
+     */
+    private void rejectToken(HttpServletRequest request, HttpServletResponse response,
+                             JWTService.TokenFailure failure) throws IOException {
+        if (failure == JWTService.TokenFailure.EXPIRED) {
+            log.warn("JWT token expired");
+            boolean hasRefreshToken = hasRefreshTokenCookie(request);
+            HttpStatus status = hasRefreshToken ? HttpStatus.UNAUTHORIZED : HttpStatus.FORBIDDEN;
+            String message = hasRefreshToken ?
+                "Access token expired. Please refresh your token." :
+                "Authentication required. Please login.";
+
+            jwtService.handleException(request, response, message, status);
+        } else {
+            log.warn("Invalid JWT token: {}", failure);
+            jwtService.handleException(
+                    request,
+                    response,
+                    "Invalid token format",
+                    HttpStatus.FORBIDDEN
+            );
+        }
+    }
+
+    /**
+     * Build the principal from the token claims, checked against the cached account status
+     * Tokens issued before the user id claim existed take it from the status
+     *
+     * @param claims Verified claims
+     * @param username Token subject
+     * @return Principal of the request
+     */
+    private JwtUserDetails toUserDetails(JWTService.TokenClaims claims, String username) {
+        UserStatusService.UserStatus status = userStatusService.getStatus(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+
+        if (!status.active()
+                || status.tokenVersion() != claims.tokenVersion()
+                || !status.role().name().equals(claims.role())) {
+            throw new AuthorizationException("Session revoked. Please login again.");
+        }
+
+        return new JwtUserDetails(claims.userId() != null ? claims.userId() : status.userId(),
+                username, claims.role(), status.tokenVersion());
+    }
+
     /**
      * Check if request has refresh token cookie
      * 
@@ -7,9 +7,9 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class RefreshTokenMapper {
-    public RefreshToken toEntity(String refreshToken, User user, String deviceId) {
+    public RefreshToken toEntity(String tokenHash, User user, String deviceId) {
         return RefreshToken.builder()
-                .token(refreshToken)
+                .tokenHash(tokenHash)
                 .user(user)
                 .deviceId(deviceId)
                 .build();
@@ -28,21 +28,21 @@ public interface OtpCodeRepository extends JpaRepository<OtpCode, java.util.UUID
     Optional<OtpCode> findValidOtpByEmailAndCode(@Param("email") String email, @Param("code") String code, @Param("now") LocalDateTime now);
     
     /**
-     * Find latest OTP code for email (for rate limiting)
+     * Check whether an unused, unexpired OTP code exists for email
      * @param email User email
-     * @return Optional latest OTP code
+     * @param now Current time
+     * @return true if a code can still be verified
      */
-    @Query("SELECT o FROM OtpCode o WHERE o.email = :email ORDER BY o.createdAt DESC")
-    Optional<OtpCode> findLatestOtpByEmail(@Param("email") String email);
+    @Query("SELECT COUNT(o) > 0 FROM OtpCode o WHERE o.email = :email AND o.isUsed = false AND o.expiresAt > :now AND o.attemptCount < o.maxAttempts")
+    boolean existsValidOtpByEmail(@Param("email") String email, @Param("now") LocalDateTime now);
     
     /**
-     * Count OTP requests for email in the last hour
+     * Find latest OTP code for email (for rate limiting)
      * @param email User email
-     * @param oneHourAgo Time one hour ago
-     * @return Count of OTP requests
+     * @return Optional latest OTP code
      */
-    @Query("SELECT COUNT(o) FROM OtpCode o WHERE o.email = :email AND o.createdAt > :oneHourAgo")
-    long countOtpRequestsInLastHour(@Param("email") String email, @Param("oneHourAgo") LocalDateTime oneHourAgo);
+    @Query("SELECT o FROM OtpCode o WHERE o.email = :email ORDER BY o.createdAt DESC")
+    Optional<OtpCode> findLatestOtpByEmail(@Param("email") String email);
     
     /**
      * Delete expired OTP codes
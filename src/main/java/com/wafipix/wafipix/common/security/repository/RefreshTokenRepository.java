@@ -1,15 +1,44 @@
 package com.wafipix.wafipix.common.security.repository;
 
 import com.wafipix.wafipix.common.security.entity.RefreshToken;
-import com.wafipix.wafipix.modules.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
 import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
-    Optional<RefreshToken> findByUserAndDeviceId(User user,String deviceId);
-    Optional<RefreshToken> findByUserAndTokenAndDeviceId(User user, String token, String deviceId);
+
+    /**
+     * Compare-and-swap of a device's token, only succeeds while the old hash is still the current one
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.tokenHash = :newHash " +
+           "WHERE r.user.id = :userId AND r.deviceId = :deviceId AND r.tokenHash = :oldHash")
+    int rotate(@Param("userId") UUID userId, @Param("deviceId") String deviceId,
+               @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    /**
+     * Insert or replace the token of a device in one statement, concurrent logins of a device cannot both insert
+     * PostgreSQL only, other databases go through replaceTokenHash and an insert
+     */
+    @Modifying
+    @Query(value = "INSERT INTO refresh_sessions (id, user_id, device_id, token_hash) " +
+                   "VALUES (:id, :userId, :deviceId, :tokenHash) " +
+                   "ON CONFLICT (user_id, device_id) DO UPDATE SET token_hash = EXCLUDED.token_hash",
+           nativeQuery = true)
+    int upsert(@Param("id") UUID id, @Param("userId") UUID userId, @Param("deviceId") String deviceId,
+               @Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.tokenHash = :tokenHash WHERE r.user.id = :userId AND r.deviceId = :deviceId")
+    int replaceTokenHash(@Param("userId") UUID userId, @Param("deviceId") String deviceId,
+                         @Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId AND r.deviceId = :deviceId")
+    int deleteByUserIdAndDeviceId(@Param("userId") UUID userId, @Param("deviceId") String deviceId);
 
     void deleteByDeviceId(String deviceId);
 }
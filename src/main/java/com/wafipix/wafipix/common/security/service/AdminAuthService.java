@@ -21,8 +21,9 @@ public interface AdminAuthService {
     /**
      * Verify OTP and complete login
      * @param request Verify OTP request containing email, OTP code, and device ID
+     * @param ipAddress Client IP address
      * @param response HTTP response for setting cookies
      * @return Login response with JWT tokens and user info
      */
-    ResponseEntity<?> verifyOtpAndLogin(VerifyOtpRequest request, HttpServletResponse response);
+    ResponseEntity<?> verifyOtpAndLogin(VerifyOtpRequest request, String ipAddress, HttpServletResponse response);
 }
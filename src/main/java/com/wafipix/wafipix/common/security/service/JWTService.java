@@ -7,11 +7,27 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Map;
+import java.util.UUID;
 
 public interface JWTService {
+    // Claims issued with every token
+    String ROLES_CLAIM = "roles";
+    String USER_ID_CLAIM = "uid";
+    String TOKEN_VERSION_CLAIM = "tv";
+
     Boolean validateToken(String token);
     String getUsernameFromToken(String token);
+
+    /**
+     * Verify signature and expiry of a token with a single parse
+     *
+     * @param token Compact JWT
+     * @return Claims of a valid token, or why it was rejected
+     */
+    TokenVerification verify(String token);
+
     public Map<TOKEN_TYPE, String> refreshToken(User user, String refreshToken, String deviceId);
     public Map<TOKEN_TYPE, String> generateTokens(User user, String deviceId);
     String generateAccessToken(User user);
@@ -20,4 +36,34 @@ public interface JWTService {
     Long getAccessTokenAge();
     Long getRefreshTokenAge();
     public void handleException(HttpServletRequest request, HttpServletResponse response, String message, HttpStatus status) throws IOException;
+
+    enum TokenFailure {
+        EXPIRED,
+        MALFORMED,
+        INVALID
+    }
+
+    /**
+     * Immutable view of the claims issued by this service
+     * Tokens issued before the user id / token version claims existed have a null user id and version 0
+     */
+    record TokenClaims(String subject, String role, UUID userId, int tokenVersion, Instant expiresAt) {}
+
+    /**
+     * Result of verify, exactly one of claims and failure is set
+     */
+    record TokenVerification(TokenClaims claims, TokenFailure failure) {
+
+        public static TokenVerification valid(TokenClaims claims) {
+            return new TokenVerification(claims, null);
+        }
+
+        public static TokenVerification rejected(TokenFailure failure) {
+            return new TokenVerification(null, failure);
+        }
+
+        public boolean isValid() {
+            return claims != null;
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.wafipix.wafipix.common.security.service;
+
+/**
+ * Throttling of OTP issuance and verification per email and per client IP
+ * Counters live in memory of each instance, the database only holds the OTP codes themselves
+ */
+public interface OtpRateLimitService {
+
+    /**
+     * Count a request for a new OTP code
+     * @param email Recipient email address
+     * @param ipAddress Client IP address, may be null
+     * @return false if the email or the IP requested too many codes within the last hour
+     */
+    boolean tryAcquireSend(String email, String ipAddress);
+
+    /**
+     * Count an attempt to verify an OTP code, only called once a code is outstanding for the email
+     * @param email User email
+     * @param ipAddress Client IP address, may be null
+     * @return false if the email or the IP made too many attempts within the last hour
+     */
+    boolean tryAcquireVerify(String email, String ipAddress);
+}
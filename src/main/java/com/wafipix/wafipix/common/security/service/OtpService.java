@@ -25,17 +25,17 @@ public interface OtpService {
     boolean validateOtp(String email, String code, String deviceId);
     
     /**
-     * Clean up expired OTP codes
-     * @return Number of expired OTPs cleaned up
+     * Check whether a code was issued for email and can still be verified
+     * @param email User email
+     * @return true if an unused, unexpired OTP code exists
      */
-    int cleanupExpiredOtps();
+    boolean hasOutstandingOtp(String email);
     
     /**
-     * Check if email has reached rate limit
-     * @param email User email
-     * @return true if rate limit reached, false otherwise
+     * Clean up expired OTP codes
+     * @return Number of expired OTPs cleaned up
      */
-    boolean isRateLimitReached(String email);
+    int cleanupExpiredOtps();
     
     /**
      * Get remaining attempts for OTP
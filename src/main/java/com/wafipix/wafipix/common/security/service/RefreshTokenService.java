@@ -1,8 +1,19 @@
 package com.wafipix.wafipix.common.security.service;
 
-import com.wafipix.wafipix.common.security.entity.RefreshToken;
 import com.wafipix.wafipix.modules.user.entity.User;
 
 public interface RefreshTokenService {
-    RefreshToken save(User user, String refreshToken, String deviceId);
+    void save(User user, String refreshToken, String deviceId);
+
+    /**
+     * Replace the device's refresh token, if the presented one is still its current token
+     * A presented token that was already rotated away is treated as stolen and revokes the device's session
+     *
+     * @param user Owner of the token
+     * @param deviceId Device the token was issued to
+     * @param presentedToken Verified refresh token sent by the client
+     * @param newToken Token replacing it
+     * @return false when the presented token is not the device's current token
+     */
+    boolean rotate(User user, String deviceId, String presentedToken, String newToken);
 }
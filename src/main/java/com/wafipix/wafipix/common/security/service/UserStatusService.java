@@ -0,0 +1,27 @@
+package com.wafipix.wafipix.common.security.service;
+
+import com.wafipix.wafipix.modules.user.enums.UserRole;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Account status checked on every token-authenticated request, cached for a short TTL
+ */
+public interface UserStatusService {
+
+    /**
+     * Status of the account with the given email, read from the database only when not cached
+     * @param email Token subject
+     * @return Status, empty if there is no such account
+     */
+    Optional<UserStatus> getStatus(String email);
+
+    /**
+     * Drop the cached status, e.g. after the account was deactivated or its tokens revoked
+     * @param email Account email
+     */
+    void invalidate(String email);
+
+    record UserStatus(UUID userId, UserRole role, boolean active, int tokenVersion) {}
+}
@@ -12,6 +12,7 @@ import com.wafipix.wafipix.common.security.enums.TOKEN_TYPE;
 import com.wafipix.wafipix.common.security.service.AdminAuthService;
 import com.wafipix.wafipix.common.security.service.CookieService;
 import com.wafipix.wafipix.common.security.service.JWTService;
+import com.wafipix.wafipix.common.security.service.OtpRateLimitService;
 import com.wafipix.wafipix.common.security.service.OtpService;
 import com.wafipix.wafipix.modules.user.entity.User;
 import com.wafipix.wafipix.modules.user.enums.UserRole;
@@ -33,6 +34,7 @@ import java.util.Optional;
 public class AdminAuthServiceImpl implements AdminAuthService {
     
     private final OtpService otpService;
+    private final OtpRateLimitService otpRateLimitService;
     private final UserRepository userRepository;
     private final JWTService jwtService;
     private final CookieService cookieService;
@@ -47,6 +49,11 @@ public class AdminAuthServiceImpl implements AdminAuthService {
             // Validate request
             validateSendOtpRequest(request);
             
+            // Throttle before touching the database
+            if (!otpRateLimitService.tryAcquireSend(request.getEmail(), ipAddress)) {
+                throw new BusinessException("Too many OTP requests. Please try again later.", HttpStatus.TOO_MANY_REQUESTS);
+            }
+            
             // Check if user exists and is admin/employee
             Optional<User> userOpt = userRepository.findByEmailIgnoreCase(request.getEmail());
             if (userOpt.isEmpty()) {
@@ -103,13 +110,24 @@ public class AdminAuthServiceImpl implements AdminAuthService {
     
     @Override
     @Transactional
-    public ResponseEntity<?> verifyOtpAndLogin(VerifyOtpRequest request, HttpServletResponse response) {
+    public ResponseEntity<?> verifyOtpAndLogin(VerifyOtpRequest request, String ipAddress, HttpServletResponse response) {
         try {
             log.info("Processing verify OTP request for email: {} with device: {}", request.getEmail(), request.getDeviceId());
             
             // Validate request
             validateVerifyOtpRequest(request);
             
+            // Nothing to guess without an outstanding code, and made-up emails must not take limiter slots
+            if (!otpService.hasOutstandingOtp(request.getEmail())) {
+                log.warn("No outstanding OTP for email: {}", request.getEmail());
+                throw new AuthenticationException("Invalid or expired OTP code");
+            }
+            
+            // Wrong codes never reach an OTP row, so guessing is only bounded here
+            if (!otpRateLimitService.tryAcquireVerify(request.getEmail(), ipAddress)) {
+                throw new BusinessException("Too many OTP attempts. Please try again later.", HttpStatus.TOO_MANY_REQUESTS);
+            }
+            
             // Verify OTP
             boolean otpValid = otpService.validateOtp(request.getEmail(), request.getOtpCode(), request.getDeviceId());
             
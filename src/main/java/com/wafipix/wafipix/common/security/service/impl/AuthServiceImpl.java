@@ -49,13 +49,15 @@ public class AuthServiceImpl implements AuthService {
             validateRefreshTokenRequest(refreshToken, deviceId);
 
             // Validate the refresh token
-            if (!jwtService.validateToken(refreshToken)) {
-                log.warn("Invalid refresh token for device: {}", deviceId);
+            JWTService.TokenVerification verification = jwtService.verify(refreshToken);
+            if (!verification.isValid()) {
+                log.warn("Invalid refresh token for device: {} ({})", deviceId, verification.failure());
                 throw new AuthorizationException("Refresh token expired or invalid. Please login again.");
             }
 
             // Extract username from token
-            String username = jwtService.getUsernameFromToken(refreshToken);
+            JWTService.TokenClaims claims = verification.claims();
+            String username = claims.subject();
             log.debug("Extracted username from refresh token: {}", username);
 
             // Find user by email
@@ -65,6 +67,13 @@ public class AuthServiceImpl implements AuthService {
                 throw new AuthenticationException("User not found");
             }
 
+            // Deactivated accounts and revoked tokens cannot be refreshed
+            if (!Boolean.TRUE.equals(user.get().getIsActive())
+                    || user.get().getTokenVersion() != claims.tokenVersion()) {
+                log.warn("Refresh token of inactive user or revoked session: {}", username);
+                throw new AuthorizationException("Session revoked. Please login again.");
+            }
+
             // Generate new tokens
             Map<TOKEN_TYPE, String> tokens = jwtService.refreshToken(user.get(), refreshToken, deviceId);
             log.debug("Generated new tokens for user: {}", username);
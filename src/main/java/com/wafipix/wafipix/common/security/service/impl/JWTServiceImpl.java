@@ -5,15 +5,15 @@ import com.wafipix.wafipix.common.dto.ApiResponse;
 import com.wafipix.wafipix.common.exception.AuthenticationException;
 import com.wafipix.wafipix.common.exception.AuthorizationException;
 import com.wafipix.wafipix.common.exception.BusinessException;
-import com.wafipix.wafipix.common.security.entity.RefreshToken;
 import com.wafipix.wafipix.common.security.enums.TOKEN_TYPE;
-import com.wafipix.wafipix.common.security.repository.RefreshTokenRepository;
 import com.wafipix.wafipix.common.security.service.JWTService;
 import com.wafipix.wafipix.common.security.service.RefreshTokenService;
 import com.wafipix.wafipix.modules.user.entity.User;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
@@ -31,13 +31,11 @@ import javax.crypto.SecretKey;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JWTServiceImpl implements JWTService {
-    private final RefreshTokenRepository refreshTokenRepository;
     @Value("${jwt.SECRET}")
     private String SECRET;
     @Value("${jwt.ACCESS_TOKEN_EXPIRATION}")
@@ -45,54 +43,58 @@ public class JWTServiceImpl implements JWTService {
     @Value("${jwt.REFRESH_TOKEN_EXPIRATION}")
     private Long REFRESH_TOKEN_EXPIRATION;
     private final RefreshTokenService refreshTokenService;
+    private volatile SecretKey key;
+    private volatile JwtParser parser;
 
 
     @Override
     public Boolean validateToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            
-            // Check if token is not expired
-            boolean isValid = !claims.getExpiration().before(new Date());
-            
-            if (isValid) {
-                log.debug("Token validation successful for subject: {}", claims.getSubject());
-            } else {
-                log.warn("Token validation failed - token expired");
-            }
-            
-            return isValid;
-        } catch (ExpiredJwtException e) {
-            log.warn("Token validation failed - token expired: {}", e.getMessage());
-            return false;
-        } catch (MalformedJwtException e) {
-            log.warn("Token validation failed - malformed token: {}", e.getMessage());
-            return false;
-        } catch (Exception e) {
-            log.error("Token validation failed - unexpected error: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).isValid();
     }
 
     @Override
     public String getUsernameFromToken(String token) {
+        TokenVerification verification = verify(token);
+        if (verification.isValid()) {
+            return verification.claims().subject();
+        }
+        switch (verification.failure()) {
+            case EXPIRED -> throw new AuthenticationException("Token expired");
+            case MALFORMED -> throw new AuthorizationException("Invalid token format");
+            default -> throw new BusinessException("Failed to extract username from token");
+        }
+    }
+
+    @Override
+    public TokenVerification verify(String token) {
+        Claims claims;
         try {
-            String username = getClaimFromToken(token, Claims::getSubject);
-            log.debug("Extracted username from token: {}", username);
-            return username;
+            claims = getParser().parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
-            log.warn("Failed to extract username - token expired: {}", e.getMessage());
-            throw new AuthenticationException("Token expired");
-        } catch (MalformedJwtException e) {
-            log.warn("Failed to extract username - malformed token: {}", e.getMessage());
-            throw new AuthorizationException("Invalid token format");
-        } catch (Exception e) {
-            log.error("Failed to extract username from token: {}", e.getMessage());
-            throw new BusinessException("Failed to extract username from token");
+            log.debug("Token verification failed - token expired: {}", e.getMessage());
+            return TokenVerification.rejected(TokenFailure.EXPIRED);
+        } catch (MalformedJwtException | IllegalArgumentException e) {
+            log.warn("Token verification failed - malformed token: {}", e.getMessage());
+            return TokenVerification.rejected(TokenFailure.MALFORMED);
+        } catch (JwtException e) {
+            log.warn("Token verification failed - invalid token: {}", e.getMessage());
+            return TokenVerification.rejected(TokenFailure.INVALID);
+        }
+
+        try {
+            String userId = claims.get(USER_ID_CLAIM, String.class);
+            Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+            return TokenVerification.valid(new TokenClaims(
+                    claims.getSubject(),
+                    claims.get(ROLES_CLAIM, String.class),
+                    userId != null ? UUID.fromString(userId) : null,
+                    tokenVersion != null ? tokenVersion : 0,
+                    claims.getExpiration().toInstant()
+            ));
+        } catch (RuntimeException e) {
+            // Signed by us but not with the claims we issue
+            log.warn("Token verification failed - unexpected claims: {}", e.getMessage());
+            return TokenVerification.rejected(TokenFailure.MALFORMED);
         }
     }
 
@@ -101,15 +103,19 @@ public class JWTServiceImpl implements JWTService {
         try {
             log.info("Refreshing tokens for user: {} with device: {}", user.getEmail(), deviceId);
             
-            Optional<RefreshToken> existingToken = refreshTokenRepository.findByUserAndTokenAndDeviceId(user, refreshToken, deviceId);
+            String accessToken = generateAccessToken(user);
+            String newRefreshToken = generateRefreshToken(user);
 
-            if (existingToken.isPresent()) {
-                log.debug("Valid refresh token found, generating new tokens");
-                return generateTokens(user, deviceId);
-            } else {
+            // Checking the presented token and storing its replacement is one conditional update
+            if (!refreshTokenService.rotate(user, deviceId, refreshToken, newRefreshToken)) {
                 log.warn("Invalid refresh token for user: {} with device: {}", user.getEmail(), deviceId);
                 throw new AuthorizationException("Refresh token expired or invalid. Please login again.");
             }
+
+            Map<TOKEN_TYPE, String> tokens = new HashMap<>();
+            tokens.put(TOKEN_TYPE.ACCESS_TOKEN, accessToken);
+            tokens.put(TOKEN_TYPE.REFRESH_TOKEN, newRefreshToken);
+            return tokens;
         } catch (AuthorizationException e) {
             throw e;
         } catch (Exception e) {
@@ -145,7 +151,7 @@ public class JWTServiceImpl implements JWTService {
     public String generateAccessToken(User user) {
         try {
             log.debug("Generating access token for user: {}", user.getEmail());
-            return generateToken(user.getEmail(), user.getRole().name(), ACCESS_TOKEN_EXPIRATION);
+            return buildToken(user.getEmail(), user.getRole().name(), user.getId(), user.getTokenVersion(), ACCESS_TOKEN_EXPIRATION);
         } catch (Exception e) {
             log.error("Error generating access token for user: {} - {}", user.getEmail(), e.getMessage());
             throw new BusinessException("Failed to generate access token: " + e.getMessage());
@@ -156,7 +162,7 @@ public class JWTServiceImpl implements JWTService {
     public String generateRefreshToken(User user) {
         try {
             log.debug("Generating refresh token for user: {}", user.getEmail());
-            return generateToken(user.getEmail(), user.getRole().name(), REFRESH_TOKEN_EXPIRATION);
+            return buildToken(user.getEmail(), user.getRole().name(), user.getId(), user.getTokenVersion(), REFRESH_TOKEN_EXPIRATION);
         } catch (Exception e) {
             log.error("Error generating refresh token for user: {} - {}", user.getEmail(), e.getMessage());
             throw new BusinessException("Failed to generate refresh token: " + e.getMessage());
@@ -165,12 +171,21 @@ public class JWTServiceImpl implements JWTService {
 
     @Override
     public String generateToken(String subject, String role, Long expires) {
+        return buildToken(subject, role, null, null, expires);
+    }
+
+    // User id and token version let the filter authenticate from claims, null leaves them out
+    private String buildToken(String subject, String role, UUID userId, Integer tokenVersion, Long expires) {
         try {
             log.debug("Generating JWT token for subject: {} with role: {}", subject, role);
             
+            // Random id, so two tokens issued in the same second still differ and a rotation always replaces the token
             return Jwts.builder()
+                    .id(UUID.randomUUID().toString())
                     .subject(subject)
-                    .claim("roles", role)
+                    .claim(ROLES_CLAIM, role)
+                    .claim(USER_ID_CLAIM, userId != null ? userId.toString() : null)
+                    .claim(TOKEN_VERSION_CLAIM, tokenVersion)
                     .expiration(Date.from(Instant.now().plus(Duration.ofMillis(expires))))
                     .issuedAt(Date.from(Instant.now()))
                     .signWith(getKey())
@@ -219,33 +234,25 @@ public class JWTServiceImpl implements JWTService {
         }
     }
 
-    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        try {
-            Claims claims = getAllClaimsFromToken(token);
-            return claimsResolver.apply(claims);
-        } catch (ExpiredJwtException e) {
-            log.warn("Token expired while extracting claims: {}", e.getMessage());
-            throw e;
-        } catch (MalformedJwtException e) {
-            log.warn("Malformed token while extracting claims: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            log.error("Error extracting claims from token: {}", e.getMessage());
-            throw new BusinessException("Failed to extract claims from token");
+    // Decoding the secret and building the parser are done once, both are immutable and thread-safe
+    private JwtParser getParser() {
+        JwtParser cached = parser;
+        if (cached == null) {
+            cached = Jwts.parser().verifyWith(getKey()).build();
+            parser = cached;
         }
-    }
-
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return cached;
     }
 
     private SecretKey getKey() {
+        SecretKey cached = key;
+        if (cached != null) {
+            return cached;
+        }
         try {
-            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+            cached = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+            key = cached;
+            return cached;
         } catch (Exception e) {
             log.error("Error creating JWT signing key: {}", e.getMessage());
             throw new BusinessException("Failed to create JWT signing key");
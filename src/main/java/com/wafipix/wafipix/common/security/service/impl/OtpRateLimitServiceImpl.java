@@ -0,0 +1,69 @@
+package com.wafipix.wafipix.common.security.service.impl;
+
+import com.wafipix.wafipix.common.ratelimit.SlidingWindowRateLimiter;
+import com.wafipix.wafipix.common.security.service.OtpRateLimitService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Implementation of OtpRateLimitService
+ * The IP limit is checked first, so a client cycling through emails is stopped before any of them is counted
+ */
+@Service
+@Slf4j
+public class OtpRateLimitServiceImpl implements OtpRateLimitService {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private final SlidingWindowRateLimiter sendsByEmail;
+    private final SlidingWindowRateLimiter sendsByIp;
+    private final SlidingWindowRateLimiter verificationsByEmail;
+    private final SlidingWindowRateLimiter verificationsByIp;
+
+    public OtpRateLimitServiceImpl(@Value("${otp.rate-limit-per-hour:5}") int sendsPerEmail,
+                                   @Value("${otp.ip-rate-limit-per-hour:20}") int sendsPerIp,
+                                   @Value("${otp.verify-limit-per-hour:10}") int verificationsPerEmail,
+                                   @Value("${otp.ip-verify-limit-per-hour:30}") int verificationsPerIp,
+                                   @Value("${otp.rate-limit-max-keys:100000}") int maxKeys) {
+        this.sendsByEmail = new SlidingWindowRateLimiter(sendsPerEmail, WINDOW, maxKeys);
+        this.sendsByIp = new SlidingWindowRateLimiter(sendsPerIp, WINDOW, maxKeys);
+        this.verificationsByEmail = new SlidingWindowRateLimiter(verificationsPerEmail, WINDOW, maxKeys);
+        this.verificationsByIp = new SlidingWindowRateLimiter(verificationsPerIp, WINDOW, maxKeys);
+    }
+
+    @Override
+    public boolean tryAcquireSend(String email, String ipAddress) {
+        return tryAcquire(sendsByIp, sendsByEmail, "OTP request", email, ipAddress);
+    }
+
+    @Override
+    public boolean tryAcquireVerify(String email, String ipAddress) {
+        return tryAcquire(verificationsByIp, verificationsByEmail, "OTP verification", email, ipAddress);
+    }
+
+    @Scheduled(fixedDelayString = "${otp.rate-limit-sweep-interval:PT10M}",
+               initialDelayString = "${otp.rate-limit-sweep-interval:PT10M}")
+    public void evictIdle() {
+        int evicted = sendsByEmail.evictIdle() + sendsByIp.evictIdle()
+                + verificationsByEmail.evictIdle() + verificationsByIp.evictIdle();
+        log.debug("Evicted {} idle OTP rate limit keys", evicted);
+    }
+
+    private boolean tryAcquire(SlidingWindowRateLimiter byIp, SlidingWindowRateLimiter byEmail,
+                               String action, String email, String ipAddress) {
+        if (ipAddress != null && !byIp.tryAcquire(ipAddress)) {
+            log.warn("{} rate limit reached for IP: {}", action, ipAddress);
+            return false;
+        }
+        if (!byEmail.tryAcquire(email.toLowerCase(Locale.ROOT).trim())) {
+            log.warn("{} rate limit reached for email: {}", action, email);
+            return false;
+        }
+        return true;
+    }
+}
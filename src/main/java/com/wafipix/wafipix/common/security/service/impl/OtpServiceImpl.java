@@ -27,9 +27,6 @@ public class OtpServiceImpl implements OtpService {
     @Value("${otp.expiration-minutes:10}")
     private int otpExpirationMinutes;
     
-    @Value("${otp.rate-limit-per-hour:5}")
-    private int rateLimitPerHour;
-    
     private static final Random random = new Random();
     
     @Override
@@ -41,12 +38,6 @@ public class OtpServiceImpl implements OtpService {
             // Validate email format
             validateEmail(email);
             
-            // Check rate limiting
-            if (isRateLimitReached(email)) {
-                log.warn("Rate limit reached for email: {}", email);
-                throw new BusinessException("Too many OTP requests. Please try again later.");
-            }
-            
             // Clean up old OTPs for this email
             otpCodeRepository.deleteOtpsByEmail(email);
             
@@ -126,6 +117,12 @@ public class OtpServiceImpl implements OtpService {
         }
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasOutstandingOtp(String email) {
+        return otpCodeRepository.existsValidOtpByEmail(email.toLowerCase().trim(), LocalDateTime.now());
+    }
+    
     @Override
     @Transactional
     public int cleanupExpiredOtps() {
@@ -139,24 +136,6 @@ public class OtpServiceImpl implements OtpService {
         }
     }
     
-    @Override
-    public boolean isRateLimitReached(String email) {
-        try {
-            LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-            long requestCount = otpCodeRepository.countOtpRequestsInLastHour(email.toLowerCase().trim(), oneHourAgo);
-            
-            boolean rateLimited = requestCount >= rateLimitPerHour;
-            if (rateLimited) {
-                log.warn("Rate limit reached for email: {} - {} requests in last hour", email, requestCount);
-            }
-            
-            return rateLimited;
-        } catch (Exception e) {
-            log.error("Error checking rate limit for email: {} - {}", email, e.getMessage());
-            return false; // Allow request if check fails
-        }
-    }
-    
     @Override
     public int getRemainingAttempts(String email, String code) {
         try {
@@ -1,31 +1,74 @@
 package com.wafipix.wafipix.common.security.service.impl;
 
-import com.wafipix.wafipix.common.security.entity.RefreshToken;
 import com.wafipix.wafipix.common.security.mapper.RefreshTokenMapper;
 import com.wafipix.wafipix.common.security.repository.RefreshTokenRepository;
 import com.wafipix.wafipix.common.security.service.RefreshTokenService;
 import com.wafipix.wafipix.modules.user.entity.User;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RefreshTokenServiceImpl implements RefreshTokenService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final RefreshTokenMapper refreshTokenMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
 
     @Override
-    public RefreshToken save(User user, String refreshToken, String deviceId) {
-        // check user has old tokens with same device id
-        // if have, then remove old token for same device id
-        Optional<RefreshToken> oldToken = refreshTokenRepository.findByUserAndDeviceId(user, deviceId);
+    @Transactional
+    public void save(User user, String refreshToken, String deviceId) {
+        // A device keeps one token, logging in again replaces it
+        String tokenHash = hash(refreshToken);
+        if (isPostgres()) {
+            refreshTokenRepository.upsert(UUID.randomUUID(), user.getId(), deviceId, tokenHash);
+        } else if (refreshTokenRepository.replaceTokenHash(user.getId(), deviceId, tokenHash) == 0) {
+            refreshTokenRepository.save(refreshTokenMapper.toEntity(tokenHash, user, deviceId));
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean rotate(User user, String deviceId, String presentedToken, String newToken) {
+        if (refreshTokenRepository.rotate(user.getId(), deviceId, hash(presentedToken), hash(newToken)) == 1) {
+            return true;
+        }
 
-        if (oldToken.isPresent()) {
-            oldToken.get().setToken(refreshToken);
-            return refreshTokenRepository.save(oldToken.get());
-        } else return refreshTokenRepository.save(refreshTokenMapper.toEntity(refreshToken, user, deviceId));
+        // Signed and unexpired, yet not current: it was rotated away before, so whoever holds it replays it
+        if (refreshTokenRepository.deleteByUserIdAndDeviceId(user.getId(), deviceId) > 0) {
+            log.warn("Reuse of a rotated refresh token for user: {} with device: {}, session revoked",
+                    user.getEmail(), deviceId);
+        }
+        return false;
+    }
+
+    private boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            current = "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+            postgres = current;
+        }
+        return current;
+    }
 
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
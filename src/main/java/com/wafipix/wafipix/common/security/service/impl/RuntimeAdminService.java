@@ -1,6 +1,7 @@
 package com.wafipix.wafipix.common.security.service.impl;
 
 import com.wafipix.wafipix.common.config.AdminConfigProperties;
+import com.wafipix.wafipix.common.security.service.UserStatusService;
 import com.wafipix.wafipix.modules.user.entity.User;
 import com.wafipix.wafipix.modules.user.enums.AuthProvider;
 import com.wafipix.wafipix.modules.user.enums.UserRole;
@@ -24,6 +25,7 @@ public class RuntimeAdminService implements CommandLineRunner {
     
     private final UserRepository userRepository;
     private final AdminConfigProperties adminConfig;
+    private final UserStatusService userStatusService;
     
     private static final UserRole ADMIN_ROLE = UserRole.ADMIN;
     private static final AuthProvider ADMIN_AUTH_PROVIDER = AuthProvider.CUSTOM;
@@ -133,6 +135,12 @@ public class RuntimeAdminService implements CommandLineRunner {
             log.info("Activating admin user");
             admin.setIsActive(true);
             needsUpdate = true;
+        } else if (!adminUserConfig.isActive() && admin.getIsActive()) {
+            // Tokens issued so far stop working with the version bump
+            log.info("Deactivating admin user and revoking its tokens");
+            admin.setIsActive(false);
+            admin.setTokenVersion(admin.getTokenVersion() + 1);
+            needsUpdate = true;
         }
         
         // Check if name needs update
@@ -159,6 +167,7 @@ public class RuntimeAdminService implements CommandLineRunner {
         if (needsUpdate) {
             try {
                 userRepository.save(admin);
+                userStatusService.invalidate(admin.getEmail());
                 log.info("Successfully updated admin user: {}", admin.getEmail());
             } catch (Exception e) {
                 log.error("Error updating admin user: {}", e.getMessage(), e);
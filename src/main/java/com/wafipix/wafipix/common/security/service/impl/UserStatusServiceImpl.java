@@ -0,0 +1,53 @@
+package com.wafipix.wafipix.common.security.service.impl;
+
+import com.wafipix.wafipix.common.security.service.UserStatusService;
+import com.wafipix.wafipix.modules.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of UserStatusService
+ * Absent accounts are cached too, so a token of a deleted user does not reach the database on every request
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatusServiceImpl implements UserStatusService {
+
+    private final UserRepository userRepository;
+    private final Map<String, CachedStatus> statuses = new ConcurrentHashMap<>();
+
+    @Value("${jwt.USER_STATUS_TTL:30s}")
+    private Duration statusTtl;
+
+    @Override
+    public Optional<UserStatus> getStatus(String email) {
+        String key = email.toLowerCase(Locale.ROOT);
+        CachedStatus cached = statuses.get(key);
+        if (cached != null && System.nanoTime() - cached.loadedAt() < statusTtl.toNanos()) {
+            return cached.status();
+        }
+
+        Optional<UserStatus> status = userRepository.findByEmailIgnoreCase(email)
+                .map(user -> new UserStatus(user.getId(), user.getRole(), Boolean.TRUE.equals(user.getIsActive()),
+                        user.getTokenVersion() != null ? user.getTokenVersion() : 0));
+        statuses.put(key, new CachedStatus(status, System.nanoTime()));
+        return status;
+    }
+
+    @Override
+    public void invalidate(String email) {
+        statuses.remove(email.toLowerCase(Locale.ROOT));
+        log.debug("User status cache invalidated for: {}", email);
+    }
+
+    private record CachedStatus(Optional<UserStatus> status, long loadedAt) {}
+}
@@ -4,6 +4,7 @@ import com.wafipix.wafipix.common.dto.ApiResponse;
 import com.wafipix.wafipix.modules.advertisementvideo.dto.request.CreateAdvertisementVideoRequest;
 import com.wafipix.wafipix.modules.advertisementvideo.dto.response.AdvertisementVideoResponse;
 import com.wafipix.wafipix.modules.advertisementvideo.service.AdvertisementVideoService;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +32,15 @@ public class AdvertisementVideoControllerAdmin {
         return new ResponseEntity<>(ApiResponse.success(response), HttpStatus.OK);
     }
 
+    @PostMapping(value = "/jobs", consumes = {MediaType.MULTIPART_FORM_DATA_VALUE})
+    public ResponseEntity<ApiResponse<UploadJobResponse>> submitAdvertisementVideoUpload(
+            @Valid @ModelAttribute CreateAdvertisementVideoRequest request
+    ) {
+        log.info("Submitting advertisement video upload job");
+        UploadJobResponse response = advertisementVideoService.submitAdvertisementVideoUpload(request);
+        return new ResponseEntity<>(ApiResponse.success(response), HttpStatus.ACCEPTED);
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<AdvertisementVideoResponse>> getAdvertisementVideo() {
         log.info("Fetching advertisement video");
@@ -1,6 +1,5 @@
 package com.wafipix.wafipix.modules.advertisementvideo.mapper;
 
-import com.wafipix.wafipix.modules.advertisementvideo.dto.request.CreateAdvertisementVideoRequest;
 import com.wafipix.wafipix.modules.advertisementvideo.dto.response.AdvertisementVideoResponse;
 import com.wafipix.wafipix.modules.advertisementvideo.entity.AdvertisementVideo;
 import org.springframework.stereotype.Component;
@@ -21,8 +20,8 @@ public class AdvertisementVideoMapper {
         );
     }
 
-    public AdvertisementVideo toEntity(CreateAdvertisementVideoRequest request, String videoUrl) {
-        if (request == null) return null;
+    public AdvertisementVideo toEntity(String videoUrl) {
+        if (videoUrl == null) return null;
 
         return AdvertisementVideo.builder()
                 .url(videoUrl)
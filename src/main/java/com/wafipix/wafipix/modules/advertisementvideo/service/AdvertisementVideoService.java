@@ -2,9 +2,11 @@ package com.wafipix.wafipix.modules.advertisementvideo.service;
 
 import com.wafipix.wafipix.modules.advertisementvideo.dto.request.CreateAdvertisementVideoRequest;
 import com.wafipix.wafipix.modules.advertisementvideo.dto.response.AdvertisementVideoResponse;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
 
 public interface AdvertisementVideoService {
     AdvertisementVideoResponse createOrUpdateAdvertisementVideo(CreateAdvertisementVideoRequest request);
+    UploadJobResponse submitAdvertisementVideoUpload(CreateAdvertisementVideoRequest request);
     AdvertisementVideoResponse getAdvertisementVideo();
     void deleteAdvertisementVideo();
     String getAdvertisementVideoUrl();
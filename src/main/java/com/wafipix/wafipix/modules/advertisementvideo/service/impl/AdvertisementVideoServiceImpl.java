@@ -8,13 +8,20 @@ import com.wafipix.wafipix.modules.advertisementvideo.entity.AdvertisementVideo;
 import com.wafipix.wafipix.modules.advertisementvideo.mapper.AdvertisementVideoMapper;
 import com.wafipix.wafipix.modules.advertisementvideo.repository.AdvertisementVideoRepository;
 import com.wafipix.wafipix.modules.advertisementvideo.service.AdvertisementVideoService;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
 import com.wafipix.wafipix.modules.filemanagement.service.FileService;
+import com.wafipix.wafipix.modules.filemanagement.service.UploadJobService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -23,59 +30,51 @@ public class AdvertisementVideoServiceImpl implements AdvertisementVideoService
     private final AdvertisementVideoRepository advertisementVideoRepository;
     private final AdvertisementVideoMapper advertisementVideoMapper;
     private final FileService fileService;
+    private final UploadJobService uploadJobService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public AdvertisementVideoResponse createOrUpdateAdvertisementVideo(CreateAdvertisementVideoRequest request) {
         log.info("Creating or updating advertisement video");
 
         // Validate video file
         validateVideoFile(request.getVideoFile());
 
-        // Upload video file
-        String videoUrl;
+        // Upload video file before the transaction is opened
+        FileService.StagedFile stagedVideo;
         try {
-            var uploadedFile = fileService.uploadFile(request.getVideoFile(), "advertisement-videos");
-            videoUrl = uploadedFile.getPublicUrl();
-            log.info("Advertisement video uploaded successfully: {}", videoUrl);
+            stagedVideo = fileService.stageFile(request.getVideoFile(), "advertisement-videos");
+            log.info("Advertisement video uploaded successfully: {}", stagedVideo.originalFileName());
         } catch (Exception e) {
             log.error("Failed to upload advertisement video: {}", e.getMessage());
             throw new BusinessException("Failed to upload advertisement video: " + e.getMessage());
         }
 
-        // Check if advertisement video already exists
-        AdvertisementVideo existingVideo = advertisementVideoRepository.findFirstByOrderByCreatedAtDesc().orElse(null);
-        
         AdvertisementVideo advertisementVideo;
-        if (existingVideo != null) {
-            // Update existing video
-            log.info("Updating existing advertisement video with ID: {}", existingVideo.getId());
-            
-            // Delete old video from storage
-            if (existingVideo.getUrl() != null) {
-                try {
-                    fileService.deleteFileByUrl(existingVideo.getUrl());
-                    log.info("Old advertisement video deleted: {}", existingVideo.getUrl());
-                } catch (Exception e) {
-                    log.error("Failed to delete old advertisement video: {}", e.getMessage());
-                }
-            }
-            
-            // Update URL
-            existingVideo.setUrl(videoUrl);
-            advertisementVideo = advertisementVideoRepository.save(existingVideo);
-            log.info("Advertisement video updated successfully");
-        } else {
-            // Create new video
-            log.info("Creating new advertisement video");
-            advertisementVideo = advertisementVideoMapper.toEntity(request, videoUrl);
-            advertisementVideo = advertisementVideoRepository.save(advertisementVideo);
-            log.info("Advertisement video created successfully with ID: {}", advertisementVideo.getId());
+        try {
+            advertisementVideo = transactionTemplate.execute(status ->
+                    saveAdvertisementVideo(fileService.commitStagedFile(stagedVideo).getPublicUrl()));
+        } catch (RuntimeException e) {
+            fileService.discardStagedFiles(List.of(stagedVideo));
+            throw e;
         }
-
         return advertisementVideoMapper.toResponse(advertisementVideo);
     }
 
+    @Override
+    public UploadJobResponse submitAdvertisementVideoUpload(CreateAdvertisementVideoRequest request) {
+        log.info("Submitting advertisement video upload job");
+
+        // Validate video file
+        validateVideoFile(request.getVideoFile());
+
+        return uploadJobService.submit(
+                "advertisement-video",
+                List.of(new UploadJobService.JobFile("video", request.getVideoFile(), "advertisement-videos")),
+                files -> saveAdvertisementVideo(files.get("video").getPublicUrl()).getId()
+        );
+    }
+
     @Override
     public AdvertisementVideoResponse getAdvertisementVideo() {
         log.info("Fetching advertisement video");
@@ -138,6 +137,50 @@ public class AdvertisementVideoServiceImpl implements AdvertisementVideoService
         return advertisementVideo.getUrl();
     }
 
+    /**
+     * Point the advertisement video at the uploaded file, replacing (and deleting) the previous one
+     * Must run inside a transaction, the previous file is deleted after commit
+     */
+    private AdvertisementVideo saveAdvertisementVideo(String videoUrl) {
+        // Check if advertisement video already exists
+        AdvertisementVideo existingVideo = advertisementVideoRepository.findFirstByOrderByCreatedAtDesc().orElse(null);
+        
+        AdvertisementVideo advertisementVideo;
+        if (existingVideo != null) {
+            // Update existing video
+            log.info("Updating existing advertisement video with ID: {}", existingVideo.getId());
+            
+            // Delete old video from storage once the new one is committed
+            String oldVideoUrl = existingVideo.getUrl();
+            if (oldVideoUrl != null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        try {
+                            fileService.deleteFileByUrl(oldVideoUrl);
+                            log.info("Old advertisement video deleted: {}", oldVideoUrl);
+                        } catch (Exception e) {
+                            log.error("Failed to delete old advertisement video: {}", e.getMessage());
+                        }
+                    }
+                });
+            }
+            
+            // Update URL
+            existingVideo.setUrl(videoUrl);
+            advertisementVideo = advertisementVideoRepository.save(existingVideo);
+            log.info("Advertisement video updated successfully");
+        } else {
+            // Create new video
+            log.info("Creating new advertisement video");
+            advertisementVideo = advertisementVideoMapper.toEntity(videoUrl);
+            advertisementVideo = advertisementVideoRepository.save(advertisementVideo);
+            log.info("Advertisement video created successfully with ID: {}", advertisementVideo.getId());
+        }
+
+        return advertisementVideo;
+    }
+
     private void validateVideoFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new BusinessException("Video file is required");
@@ -17,6 +17,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.UUID;
@@ -29,9 +31,9 @@ public class ClientServiceImpl implements ClientService {
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
     private final FileService fileService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public ClientResponse createClient(CreateClientRequest request) {
         log.info("Creating client with title: {}", request.getTitle());
 
@@ -40,20 +42,20 @@ public class ClientServiceImpl implements ClientService {
             throw new BusinessException("Client with title '" + request.getTitle() + "' already exists");
         }
 
-        // Upload logo
-        String logoUrl;
-        try {
-            var uploadedFile = fileService.uploadFile(request.getLogo(), "clients/logos");
-            logoUrl = uploadedFile.getPublicUrl();
-            log.info("Logo uploaded successfully: {}", logoUrl);
-        } catch (Exception e) {
-            log.error("Failed to upload logo: {}", e.getMessage());
-            throw new BusinessException("Failed to upload logo: " + e.getMessage());
-        }
+        // Upload logo before the transaction is opened
+        FileService.StagedFile stagedLogo = stageLogo(request.getLogo(), "Failed to upload logo: ");
 
         // Create client entity
-        Client client = clientMapper.toEntity(request, logoUrl);
-        Client savedClient = clientRepository.save(client);
+        Client savedClient;
+        try {
+            savedClient = transactionTemplate.execute(status -> {
+                String logoUrl = fileService.commitStagedFile(stagedLogo).getPublicUrl();
+                return clientRepository.save(clientMapper.toEntity(request, logoUrl));
+            });
+        } catch (RuntimeException e) {
+            fileService.discardStagedFiles(List.of(stagedLogo));
+            throw e;
+        }
 
         log.info("Client created successfully with ID: {}", savedClient.getId());
         return clientMapper.toResponse(savedClient);
@@ -101,41 +103,56 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    @Transactional
     public ClientResponse updateClient(UUID id, UpdateClientRequest request) {
         log.info("Updating client with ID: {}", id);
 
-        Client client = clientRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with ID: " + id));
+        if (!clientRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Client not found with ID: " + id);
+        }
 
         // Check if another client with same title already exists
         if (request.getTitle() != null && clientRepository.existsByTitleIgnoreCaseAndIdNot(request.getTitle(), id)) {
             throw new BusinessException("Client with title '" + request.getTitle() + "' already exists");
         }
 
-        // Handle logo update if provided
-        String logoUrl = null;
-        if (request.getLogo() != null && !request.getLogo().isEmpty()) {
-            try {
-                // Delete old logo if exists
-                if (client.getLogo() != null) {
-                    fileService.deleteFileByUrl(client.getLogo());
-                    log.info("Old logo deleted: {}", client.getLogo());
+        // Upload new logo before the transaction is opened
+        FileService.StagedFile stagedLogo = request.getLogo() != null && !request.getLogo().isEmpty()
+                ? stageLogo(request.getLogo(), "Failed to update logo: ") : null;
+        String[] oldLogoUrl = new String[1];
+
+        Client updatedClient;
+        try {
+            updatedClient = transactionTemplate.execute(status -> {
+                Client client = clientRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Client not found with ID: " + id));
+
+                // Handle logo update if provided
+                String logoUrl = null;
+                if (stagedLogo != null) {
+                    logoUrl = fileService.commitStagedFile(stagedLogo).getPublicUrl();
+                    oldLogoUrl[0] = client.getLogo();
                 }
 
-                // Upload new logo
-                var uploadedFile = fileService.uploadFile(request.getLogo(), "clients/logos");
-                logoUrl = uploadedFile.getPublicUrl();
-                log.info("New logo uploaded successfully: {}", logoUrl);
-            } catch (Exception e) {
-                log.error("Failed to update logo: {}", e.getMessage());
-                throw new BusinessException("Failed to update logo: " + e.getMessage());
+                // Update client
+                clientMapper.updateEntity(client, request, logoUrl);
+                return clientRepository.save(client);
+            });
+        } catch (RuntimeException e) {
+            if (stagedLogo != null) {
+                fileService.discardStagedFiles(List.of(stagedLogo));
             }
+            throw e;
         }
 
-        // Update client
-        clientMapper.updateEntity(client, request, logoUrl);
-        Client updatedClient = clientRepository.save(client);
+        // Delete old logo once the new one is committed
+        if (oldLogoUrl[0] != null) {
+            try {
+                fileService.deleteFileByUrl(oldLogoUrl[0]);
+                log.info("Old logo deleted: {}", oldLogoUrl[0]);
+            } catch (Exception e) {
+                log.error("Failed to delete old logo {}: {}", oldLogoUrl[0], e.getMessage());
+            }
+        }
 
         log.info("Client updated successfully with ID: {}", updatedClient.getId());
         return clientMapper.toResponse(updatedClient);
@@ -198,4 +215,15 @@ public class ClientServiceImpl implements ClientService {
         log.info("Found {} active client logos", logos.size());
         return logos;
     }
+
+    private FileService.StagedFile stageLogo(MultipartFile logo, String errorPrefix) {
+        try {
+            FileService.StagedFile stagedLogo = fileService.stageFile(logo, "clients/logos");
+            log.info("Logo uploaded successfully: {}", stagedLogo.originalFileName());
+            return stagedLogo;
+        } catch (Exception e) {
+            log.error("{}{}", errorPrefix, e.getMessage());
+            throw new BusinessException(errorPrefix + e.getMessage());
+        }
+    }
 }
@@ -2,6 +2,10 @@ package com.wafipix.wafipix.modules.filemanagement.config;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Configuration properties for file storage
@@ -18,6 +22,28 @@ public class FileStorageConfig {
         private String type = "local"; // default to local storage
         private Local local = new Local();
         private Cloudflare cloudflare = new Cloudflare();
+        private DataSize uploadBufferSize = DataSize.ofMegabytes(1); // direct buffer used while streaming uploads
+        private int batchUploadConcurrency = 4; // parallel storage writes per batch upload request
+        private Duration pendingUploadGrace = Duration.ofHours(1); // staged objects older than this without metadata are swept
+        private Derivatives derivatives = new Derivatives();
+        private Reconciliation reconciliation = new Reconciliation();
+    }
+    
+    @Data
+    public static class Reconciliation {
+        private boolean enabled = true;
+        private String cron = "0 30 3 * * *"; // nightly run
+        private Duration orphanGrace = Duration.ofHours(24); // objects younger than this are never treated as orphans
+        private Duration quarantineRetention = Duration.ofDays(7); // quarantined objects are deleted after this
+        private int batchSize = 1000; // storage keys resolved per database lookup
+    }
+    
+    @Data
+    public static class Derivatives {
+        private boolean enabled = true;
+        private List<Integer> widths = List.of(320, 640, 1024, 1600); // only widths below the original are generated
+        private List<String> formats = List.of("webp", "jpeg"); // every format needs an ImageIO writer, checked at startup
+        private float quality = 0.8f; // lossy compression quality, 0..1
     }
     
     @Data
@@ -39,6 +65,24 @@ public class FileStorageConfig {
             private String region = "auto";
             private String bucketName;
             private String publicUrl;
+            private boolean pathStyleAccess = true; // required by most local S3-compatible servers
+            private Multipart multipart = new Multipart();
+            private Client client = new Client();
+        }
+        
+        @Data
+        public static class Multipart {
+            private DataSize partSize = DataSize.ofMegabytes(8); // also the single PUT threshold, S3 minimum is 5MB
+            private int concurrency = 4; // parts uploaded in parallel per file
+        }
+        
+        @Data
+        public static class Client {
+            private int maxConnections = 64;
+            private Duration connectionTimeout = Duration.ofSeconds(5);
+            private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+            private Duration socketTimeout = Duration.ofSeconds(60);
+            private int maxRetries = 3;
         }
     }
 }
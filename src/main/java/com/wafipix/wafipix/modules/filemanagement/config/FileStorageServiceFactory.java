@@ -1,8 +1,10 @@
 package com.wafipix.wafipix.modules.filemanagement.config;
 
 import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
+import com.wafipix.wafipix.modules.filemanagement.service.impl.CloudflareR2ServiceImpl;
 import com.wafipix.wafipix.modules.filemanagement.service.impl.LocalFileStorageServiceImpl;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -11,8 +13,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 
 import java.net.URI;
 
@@ -34,7 +39,7 @@ public class FileStorageServiceFactory {
      */
     @Bean
     @Primary
-    public FileStorageService fileStorageService() {
+    public FileStorageService fileStorageService(ObjectProvider<S3Client> s3Client) {
         String storageType = config.getStorage().getType().toLowerCase();
         
         log.info("Initializing file storage service with type: {}", storageType);
@@ -45,10 +50,8 @@ public class FileStorageServiceFactory {
                 log.info("Creating LocalFileStorageServiceImpl");
                 return new LocalFileStorageServiceImpl(config);
             case "cloudflare":
-                // For now, return local storage as fallback
-                // TODO: Update CloudflareR2ServiceImpl to implement FileStorageService
-                log.warn("Cloudflare storage not yet implemented with new interface, falling back to local storage");
-                return new LocalFileStorageServiceImpl(config);
+                log.info("Creating CloudflareR2ServiceImpl");
+                return new CloudflareR2ServiceImpl(config, s3Client.getObject());
             default:
                 throw new IllegalArgumentException("Unsupported storage type: " + storageType + 
                     ". Supported types: 'local', 'cloudflare'");
@@ -64,6 +67,7 @@ public class FileStorageServiceFactory {
     public S3Client s3Client() {
         try {
             FileStorageConfig.Cloudflare.R2 r2Config = config.getStorage().getCloudflare().getR2();
+            FileStorageConfig.Cloudflare.Client clientConfig = r2Config.getClient();
             
             AwsBasicCredentials credentials = AwsBasicCredentials.create(
                 r2Config.getAccessKey(), 
@@ -74,6 +78,19 @@ public class FileStorageServiceFactory {
                     .endpointOverride(URI.create(r2Config.getEndpoint()))
                     .credentialsProvider(StaticCredentialsProvider.create(credentials))
                     .region(Region.of(r2Config.getRegion()))
+                    .serviceConfiguration(S3Configuration.builder()
+                            .pathStyleAccessEnabled(r2Config.isPathStyleAccess())
+                            .build())
+                    // Pool sized for parallel multipart parts across concurrent uploads
+                    .httpClientBuilder(ApacheHttpClient.builder()
+                            .maxConnections(clientConfig.getMaxConnections())
+                            .connectionTimeout(clientConfig.getConnectionTimeout())
+                            .connectionAcquisitionTimeout(clientConfig.getConnectionAcquisitionTimeout())
+                            .socketTimeout(clientConfig.getSocketTimeout())
+                            .tcpKeepAlive(true))
+                    .overrideConfiguration(ClientOverrideConfiguration.builder()
+                            .retryPolicy(retryPolicy -> retryPolicy.numRetries(clientConfig.getMaxRetries()))
+                            .build())
                     .build();
             
             log.info("Cloudflare R2 S3 client configured successfully");
@@ -0,0 +1,25 @@
+package com.wafipix.wafipix.modules.filemanagement.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor for background image resizing, kept small since decoding and scaling are CPU and heap heavy
+ */
+@Configuration
+public class ImageDerivativeConfig {
+
+    @Bean(name = "imageDerivativeExecutor")
+    public Executor imageDerivativeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("ImageDerivative-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,62 @@
+package com.wafipix.wafipix.modules.filemanagement.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drops the unique constraints left by the former one-to-one file joins of works and gallery items
+ * Deduplicated files are shared by several owners and ddl-auto update never removes constraints, so this runs
+ * on every startup, after the schema update and before the web server accepts requests. Only PostgreSQL
+ * databases created before files were shared carry them, anywhere else it finds nothing to drop.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SharedFileConstraintMigration implements SmartInitializingSingleton {
+
+    // Join columns that used to be one-to-one, per table
+    private static final Map<String, List<String>> SHARED_FILE_COLUMNS = Map.of(
+            "works", List.of("cover_video_id", "cover_image_id", "profile_video_id", "profile_image_id"),
+            "gallery_items", List.of("file_id"));
+
+    private static final String FIND_UNIQUE_CONSTRAINTS = """
+            SELECT con.conname FROM pg_constraint con
+            JOIN pg_class rel ON rel.oid = con.conrelid
+            JOIN pg_namespace ns ON ns.oid = rel.relnamespace
+            JOIN pg_attribute att ON att.attrelid = rel.oid AND att.attnum = con.conkey[1]
+            WHERE con.contype = 'u' AND cardinality(con.conkey) = 1
+              AND ns.nspname = current_schema() AND rel.relname = CAST(? AS name) AND att.attname = CAST(? AS name)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(database)) {
+                return;
+            }
+
+            SHARED_FILE_COLUMNS.forEach((table, columns) -> {
+                for (String column : columns) {
+                    for (String constraint : jdbcTemplate.queryForList(FIND_UNIQUE_CONSTRAINTS, String.class, table, column)) {
+                        jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT \"" + constraint.replace("\"", "\"\"") + "\"");
+                        log.info("Dropped unique constraint {} on {}.{}, files are shared between owners", constraint, table, column);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            // Startup continues, reusing a stored file for a second owner fails until the constraint is dropped
+            log.error("Failed to drop one-to-one file constraints: {}", e.getMessage(), e);
+        }
+    }
+}
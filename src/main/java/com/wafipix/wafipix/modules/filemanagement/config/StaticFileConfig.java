@@ -1,26 +1,31 @@
 package com.wafipix.wafipix.modules.filemanagement.config;
 
+import com.wafipix.wafipix.modules.filemanagement.controller.LocalMediaRequestHandler;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
 
 /**
  * Static file serving configuration
- * Serves uploaded files when using local storage
+ * Serves uploaded files when using local storage (range requests, zero-copy bodies)
  */
 @Configuration
 @ConditionalOnProperty(name = "file.storage.type", havingValue = "local")
 @Slf4j
-public class StaticFileConfig implements WebMvcConfigurer {
+public class StaticFileConfig {
     
     @Autowired
     private FileStorageConfig config;
     
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+    @Bean
+    public SimpleUrlHandlerMapping localMediaHandlerMapping(FileRepository fileRepository) {
         String basePath = config.getStorage().getLocal().getBasePath();
         String publicUrl = config.getStorage().getLocal().getPublicUrl();
         
@@ -51,17 +56,17 @@ public class StaticFileConfig implements WebMvcConfigurer {
         log.info("  Extracted URL Path: {}", urlPath);
         log.info("  Absolute Base Path: {}", absoluteBasePath);
         
-        // Add resource handler with cache settings for better performance
-        registry.addResourceHandler(urlPath + "/**")
-                .addResourceLocations("file:" + absoluteBasePath + "/")
-                .setCachePeriod(3600) // Cache for 1 hour
-                .resourceChain(true); // Enable resource chain for better performance
+        // Media handler in place of the resource handler, same order as resource handlers
+        LocalMediaRequestHandler handler = new LocalMediaRequestHandler(absoluteBasePath, urlPath, fileRepository);
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of(urlPath + "/**", handler));
+        mapping.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
         
         log.info("Static file serving configured for local storage:");
         log.info("  URL Path: {}", urlPath + "/**");
-        log.info("  File Location: {}", "file:" + absoluteBasePath + "/");
+        log.info("  File Location: {}", absoluteBasePath);
         log.info("  Public URL: {}", publicUrl);
         log.info("  Cache Period: 3600 seconds");
+        return mapping;
     }
 }
 
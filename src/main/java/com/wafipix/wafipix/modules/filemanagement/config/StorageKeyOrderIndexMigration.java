@@ -0,0 +1,45 @@
+package com.wafipix.wafipix.modules.filemanagement.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates byte order ("C" collation) indexes on the storage keys of the metadata tables
+ * Storage reconciliation pages through these keys in the order of a storage listing, the locale ordered indexes
+ * created from the entities cannot serve it. JPA index annotations have no collation, so this runs on every
+ * startup after the schema update. Only PostgreSQL has locale collations, anywhere else there is nothing to do.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StorageKeyOrderIndexMigration implements SmartInitializingSingleton {
+
+    private static final List<String> TABLES = List.of("files", "file_variants", "pending_uploads");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(database)) {
+                return;
+            }
+
+            for (String table : TABLES) {
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_file_path_c ON " + table
+                        + " (file_path COLLATE \"C\")");
+            }
+        } catch (Exception e) {
+            // Startup continues, reconciliation sorts the keys of each page without the index until it exists
+            log.error("Failed to create byte order storage key indexes: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.wafipix.wafipix.modules.filemanagement.controller;
+
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serves locally stored media with HTTP range support
+ * Bodies are streamed zero-copy: Tomcat sendfile when the connector supports it, FileChannel.transferTo otherwise
+ */
+@Slf4j
+public class LocalMediaRequestHandler implements HttpRequestHandler {
+
+    static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final int MAX_RANGES = 16; // more ranges than this are answered with the full body
+    private static final int MAX_CACHED_METADATA = 10_000;
+    private static final long CACHE_MAX_AGE_SECONDS = 3600;
+    // Untracked files are looked up again now and then, their row and content hash may be added later
+    private static final long UNTRACKED_METADATA_TTL_NANOS = Duration.ofMinutes(10).toNanos();
+
+    private final Path basePath;
+    private final String urlPath;
+    private final FileRepository fileRepository;
+    // Least recently served entries go first, so hot media keeps its entry
+    private final Map<String, MediaMetadata> metadataCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, MediaMetadata> eldest) {
+                    return size() > MAX_CACHED_METADATA;
+                }
+            });
+
+    public LocalMediaRequestHandler(String basePath, String urlPath, FileRepository fileRepository) {
+        this.basePath = Paths.get(basePath).toAbsolutePath().normalize();
+        this.urlPath = urlPath.endsWith("/") ? urlPath.substring(0, urlPath.length() - 1) : urlPath;
+        this.fileRepository = fileRepository;
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean headRequest = "HEAD".equals(request.getMethod());
+        if (!headRequest && !"GET".equals(request.getMethod())) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        String relativePath = resolveRelativePath(request);
+        Path file = relativePath != null ? basePath.resolve(relativePath).normalize() : null;
+        if (file == null || !file.startsWith(basePath) || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis() / 1000 * 1000; // HTTP dates have second precision
+        MediaMetadata metadata = metadataFor(relativePath, file, length, lastModified);
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, metadata.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + CACHE_MAX_AGE_SECONDS);
+
+        if (isNotModified(request, metadata.etag(), lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        List<ByteRange> ranges = rangesToServe(request, metadata, length, lastModified);
+        if (ranges == null) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(metadata.contentType());
+            response.setContentLengthLong(length);
+            if (!headRequest) {
+                sendBody(request, response, file, new ByteRange(0, length - 1));
+            }
+        } else if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(metadata.contentType());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(length));
+            response.setContentLengthLong(range.length());
+            if (!headRequest) {
+                sendBody(request, response, file, range);
+            }
+        } else {
+            sendMultipartBody(response, file, ranges, metadata.contentType(), length, headRequest);
+        }
+    }
+
+    private String resolveRelativePath(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(urlPath + "/")) {
+            return null;
+        }
+        String relativePath = UriUtils.decode(path.substring(urlPath.length() + 1), StandardCharsets.UTF_8);
+
+        // Hidden entries (in-flight .upload-*.part temp files) are never served
+        for (String segment : relativePath.split("/")) {
+            if (segment.isEmpty() || segment.startsWith(".")) {
+                return null;
+            }
+        }
+        return relativePath;
+    }
+
+    /**
+     * Strong ETag from the stored content hash, weak one for files without a row or hash (legacy media)
+     * Both are cached for the length and modification time they were computed for, so scrubbing through
+     * a video does not query the database for every range
+     */
+    private MediaMetadata metadataFor(String relativePath, Path file, long length, long lastModified) {
+        long now = System.nanoTime();
+        MediaMetadata cached = metadataCache.get(relativePath);
+        if (cached != null && cached.matches(length, lastModified)
+                && (!cached.isWeak() || now - cached.loadedAt() < UNTRACKED_METADATA_TTL_NANOS)) {
+            return cached;
+        }
+
+        String contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        File stored = fileRepository.findByFilePath(relativePath).orElse(null);
+        MediaMetadata metadata;
+        if (stored == null || stored.getContentHash() == null) {
+            // Not tracked (yet): weak validator, never matches If-Range
+            metadata = new MediaMetadata("W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"",
+                    contentType, length, lastModified, now);
+        } else {
+            metadata = new MediaMetadata("\"" + stored.getContentHash() + "\"",
+                    stored.getMimeType() != null ? stored.getMimeType() : contentType, length, lastModified, now);
+        }
+        metadataCache.put(relativePath, metadata);
+        return metadata;
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // Weak comparison for If-None-Match
+            String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = parseDate(request.getHeader(HttpHeaders.IF_MODIFIED_SINCE));
+        return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * @return Ranges to serve, empty for the full body, null when no requested range is satisfiable
+     */
+    private static List<ByteRange> rangesToServe(HttpServletRequest request, MediaMetadata metadata,
+                                                 long length, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), metadata.etag(), lastModified)) {
+            return List.of();
+        }
+        return ByteRange.parse(rangeHeader, length);
+    }
+
+    private static boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Strong comparison, weak validators never match
+            return !etag.startsWith("W/") && ifRange.equals(etag);
+        }
+        return parseDate(ifRange) == lastModified;
+    }
+
+    private static long parseDate(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static void sendBody(HttpServletRequest request, HttpServletResponse response,
+                                 Path file, ByteRange range) throws IOException {
+        if (range.length() == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            // Tomcat writes the region with sendfile once the handler returns
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, range.start());
+            request.setAttribute(SENDFILE_END_ATTR, range.end() + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            transfer(channel, range, out);
+        }
+    }
+
+    private static void sendMultipartBody(HttpServletResponse response, Path file, List<ByteRange> ranges,
+                                          String contentType, long length, boolean headRequest) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (ByteRange range : ranges) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + range.contentRange(length) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + range.length();
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (headRequest) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream outputStream = response.getOutputStream();
+            WritableByteChannel out = Channels.newChannel(outputStream);
+            for (int i = 0; i < ranges.size(); i++) {
+                outputStream.write(partHeaders.get(i));
+                transfer(channel, ranges.get(i), out);
+            }
+            outputStream.write(closing);
+        }
+    }
+
+    private static void transfer(FileChannel channel, ByteRange range, WritableByteChannel out) throws IOException {
+        long position = range.start();
+        long remaining = range.length();
+        while (remaining > 0) {
+            long transferred = channel.transferTo(position, remaining, out);
+            if (transferred <= 0) {
+                throw new IOException("File truncated while serving range " + range.start() + "-" + range.end());
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+    }
+
+    private record MediaMetadata(String etag, String contentType, long length, long lastModified, long loadedAt) {
+
+        boolean isWeak() {
+            return etag.startsWith("W/");
+        }
+
+        boolean matches(long length, long lastModified) {
+            return this.length == length && this.lastModified == lastModified;
+        }
+    }
+
+    /**
+     * Inclusive byte range of a representation
+     */
+    record ByteRange(long start, long end) {
+
+        long length() {
+            return end - start + 1;
+        }
+
+        String contentRange(long totalLength) {
+            return "bytes " + start + "-" + end + "/" + totalLength;
+        }
+
+        /**
+         * Parse a Range header against the representation length
+         * @return Satisfiable ranges in request order, empty to serve the full body (syntax not understood
+         * or too many ranges), null when no range is satisfiable
+         */
+        static List<ByteRange> parse(String header, long length) {
+            if (!header.startsWith("bytes=")) {
+                return List.of();
+            }
+            String[] specs = header.substring("bytes=".length()).split(",");
+            if (specs.length > MAX_RANGES) {
+                return List.of();
+            }
+
+            List<ByteRange> ranges = new ArrayList<>(specs.length);
+            for (String spec : specs) {
+                spec = spec.trim();
+                int dash = spec.indexOf('-');
+                if (dash < 0) {
+                    return List.of();
+                }
+                try {
+                    String first = spec.substring(0, dash).trim();
+                    String last = spec.substring(dash + 1).trim();
+                    if (first.isEmpty()) {
+                        // Suffix range: the last N bytes
+                        long suffixLength = Long.parseLong(last);
+                        if (suffixLength > 0 && length > 0) {
+                            ranges.add(new ByteRange(Math.max(0, length - suffixLength), length - 1));
+                        }
+                        continue;
+                    }
+                    long start = Long.parseLong(first);
+                    long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                    if (end < start) {
+                        return List.of();
+                    }
+                    if (start < length) {
+                        ranges.add(new ByteRange(start, Math.min(end, length - 1)));
+                    }
+                } catch (NumberFormatException e) {
+                    return List.of();
+                }
+            }
+            return ranges.isEmpty() ? null : ranges;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.wafipix.wafipix.modules.filemanagement.controller;
+
+import com.wafipix.wafipix.common.dto.ApiResponse;
+import com.wafipix.wafipix.modules.filemanagement.service.StorageReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v3/admin/storage")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class StorageControllerAdmin {
+
+    private final StorageReconciliationService storageReconciliationService;
+
+    @PostMapping("/reconciliation")
+    public ResponseEntity<ApiResponse<StorageReconciliationService.Report>> reconcileStorage() {
+        log.info("Running storage reconciliation on demand");
+        StorageReconciliationService.Report report = storageReconciliationService.reconcile();
+        return new ResponseEntity<>(ApiResponse.success(report), HttpStatus.OK);
+    }
+}
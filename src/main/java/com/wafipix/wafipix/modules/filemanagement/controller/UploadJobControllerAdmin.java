@@ -0,0 +1,38 @@
+package com.wafipix.wafipix.modules.filemanagement.controller;
+
+import com.wafipix.wafipix.common.dto.ApiResponse;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
+import com.wafipix.wafipix.modules.filemanagement.service.UploadJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/v3/admin/upload-jobs")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class UploadJobControllerAdmin {
+
+    private final UploadJobService uploadJobService;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<UploadJobResponse>> getUploadJob(@PathVariable UUID jobId) {
+        log.debug("Fetching upload job: {}", jobId);
+        UploadJobResponse response = uploadJobService.getJob(jobId);
+        return new ResponseEntity<>(ApiResponse.success(response), HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUploadJobEvents(@PathVariable UUID jobId) {
+        log.info("Subscribing to upload job events: {}", jobId);
+        return uploadJobService.subscribe(jobId);
+    }
+}
@@ -0,0 +1,10 @@
+package com.wafipix.wafipix.modules.filemanagement.dto.response;
+
+/**
+ * One srcset candidate of a responsive image
+ */
+public record ImageVariantResponse(
+        String url,
+        Integer width,
+        String mimeType
+) {}
@@ -0,0 +1,29 @@
+package com.wafipix.wafipix.modules.filemanagement.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record UploadJobResponse(
+        UUID jobId,
+        String jobType,
+        Status status,
+        long bytesTotal,
+        long bytesTransferred,
+        int progressPercent,
+        UUID resourceId, // Owning entity updated when the job completed
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
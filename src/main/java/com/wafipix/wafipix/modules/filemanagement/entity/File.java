@@ -7,13 +7,21 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * File entity to store metadata of uploaded files
  * Stores all necessary information about files uploaded to Cloudflare R2
  */
 @Entity
-@Table(name = "files")
+@Table(name = "files",
+       indexes = {
+           @Index(name = "idx_files_content_hash", columnList = "contentHash"),
+           @Index(name = "idx_files_file_path", columnList = "filePath")
+       })
 @Setter
 @Getter
 @Builder
@@ -51,6 +59,19 @@ public class File extends Auditable {
     @Column(length = 500)
     private String description; // Optional description
 
+    @Column(length = 64)
+    private String contentHash; // Hex encoded SHA-256 of the stored object
+
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer default 1")
+    private Integer referenceCount = 1; // Owners sharing this stored object
+
+    @Builder.Default
+    @OneToMany(mappedBy = "file")
+    @OrderBy("width ASC")
+    @BatchSize(size = 50)
+    private List<FileVariant> variants = new ArrayList<>(); // Resized renditions (images only)
+
     /**
      * Get file type category based on MIME type
      */
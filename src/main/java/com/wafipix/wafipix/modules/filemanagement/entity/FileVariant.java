@@ -0,0 +1,54 @@
+package com.wafipix.wafipix.modules.filemanagement.entity;
+
+import com.wafipix.wafipix.common.entity.Auditable;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Resized rendition of an image file (responsive srcset source)
+ */
+@Entity
+@Table(name = "file_variants",
+       indexes = {
+           @Index(name = "idx_file_variants_file_id", columnList = "file_id"),
+           @Index(name = "idx_file_variants_file_path", columnList = "filePath")
+       },
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_file_variants_file_width_mime", columnNames = {"file_id", "width", "mimeType"})
+       })
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileVariant extends Auditable {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "file_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private File file; // Original the variant was rendered from
+
+    @Column(nullable = false)
+    private Integer width;
+
+    @Column(nullable = false)
+    private Integer height;
+
+    @Column(nullable = false)
+    private String mimeType;
+
+    @Column(nullable = false)
+    private String filePath; // Full path in storage
+
+    @Column(nullable = false)
+    private String publicUrl;
+
+    @Column(nullable = false)
+    private Long fileSize; // Size in bytes
+}
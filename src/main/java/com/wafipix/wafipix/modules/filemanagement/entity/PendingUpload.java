@@ -0,0 +1,32 @@
+package com.wafipix.wafipix.modules.filemanagement.entity;
+
+import com.wafipix.wafipix.common.entity.Auditable;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Marker of an object written to storage whose metadata is not committed yet
+ * Removed together with the File insert; markers left behind are swept after a grace period
+ */
+@Entity
+@Table(name = "pending_uploads",
+       indexes = {
+           @Index(name = "idx_pending_uploads_created_at", columnList = "created_at")
+       })
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingUpload extends Auditable {
+
+    @Column(nullable = false, unique = true)
+    private String filePath; // Path of the staged object in storage
+
+    @Column(nullable = false)
+    private String publicUrl;
+}
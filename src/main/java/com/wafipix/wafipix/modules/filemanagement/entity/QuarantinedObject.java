@@ -0,0 +1,35 @@
+package com.wafipix.wafipix.modules.filemanagement.entity;
+
+import com.wafipix.wafipix.common.entity.Auditable;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Orphaned object moved aside by storage reconciliation
+ * Restorable by moving it back until the retention period ends, then deleted for good
+ */
+@Entity
+@Table(name = "storage_quarantine",
+       indexes = {
+           @Index(name = "idx_storage_quarantine_created_at", columnList = "created_at")
+       })
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuarantinedObject extends Auditable {
+
+    @Column(nullable = false)
+    private String originalPath; // Path the object was found at
+
+    @Column(nullable = false, unique = true)
+    private String quarantinePath; // Current path in storage
+
+    @Column(nullable = false)
+    private Long fileSize; // Size in bytes
+}
@@ -0,0 +1,20 @@
+package com.wafipix.wafipix.modules.filemanagement.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Published when responsive variants of a stored image are saved, responses listing srcsets go stale
+ */
+@Getter
+public class FileVariantsGeneratedEvent extends ApplicationEvent {
+
+    private final UUID fileId;
+
+    public FileVariantsGeneratedEvent(Object source, UUID fileId) {
+        super(source);
+        this.fileId = fileId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.wafipix.wafipix.modules.filemanagement.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when metadata of newly stored objects is saved (listeners run after commit)
+ */
+@Getter
+public class FilesStoredEvent extends ApplicationEvent {
+
+    private final List<UUID> fileIds;
+
+    public FilesStoredEvent(Object source, List<UUID> fileIds) {
+        super(source);
+        this.fileIds = fileIds;
+    }
+}
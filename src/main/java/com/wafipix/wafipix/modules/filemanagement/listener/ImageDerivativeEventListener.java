@@ -0,0 +1,31 @@
+package com.wafipix.wafipix.modules.filemanagement.listener;
+
+import com.wafipix.wafipix.modules.filemanagement.event.FilesStoredEvent;
+import com.wafipix.wafipix.modules.filemanagement.service.ImageDerivativeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageDerivativeEventListener {
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Async("imageDerivativeExecutor")
+    public void handleFilesStored(FilesStoredEvent event) {
+        for (UUID fileId : event.getFileIds()) {
+            try {
+                imageDerivativeService.generateDerivatives(fileId);
+            } catch (Exception e) {
+                log.error("Failed to generate image derivatives for file ID: {} - Error: {}", fileId, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.wafipix.wafipix.modules.filemanagement.mapper;
 
 import com.wafipix.wafipix.modules.filemanagement.dto.response.FileResponse;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.ImageVariantResponse;
 import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class FileMapper {
 
@@ -26,4 +30,18 @@ public class FileMapper {
                 file.getUpdatedAt()
         );
     }
+
+    public List<ImageVariantResponse> toVariantResponses(File file) {
+        if (file == null || file.getVariants() == null) return List.of();
+
+        return toVariantResponses(file.getVariants());
+    }
+
+    public List<ImageVariantResponse> toVariantResponses(List<FileVariant> variants) {
+        if (variants == null) return List.of();
+
+        return variants.stream()
+                .map(variant -> new ImageVariantResponse(variant.getPublicUrl(), variant.getWidth(), variant.getMimeType()))
+                .toList();
+    }
 }
@@ -1,11 +1,18 @@
 package com.wafipix.wafipix.modules.filemanagement.repository;
 
 import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -62,6 +69,14 @@ public interface FileRepository extends JpaRepository<File, UUID> {
     @Query("SELECT f FROM File f WHERE f.publicUrl IN :urls")
     List<File> findByPublicUrlIn(@Param("urls") List<String> urls);
 
+    /**
+     * Find files by multiple public URLs, locking the rows until the transaction ends
+     * Keeps concurrent reference count changes out while a batch of references is released
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM File f WHERE f.publicUrl IN :urls")
+    List<File> findForUpdateByPublicUrlIn(@Param("urls") Collection<String> urls);
+
     /**
      * Find files by file extension
      */
@@ -72,4 +87,80 @@ public interface FileRepository extends JpaRepository<File, UUID> {
      */
     @Query("SELECT f FROM File f WHERE f.fileSize BETWEEN :minSize AND :maxSize")
     List<File> findByFileSizeBetween(@Param("minSize") Long minSize, @Param("maxSize") Long maxSize);
+
+    /**
+     * Find an active stored object with the same content (oldest first)
+     */
+    Optional<File> findFirstByContentHashAndFileSizeAndIsActiveTrueOrderByCreatedAtAsc(String contentHash, Long fileSize);
+
+    /**
+     * Find active stored objects for a batch of content hashes
+     */
+    @Query("SELECT f FROM File f WHERE f.contentHash IN :contentHashes AND f.isActive = true ORDER BY f.createdAt ASC")
+    List<File> findActiveByContentHashIn(@Param("contentHashes") Collection<String> contentHashes);
+
+    /**
+     * Register one more owner of a stored object
+     * @return Number of updated rows (0 if the file was removed meanwhile)
+     */
+    @Modifying
+    @Query("UPDATE File f SET f.referenceCount = f.referenceCount + 1 WHERE f.id = :id")
+    int incrementReferenceCount(@Param("id") UUID id);
+
+    /**
+     * Release one owner of a stored object unless it is the last one
+     * @return Number of updated rows (0 if this was the last reference)
+     */
+    @Modifying
+    @Query("UPDATE File f SET f.referenceCount = f.referenceCount - 1 WHERE f.id = :id AND f.referenceCount > 1")
+    int decrementReferenceCountIfShared(@Param("id") UUID id);
+
+    /**
+     * Release several owners of shared stored objects at once
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE File f SET f.referenceCount = f.referenceCount - :count WHERE f.id IN :ids")
+    int releaseReferences(@Param("ids") Collection<UUID> ids, @Param("count") int count);
+
+    /**
+     * Next storage keys of a file after the given one, in byte order like a storage listing
+     * COLLATE "C" keeps PostgreSQL from ordering by the locale, idx_files_file_path_c serves it
+     */
+    @Query(value = "SELECT file_path FROM files WHERE file_path COLLATE \"C\" > :after ORDER BY file_path COLLATE \"C\" LIMIT :limit",
+           nativeQuery = true)
+    List<String> findFilePathsAfterInByteOrder(@Param("after") String after, @Param("limit") int limit);
+
+    /**
+     * Same on databases that compare strings by code unit without a locale (H2)
+     */
+    @Query("SELECT f.filePath FROM File f WHERE f.filePath > :after ORDER BY f.filePath")
+    List<String> findFilePathsAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * Files created before the cutoff that no owning entity points at anymore (leaked by a failed cleanup)
+     */
+    @Query("SELECT f.id FROM File f WHERE f.createdAt < :cutoff AND " + UNREFERENCED + " ORDER BY f.createdAt ASC")
+    List<UUID> findUnreferencedIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Delete files that are still unreferenced (owners may have appeared since they were selected)
+     * Variant rows go with them through the foreign key cascade
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM File f WHERE f.id IN :ids AND " + UNREFERENCED)
+    int deleteUnreferencedByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * No work, gallery item, service icon, client logo, review image or advertisement video uses the file
+     */
+    String UNREFERENCED =
+            "NOT EXISTS (SELECT 1 FROM Work w WHERE w.coverVideo = f OR w.coverImage = f OR w.profileVideo = f OR w.profileImage = f)" +
+            " AND NOT EXISTS (SELECT 1 FROM GalleryItem gi WHERE gi.file = f)" +
+            " AND NOT EXISTS (SELECT 1 FROM Service s WHERE s.icon = f.publicUrl)" +
+            " AND NOT EXISTS (SELECT 1 FROM Client c WHERE c.logo = f.publicUrl)" +
+            " AND NOT EXISTS (SELECT 1 FROM Review r WHERE r.reviewImage = f.publicUrl)" +
+            " AND NOT EXISTS (SELECT 1 FROM AdvertisementVideo a WHERE a.url = f.publicUrl)";
 }
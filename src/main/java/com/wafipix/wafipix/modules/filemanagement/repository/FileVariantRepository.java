@@ -0,0 +1,41 @@
+package com.wafipix.wafipix.modules.filemanagement.repository;
+
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for resized image variants
+ */
+@Repository
+public interface FileVariantRepository extends JpaRepository<FileVariant, UUID> {
+
+    boolean existsByFileId(UUID fileId);
+
+    /**
+     * Variants of many files at once, for listings that show a srcset per row
+     */
+    @Query("SELECT v FROM FileVariant v WHERE v.file.id IN :fileIds ORDER BY v.width ASC")
+    List<FileVariant> findByFileIdIn(@Param("fileIds") Collection<UUID> fileIds);
+
+    /**
+     * Next storage keys of a variant after the given one, in byte order like a storage listing
+     * COLLATE "C" keeps PostgreSQL from ordering by the locale, idx_file_variants_file_path_c serves it
+     */
+    @Query(value = "SELECT file_path FROM file_variants WHERE file_path COLLATE \"C\" > :after ORDER BY file_path COLLATE \"C\" LIMIT :limit",
+           nativeQuery = true)
+    List<String> findFilePathsAfterInByteOrder(@Param("after") String after, @Param("limit") int limit);
+
+    /**
+     * Same on databases that compare strings by code unit without a locale (H2)
+     */
+    @Query("SELECT v.filePath FROM FileVariant v WHERE v.filePath > :after ORDER BY v.filePath")
+    List<String> findFilePathsAfter(@Param("after") String after, Pageable pageable);
+}
@@ -0,0 +1,49 @@
+package com.wafipix.wafipix.modules.filemanagement.repository;
+
+import com.wafipix.wafipix.modules.filemanagement.entity.PendingUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for staged objects awaiting their metadata commit
+ */
+@Repository
+public interface PendingUploadRepository extends JpaRepository<PendingUpload, UUID> {
+
+    /**
+     * Oldest markers staged before the cutoff (never committed)
+     */
+    List<PendingUpload> findTop100ByCreatedAtBeforeOrderByCreatedAtAsc(LocalDateTime cutoff);
+
+    /**
+     * Next storage keys of a staged object after the given one, in byte order like a storage listing
+     * COLLATE "C" keeps PostgreSQL from ordering by the locale, idx_pending_uploads_file_path_c serves it
+     */
+    @Query(value = "SELECT file_path FROM pending_uploads WHERE file_path COLLATE \"C\" > :after ORDER BY file_path COLLATE \"C\" LIMIT :limit",
+           nativeQuery = true)
+    List<String> findFilePathsAfterInByteOrder(@Param("after") String after, @Param("limit") int limit);
+
+    /**
+     * Same on databases that compare strings by code unit without a locale (H2)
+     */
+    @Query("SELECT p.filePath FROM PendingUpload p WHERE p.filePath > :after ORDER BY p.filePath")
+    List<String> findFilePathsAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * Clear the markers of committed or discarded objects
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PendingUpload p WHERE p.filePath IN :filePaths")
+    int deleteByFilePathIn(@Param("filePaths") Collection<String> filePaths);
+}
@@ -0,0 +1,21 @@
+package com.wafipix.wafipix.modules.filemanagement.repository;
+
+import com.wafipix.wafipix.modules.filemanagement.entity.QuarantinedObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for objects held in storage quarantine
+ */
+@Repository
+public interface QuarantinedObjectRepository extends JpaRepository<QuarantinedObject, UUID> {
+
+    /**
+     * Oldest objects quarantined before the cutoff (retention expired)
+     */
+    List<QuarantinedObject> findTop500ByCreatedAtBeforeOrderByCreatedAtAsc(LocalDateTime cutoff);
+}
@@ -0,0 +1,57 @@
+package com.wafipix.wafipix.modules.filemanagement.scheduler;
+
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
+import com.wafipix.wafipix.modules.filemanagement.entity.PendingUpload;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.PendingUploadRepository;
+import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Removes staged objects whose metadata was never committed (crash or lost request between stage and commit)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PendingUploadSweeper {
+
+    private final PendingUploadRepository pendingUploadRepository;
+    private final FileRepository fileRepository;
+    private final FileStorageService fileStorageService;
+    private final FileStorageConfig fileStorageConfig;
+
+    @Scheduled(fixedDelayString = "${file.storage.pending-sweep-interval:PT15M}",
+               initialDelayString = "${file.storage.pending-sweep-interval:PT15M}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(fileStorageConfig.getStorage().getPendingUploadGrace());
+        int swept = 0;
+        
+        List<PendingUpload> batch;
+        do {
+            batch = pendingUploadRepository.findTop100ByCreatedAtBeforeOrderByCreatedAtAsc(cutoff);
+            List<String> filePaths = new ArrayList<>(batch.size());
+            for (PendingUpload pending : batch) {
+                // A committed file whose marker removal failed must keep its object
+                if (fileRepository.findByFilePath(pending.getFilePath()).isEmpty()
+                        && fileStorageService.deleteFile(pending.getFilePath())) {
+                    swept++;
+                }
+                filePaths.add(pending.getFilePath());
+            }
+            if (!filePaths.isEmpty()) {
+                pendingUploadRepository.deleteByFilePathIn(filePaths);
+            }
+        } while (batch.size() == 100);
+        
+        if (swept > 0) {
+            log.info("Swept {} abandoned staged uploads older than {}", swept, cutoff);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.wafipix.wafipix.modules.filemanagement.scheduler;
+
+import com.wafipix.wafipix.modules.filemanagement.service.StorageReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nightly reconciliation of stored objects against file metadata
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class StorageReconciliationJob {
+
+    private final StorageReconciliationService storageReconciliationService;
+
+    @Scheduled(cron = "${file.storage.reconciliation.cron:0 30 3 * * *}")
+    public void reconcile() {
+        try {
+            storageReconciliationService.reconcile();
+        } catch (RuntimeException e) {
+            log.error("Storage reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+}
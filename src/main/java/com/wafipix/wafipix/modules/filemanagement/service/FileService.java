@@ -1,9 +1,13 @@
 package com.wafipix.wafipix.modules.filemanagement.service;
 
 import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for file management operations
@@ -36,6 +40,49 @@ public interface FileService {
      */
     List<File> uploadFiles(List<MultipartFile> files, String folderPath);
 
+    /**
+     * Upload a batch of files concurrently and save their metadata in one batch insert
+     * @param uploads Files with their target folder
+     * @return Per-file outcome in input order (failed files do not abort the batch)
+     */
+    BatchUploadResult uploadFileBatch(List<FileUpload> uploads);
+
+    /**
+     * Write files to storage as pending objects, concurrently and outside of any transaction
+     * Pending objects are removed by the sweeper unless their metadata is committed
+     * @param uploads Files with their target folder
+     * @return Staged files in input order, failed files carry an error
+     */
+    List<StagedFile> stageFiles(List<FileUpload> uploads);
+
+    /**
+     * Write a single file to storage as a pending object
+     * @param file The file to upload
+     * @param folderPath The folder path where file should be stored
+     * @return Staged file, throws if the file could not be stored
+     */
+    StagedFile stageFile(MultipartFile file, String folderPath);
+
+    /**
+     * Save metadata of staged files, meant to run in the caller's short transaction
+     * @param stagedFiles Files returned by stageFiles/stageFile
+     * @return File entities aligned with the input (null for files that failed to stage)
+     */
+    List<File> commitStagedFiles(List<StagedFile> stagedFiles);
+
+    /**
+     * Save metadata of a single staged file
+     * @param stagedFile File returned by stageFile
+     * @return File entity with all metadata
+     */
+    File commitStagedFile(StagedFile stagedFile);
+
+    /**
+     * Remove staged objects whose metadata will not be committed (e.g. the transaction rolled back)
+     * @param stagedFiles Files returned by stageFiles/stageFile
+     */
+    void discardStagedFiles(List<StagedFile> stagedFiles);
+
     /**
      * Delete file by public URL (from both R2 and database)
      * @param publicUrl The public URL of the file
@@ -43,6 +90,14 @@ public interface FileService {
      */
     boolean deleteFileByUrl(String publicUrl);
 
+    /**
+     * Delete several files by public URL with one lookup, one row delete and bulk storage deletes
+     * Each occurrence of a URL releases one reference; stored objects are removed once the deletion commits
+     * @param publicUrls Public URLs of the files
+     * @return Outcome per distinct URL, in input order
+     */
+    Map<String, DeleteOutcome> deleteFilesByUrls(Collection<String> publicUrls);
+
     /**
      * Delete file by file path (from both R2 and database)
      * @param filePath The file path in R2 bucket
@@ -71,6 +126,13 @@ public interface FileService {
      */
     List<File> findByFolderPath(String folderPath);
 
+    /**
+     * Find the variants of several files in one query
+     * @param fileIds Ids of the original files
+     * @return Variants by file id, smallest first; files without variants are absent
+     */
+    Map<UUID, List<FileVariant>> findVariantsByFileIds(Collection<UUID> fileIds);
+
     /**
      * Check if file exists by public URL
      * @param publicUrl The public URL of the file
@@ -105,4 +167,62 @@ public interface FileService {
      * @return true if restoration was successful, false otherwise
      */
     boolean restoreFile(String publicUrl);
+
+    /**
+     * Result of deleting a file by URL
+     */
+    enum DeleteOutcome {
+        DELETED,  // last reference, row and stored objects removed
+        RELEASED, // shared with other owners, only the references were dropped
+        NOT_FOUND
+    }
+
+    /**
+     * File to upload with its target folder
+     */
+    record FileUpload(MultipartFile file, String folderPath) {
+    }
+
+    /**
+     * File written to storage but not yet committed to the database
+     * Either a new pending object (uploadResult) or a reuse of an identical stored file (existingFileId)
+     */
+    record StagedFile(int index, String originalFileName, String folderPath, String contentHash,
+                      UUID existingFileId, FileStorageService.UploadResult uploadResult, String error) {
+
+        public boolean isStaged() {
+            return error == null;
+        }
+
+        public boolean isNewObject() {
+            return uploadResult != null;
+        }
+    }
+
+    /**
+     * Outcome of a batch upload, items are in input order
+     */
+    record BatchUploadResult(List<Item> items) {
+
+        /**
+         * Stored file or the error that prevented storing it
+         */
+        public record Item(int index, String originalFileName, File file, String error) {
+            public boolean isSuccess() {
+                return file != null;
+            }
+        }
+
+        public List<File> uploadedFiles() {
+            return items.stream().filter(Item::isSuccess).map(Item::file).toList();
+        }
+
+        public List<Item> failures() {
+            return items.stream().filter(item -> !item.isSuccess()).toList();
+        }
+
+        public boolean hasFailures() {
+            return items.stream().anyMatch(item -> !item.isSuccess());
+        }
+    }
 }
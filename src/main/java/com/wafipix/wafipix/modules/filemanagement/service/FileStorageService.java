@@ -2,11 +2,26 @@ package com.wafipix.wafipix.modules.filemanagement.service;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface FileStorageService {
     UploadResult uploadFile(MultipartFile file, String folderPath);
+    InputStream openFile(String filePath); // caller closes the stream
     boolean deleteFile(String filePath);
+    List<String> deleteFiles(Collection<String> filePaths); // bulk delete, returns the paths that could not be deleted
     boolean fileExists(String filePath);
     String generatePublicUrl(String filePath);
+    Stream<StoredObject> listFiles(); // every stored object in ascending key (byte) order, caller closes the stream
+    boolean moveFile(String sourcePath, String targetPath);
+
+    /**
+     * Object as listed by the storage backend
+     */
+    record StoredObject(String filePath, long fileSize, Instant lastModified) {}
 
     class UploadResult {
         private final String fileName;
@@ -15,15 +30,22 @@ public interface FileStorageService {
         private final String mimeType;
         private final long fileSize;
         private final String fileExtension;
+        private final String contentHash; // Hex encoded SHA-256 of the stored bytes
 
         public UploadResult(String fileName, String filePath, String publicUrl,
                             String mimeType, long fileSize, String fileExtension) {
+            this(fileName, filePath, publicUrl, mimeType, fileSize, fileExtension, null);
+        }
+
+        public UploadResult(String fileName, String filePath, String publicUrl,
+                            String mimeType, long fileSize, String fileExtension, String contentHash) {
             this.fileName = fileName;
             this.filePath = filePath;
             this.publicUrl = publicUrl;
             this.mimeType = mimeType;
             this.fileSize = fileSize;
             this.fileExtension = fileExtension;
+            this.contentHash = contentHash;
         }
 
         public String getFileName() { return fileName; }
@@ -32,5 +54,6 @@ public interface FileStorageService {
         public String getMimeType() { return mimeType; }
         public long getFileSize() { return fileSize; }
         public String getFileExtension() { return fileExtension; }
+        public String getContentHash() { return contentHash; }
     }
 }
@@ -0,0 +1,27 @@
+package com.wafipix.wafipix.modules.filemanagement.service;
+
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for resized renditions of uploaded images
+ */
+public interface ImageDerivativeService {
+
+    /**
+     * Check if resized variants can be rendered for the file (raster images)
+     * @param file The stored file
+     * @return true if the file is a supported image
+     */
+    boolean supports(File file);
+
+    /**
+     * Render and store the configured widths and formats of an image, skipped if variants already exist
+     * @param fileId ID of the original file
+     * @return Stored variants (empty if nothing was rendered)
+     */
+    List<FileVariant> generateDerivatives(UUID fileId);
+}
@@ -0,0 +1,26 @@
+package com.wafipix.wafipix.modules.filemanagement.service;
+
+/**
+ * Service reconciling stored objects with file metadata
+ */
+public interface StorageReconciliationService {
+
+    /**
+     * Release unreferenced files, move orphaned objects into quarantine and delete quarantined objects
+     * whose retention expired
+     * @return Summary of the run
+     */
+    Report reconcile();
+
+    /**
+     * Outcome of one reconciliation run
+     */
+    record Report(
+            long objectsScanned,
+            long unreferencedFilesReleased,
+            long orphansQuarantined,
+            long bytesQuarantined,
+            long objectsPurged,
+            long bytesReclaimed
+    ) {}
+}
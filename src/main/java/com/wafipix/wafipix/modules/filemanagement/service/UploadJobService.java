@@ -0,0 +1,51 @@
+package com.wafipix.wafipix.modules.filemanagement.service;
+
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Service for background upload jobs
+ * Accepts files on the request thread, stores them on a bounded background executor
+ * and reports progress until the owning entity has been updated
+ */
+public interface UploadJobService {
+
+    /**
+     * Spool the files off the request and queue the upload
+     * @param jobType Short label of the job (e.g. work, advertisement-video)
+     * @param files Files to upload, keyed by slot in the completion callback
+     * @param onComplete Called in a transaction with the stored files, returns the id of the updated owning entity
+     * @return Queued job
+     */
+    UploadJobResponse submit(String jobType, List<JobFile> files, Function<Map<String, File>, UUID> onComplete);
+
+    /**
+     * Get the current state of a job (polling)
+     * @param jobId Job id
+     * @return Job state
+     */
+    UploadJobResponse getJob(UUID jobId);
+
+    /**
+     * Subscribe to progress and completion events of a job (SSE)
+     * @param jobId Job id
+     * @return Emitter completed after the final event
+     */
+    SseEmitter subscribe(UUID jobId);
+
+    /**
+     * File of an upload job
+     * @param slot Key of the stored file in the completion callback
+     * @param file Uploaded file
+     * @param folderPath Target folder in storage
+     */
+    record JobFile(String slot, MultipartFile file, String folderPath) {
+    }
+}
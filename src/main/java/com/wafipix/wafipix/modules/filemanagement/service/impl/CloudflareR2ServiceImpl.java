@@ -1,81 +1,130 @@
 package com.wafipix.wafipix.modules.filemanagement.service.impl;
 
-import com.wafipix.wafipix.modules.filemanagement.service.CloudflareR2Service;
-import lombok.RequiredArgsConstructor;
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
+import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tika.Tika;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
- * Implementation of CloudflareR2Service
- * Handles actual file operations with Cloudflare R2 storage
+ * Cloudflare R2 (S3-compatible) storage implementation
+ * Streams uploads through the single-pass pipeline; files larger than one part are sent
+ * as a parallel multipart upload, smaller files as a single PUT
  */
-// @Service  // Temporarily disabled - using FileStorageService instead
-@RequiredArgsConstructor
 @Slf4j
-public class CloudflareR2ServiceImpl implements CloudflareR2Service {
+public class CloudflareR2ServiceImpl implements FileStorageService, DisposableBean {
+
+    private static final long MIN_PART_SIZE = DataSize.ofMegabytes(5).toBytes();
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+    // Full part buffers kept for reuse, they are large enough to be humongous allocations otherwise
+    private static final int MAX_POOLED_PART_BUFFERS = 4;
 
     private final S3Client s3Client;
+    private final String bucketName;
+    private final String publicUrl;
+    private final int uploadBufferSize;
+    private final int partSize;
+    private final int partConcurrency;
+    private final ExecutorService partExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Queue<byte[]> partBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledPartBuffers = new AtomicInteger();
     private final Tika tika = new Tika();
 
-    @Value("${cloudflare.r2.bucket-name}")
-    private String bucketName;
+    public CloudflareR2ServiceImpl(FileStorageConfig config, S3Client s3Client) {
+        FileStorageConfig.Cloudflare.R2 r2Config = config.getStorage().getCloudflare().getR2();
+        this.s3Client = s3Client;
+        this.bucketName = r2Config.getBucketName();
+        this.publicUrl = r2Config.getPublicUrl();
+        this.uploadBufferSize = (int) config.getStorage().getUploadBufferSize().toBytes();
+        this.partSize = (int) Math.max(r2Config.getMultipart().getPartSize().toBytes(), MIN_PART_SIZE);
+        this.partConcurrency = Math.max(r2Config.getMultipart().getConcurrency(), 1);
+        log.info("Cloudflare R2 storage configured: bucket={}, partSize={} bytes, partConcurrency={}",
+                bucketName, partSize, partConcurrency);
+    }
 
-    @Value("${cloudflare.r2.public-url}")
-    private String publicUrl;
+    /**
+     * Stop accepting part uploads and wait for the running ones on shutdown
+     */
+    @Override
+    public void destroy() {
+        partExecutor.close();
+    }
 
     @Override
     public UploadResult uploadFile(MultipartFile file, String folderPath) {
+        // Generate unique file name
+        String fileExtension = getFileExtension(file.getOriginalFilename());
+        String uniqueFileName = generateUniqueFileName(fileExtension);
+
+        // Create full file path
+        String fullPath = folderPath.isEmpty() ? uniqueFileName : folderPath + "/" + uniqueFileName;
+
+        ObjectUpload upload = new ObjectUpload(fullPath, file.getSize());
         try {
-            // Generate unique file name
-            String originalFileName = file.getOriginalFilename();
-            String fileExtension = getFileExtension(originalFileName);
-            String uniqueFileName = generateUniqueFileName(fileExtension);
-            
-            // Create full file path
-            String fullPath = folderPath.isEmpty() ? uniqueFileName : folderPath + "/" + uniqueFileName;
-            
-            // Detect MIME type
-            String mimeType = tika.detect(file.getInputStream());
-            
-            // Upload to R2
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fullPath)
-                    .contentType(mimeType)
-                    .contentLength(file.getSize())
-                    .build();
+            StreamingUploadPipeline.Result result =
+                    StreamingUploadPipeline.pump(file.getInputStream(), uploadBufferSize, upload::write);
+            upload.complete();
+
+            log.info("File uploaded successfully: {} ({} bytes, {} parts)", fullPath, result.bytesRead(), upload.partCount());
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
-            
-            // Generate public URL
-            String publicFileUrl = publicUrl + "/" + fullPath;
-            
-            log.info("File uploaded successfully: {}", fullPath);
-            
             return new UploadResult(
                     uniqueFileName,
                     fullPath,
-                    publicFileUrl,
-                    mimeType,
-                    file.getSize(),
-                    fileExtension
+                    generatePublicUrl(fullPath),
+                    upload.mimeType(),
+                    result.bytesRead(),
+                    fileExtension,
+                    result.contentHash()
             );
-            
-        } catch (IOException e) {
-            log.error("Error uploading file: {}", e.getMessage());
+
+        } catch (Exception e) {
+            upload.abort();
+            log.error("Error uploading file {}: {}", fullPath, e.getMessage());
             throw new RuntimeException("Failed to upload file", e);
         }
     }
 
+    @Override
+    public InputStream openFile(String filePath) {
+        try {
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(filePath)
+                    .build();
+
+            return s3Client.getObject(getObjectRequest);
+
+        } catch (Exception e) {
+            log.error("Error opening file {}: {}", filePath, e.getMessage());
+            throw new RuntimeException("Failed to open file " + filePath, e);
+        }
+    }
+
     @Override
     public boolean deleteFile(String filePath) {
         try {
@@ -87,13 +136,43 @@ public class CloudflareR2ServiceImpl implements CloudflareR2Service {
             s3Client.deleteObject(deleteObjectRequest);
             log.info("File deleted successfully: {}", filePath);
             return true;
-            
+
         } catch (Exception e) {
             log.error("Error deleting file {}: {}", filePath, e.getMessage());
             return false;
         }
     }
 
+    @Override
+    public List<String> deleteFiles(Collection<String> filePaths) {
+        List<String> keys = List.copyOf(filePaths);
+        List<String> failed = new ArrayList<>();
+        // DeleteObjects accepts up to 1000 keys per request
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_DELETE) {
+            List<String> chunk = keys.subList(from, Math.min(from + MAX_KEYS_PER_DELETE, keys.size()));
+            try {
+                DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        .delete(Delete.builder()
+                                .objects(chunk.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                                .quiet(true)
+                                .build())
+                        .build();
+
+                DeleteObjectsResponse response = s3Client.deleteObjects(deleteObjectsRequest);
+                for (S3Error error : response.errors()) {
+                    log.error("Error deleting file {}: {}", error.key(), error.message());
+                    failed.add(error.key());
+                }
+            } catch (Exception e) {
+                log.error("Error deleting {} files: {}", chunk.size(), e.getMessage());
+                failed.addAll(chunk);
+            }
+        }
+        log.info("Files deleted: {} of {}", keys.size() - failed.size(), keys.size());
+        return failed;
+    }
+
     @Override
     public boolean fileExists(String filePath) {
         try {
@@ -104,7 +183,7 @@ public class CloudflareR2ServiceImpl implements CloudflareR2Service {
 
             s3Client.headObject(headObjectRequest);
             return true;
-            
+
         } catch (NoSuchKeyException e) {
             return false;
         } catch (Exception e) {
@@ -118,6 +197,70 @@ public class CloudflareR2ServiceImpl implements CloudflareR2Service {
         return publicUrl + "/" + filePath;
     }
 
+    @Override
+    public Stream<StoredObject> listFiles() {
+        // ListObjectsV2 returns keys in UTF-8 byte order, pages are fetched lazily as the stream advances
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .build();
+
+        return s3Client.listObjectsV2Paginator(listRequest).contents().stream()
+                .map(object -> new StoredObject(object.key(), object.size(), object.lastModified()));
+    }
+
+    @Override
+    public boolean moveFile(String sourcePath, String targetPath) {
+        try {
+            CopyObjectRequest copyObjectRequest = CopyObjectRequest.builder()
+                    .sourceBucket(bucketName)
+                    .sourceKey(sourcePath)
+                    .destinationBucket(bucketName)
+                    .destinationKey(targetPath)
+                    .build();
+
+            s3Client.copyObject(copyObjectRequest);
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucketName).key(sourcePath).build());
+            log.info("File moved successfully: {} -> {}", sourcePath, targetPath);
+            return true;
+
+        } catch (Exception e) {
+            log.error("Error moving file {} to {}: {}", sourcePath, targetPath, e.getMessage());
+            return false;
+        }
+    }
+
+    int pooledPartBuffers() {
+        return pooledPartBuffers.get();
+    }
+
+    private byte[] acquirePartBuffer() {
+        byte[] buffer = partBuffers.poll();
+        if (buffer == null) {
+            return new byte[partSize];
+        }
+        pooledPartBuffers.decrementAndGet();
+        return buffer;
+    }
+
+    // Only full part buffers are pooled, buffers sized for small files or last parts are left to GC
+    private void releasePartBuffer(byte[] buffer) {
+        if (buffer == null || buffer.length != partSize) {
+            return;
+        }
+        if (pooledPartBuffers.incrementAndGet() <= MAX_POOLED_PART_BUFFERS) {
+            partBuffers.offer(buffer);
+        } else {
+            pooledPartBuffers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Request body over a part buffer without copying it (re-readable for retries)
+     */
+    private static RequestBody requestBody(byte[] data, int length, String mimeType) {
+        return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(data, 0, length), length, mimeType);
+    }
+
     /**
      * Generate unique file name with timestamp and UUID
      */
@@ -140,4 +283,177 @@ public class CloudflareR2ServiceImpl implements CloudflareR2Service {
         }
         return fileName.substring(lastDotIndex + 1).toLowerCase();
     }
+
+    /**
+     * State of one object upload
+     * Collects streamed chunks into part buffers; the multipart upload is only started once the
+     * first part is full. At most partConcurrency parts are in flight, so memory per upload stays
+     * bounded by (partConcurrency + 1) * partSize. A buffer is only allocated once input arrives for it,
+     * sized to the bytes still expected, so small files never take a full part buffer.
+     */
+    private final class ObjectUpload {
+
+        private final String key;
+        private final Semaphore inFlightParts = new Semaphore(partConcurrency);
+        private final List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        private final AtomicReference<Throwable> partFailure = new AtomicReference<>();
+        private long expectedRemaining; // declared size not yet buffered, a hint only
+        private byte[] buffer;
+        private int length;
+        private String uploadId;
+        private String mimeType;
+
+        private ObjectUpload(String key, long expectedSize) {
+            this.key = key;
+            this.expectedRemaining = expectedSize;
+        }
+
+        void write(ByteBuffer chunk) throws IOException {
+            while (chunk.hasRemaining()) {
+                ensureCapacity(chunk.remaining());
+                int count = Math.min(chunk.remaining(), buffer.length - length);
+                chunk.get(buffer, length, count);
+                length += count;
+                expectedRemaining -= count;
+                if (length == partSize) {
+                    submitPart();
+                }
+            }
+        }
+
+        private void ensureCapacity(int incoming) {
+            if (buffer == null) {
+                long wanted = Math.max(expectedRemaining, incoming);
+                buffer = wanted >= partSize ? acquirePartBuffer() : new byte[(int) wanted];
+            } else if (length == buffer.length) {
+                // More input than declared, grow towards a full part
+                long wanted = Math.max((long) buffer.length * 2, (long) length + incoming);
+                buffer = wanted >= partSize ? Arrays.copyOf(buffer, partSize) : Arrays.copyOf(buffer, (int) wanted);
+            }
+        }
+
+        /**
+         * Finish the upload: single PUT when everything fit into one part, otherwise
+         * flush the last part and complete the multipart upload
+         */
+        void complete() throws IOException {
+            if (uploadId == null) {
+                byte[] data = buffer != null ? buffer : new byte[0];
+                mimeType = detectMimeType();
+                try {
+                    s3Client.putObject(PutObjectRequest.builder()
+                                    .bucket(bucketName)
+                                    .key(key)
+                                    .contentType(mimeType)
+                                    .contentLength((long) length)
+                                    .build(),
+                            requestBody(data, length, mimeType));
+                } finally {
+                    releasePartBuffer(buffer);
+                    buffer = null;
+                }
+                return;
+            }
+
+            if (length > 0) {
+                submitPart();
+            }
+            List<CompletedPart> completedParts = parts.stream().map(CompletableFuture::join).toList();
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+        }
+
+        /**
+         * Abort a started multipart upload so the uploaded parts are not kept (and billed) by the bucket
+         */
+        void abort() {
+            releasePartBuffer(buffer);
+            buffer = null;
+            if (uploadId == null) {
+                return;
+            }
+            // Let in-flight parts settle first, parts finishing after the abort would be kept
+            CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+                log.info("Multipart upload aborted: {} ({})", key, uploadId);
+            } catch (Exception e) {
+                log.error("Failed to abort multipart upload {} ({}): {}", key, uploadId, e.getMessage());
+            }
+        }
+
+        String mimeType() {
+            return mimeType;
+        }
+
+        int partCount() {
+            return parts.size();
+        }
+
+        private void submitPart() throws IOException {
+            if (partFailure.get() != null) {
+                throw new IOException("Part upload failed for " + key, partFailure.get());
+            }
+            if (uploadId == null) {
+                // The first part holds the leading bytes, enough for MIME detection
+                mimeType = detectMimeType();
+                uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(mimeType)
+                        .build()).uploadId();
+            }
+
+            try {
+                inFlightParts.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a part upload slot");
+            }
+
+            int partNumber = parts.size() + 1;
+            byte[] data = buffer;
+            int size = length;
+            parts.add(CompletableFuture
+                    .supplyAsync(() -> uploadPart(partNumber, data, size), partExecutor)
+                    .whenComplete((part, error) -> {
+                        releasePartBuffer(data);
+                        inFlightParts.release();
+                        if (error != null) {
+                            partFailure.compareAndSet(null, error);
+                        }
+                    }));
+
+            // The next buffer is allocated when more input arrives, none after the last part
+            buffer = null;
+            length = 0;
+        }
+
+        private CompletedPart uploadPart(int partNumber, byte[] data, int size) {
+            UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .partNumber(partNumber)
+                            .contentLength((long) size)
+                            .build(),
+                    requestBody(data, size, mimeType));
+            return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+        }
+
+        private String detectMimeType() {
+            if (buffer == null) {
+                return tika.detect(new byte[0]);
+            }
+            return tika.detect(Arrays.copyOf(buffer, Math.min(length, StreamingUploadPipeline.MIME_SNIFF_LIMIT)));
+        }
+    }
 }
@@ -1,18 +1,40 @@
 package com.wafipix.wafipix.modules.filemanagement.service.impl;
 
+import com.wafipix.wafipix.common.exception.BusinessException;
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
 import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
+import com.wafipix.wafipix.modules.filemanagement.entity.PendingUpload;
+import com.wafipix.wafipix.modules.filemanagement.event.FilesStoredEvent;
 import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileVariantRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.PendingUploadRepository;
 import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
 import com.wafipix.wafipix.modules.filemanagement.service.FileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of FileService
@@ -25,65 +47,200 @@ public class FileServiceImpl implements FileService {
 
     private final FileRepository fileRepository;
     private final FileStorageService fileStorageService;
+    private final FileStorageConfig fileStorageConfig;
+    private final PendingUploadRepository pendingUploadRepository;
+    private final FileVariantRepository fileVariantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    @Transactional
     public File uploadFile(MultipartFile file, String folderPath, String description) {
+        // Storage write happens before the (short) metadata transaction
+        StagedFile stagedFile = stageFile(file, folderPath);
         try {
-            // Upload file to storage (local or cloud)
-            FileStorageService.UploadResult uploadResult = fileStorageService.uploadFile(file, folderPath);
-            
-            // Create File entity
-            File fileEntity = File.builder()
-                    .fileName(uploadResult.getFileName())
-                    .originalFileName(file.getOriginalFilename())
-                    .filePath(uploadResult.getFilePath())
-                    .publicUrl(uploadResult.getPublicUrl())
-                    .mimeType(uploadResult.getMimeType())
-                    .fileSize(uploadResult.getFileSize())
-                    .fileExtension(uploadResult.getFileExtension())
-                    .folderPath(folderPath)
-                    .description(description)
-                    .isActive(true)
-                    .build();
-            
-            // Save to database
-            File savedFile = fileRepository.save(fileEntity);
+            File savedFile = transactionTemplate.execute(status -> commit(List.of(stagedFile), description).get(0));
             log.info("File uploaded and saved to database: {}", savedFile.getPublicUrl());
-            
             return savedFile;
-            
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
+            discardStagedFiles(List.of(stagedFile));
             log.error("Error uploading file: {}", e.getMessage());
             throw new RuntimeException("Failed to upload file", e);
         }
     }
 
     @Override
-    @Transactional
     public File uploadFile(MultipartFile file, String folderPath) {
         return uploadFile(file, folderPath, null);
     }
 
     @Override
-    @Transactional
     public List<File> uploadFiles(List<MultipartFile> files, String folderPath) {
-        List<File> uploadedFiles = new ArrayList<>();
+        BatchUploadResult result = uploadFileBatch(files.stream()
+                .map(file -> new FileUpload(file, folderPath))
+                .toList());
         
-        for (MultipartFile file : files) {
-            try {
-                File uploadedFile = uploadFile(file, folderPath);
-                uploadedFiles.add(uploadedFile);
-            } catch (Exception e) {
-                log.error("Error uploading file {}: {}", file.getOriginalFilename(), e.getMessage());
-                // Continue with other files even if one fails
-            }
-        }
+        // Continue with other files even if one fails
+        result.failures().forEach(item -> 
+                log.error("Error uploading file {}: {}", item.originalFileName(), item.error()));
         
+        List<File> uploadedFiles = result.uploadedFiles();
         log.info("Uploaded {} files out of {} requested", uploadedFiles.size(), files.size());
         return uploadedFiles;
     }
 
+    @Override
+    public BatchUploadResult uploadFileBatch(List<FileUpload> uploads) {
+        List<StagedFile> stagedFiles = stageFiles(uploads);
+        List<File> files;
+        try {
+            files = transactionTemplate.execute(status -> commitStagedFiles(stagedFiles));
+        } catch (RuntimeException e) {
+            discardStagedFiles(stagedFiles);
+            log.error("Error saving uploaded files to database: {}", e.getMessage());
+            throw e;
+        }
+        
+        List<BatchUploadResult.Item> items = new ArrayList<>(stagedFiles.size());
+        for (StagedFile stagedFile : stagedFiles) {
+            items.add(new BatchUploadResult.Item(stagedFile.index(), stagedFile.originalFileName(),
+                    files.get(stagedFile.index()), stagedFile.error()));
+        }
+        return new BatchUploadResult(items);
+    }
+
+    @Override
+    public StagedFile stageFile(MultipartFile file, String folderPath) {
+        StagedFile stagedFile = stageFiles(List.of(new FileUpload(file, folderPath))).get(0);
+        if (!stagedFile.isStaged()) {
+            throw new RuntimeException("Failed to upload file " + file.getOriginalFilename() + ": " + stagedFile.error());
+        }
+        return stagedFile;
+    }
+
+    @Override
+    public List<StagedFile> stageFiles(List<FileUpload> uploads) {
+        int count = uploads.size();
+        String[] errors = new String[count];
+        String[] contentHashes = new String[count];
+        UUID[] existingFileIds = new UUID[count];
+        int[] duplicateOf = new int[count];
+        Arrays.fill(duplicateOf, -1);
+        
+        // Write all files concurrently (total time is roughly the slowest upload), the single storage pass hashes them
+        FileStorageService.UploadResult[] uploadResults = new FileStorageService.UploadResult[count];
+        runConcurrently(IntStream.range(0, count).boxed().toList(), errors, index ->
+                uploadResults[index] = fileStorageService.uploadFile(uploads.get(index).file(), uploads.get(index).folderPath()));
+        for (int i = 0; i < count; i++) {
+            if (uploadResults[i] != null) {
+                contentHashes[i] = uploadResults[i].getContentHash();
+            }
+        }
+        
+        // Resolve already stored objects with one query, identical files inside the batch keep one object
+        Map<String, File> storedByKey = new HashMap<>();
+        List<String> hashes = Arrays.stream(contentHashes).filter(hash -> hash != null).distinct().toList();
+        if (!hashes.isEmpty()) {
+            for (File stored : fileRepository.findActiveByContentHashIn(hashes)) {
+                storedByKey.putIfAbsent(contentKey(stored.getContentHash(), stored.getFileSize()), stored);
+            }
+        }
+        Map<String, Integer> firstIndexByKey = new HashMap<>();
+        List<Integer> kept = new ArrayList<>();
+        List<String> redundantPaths = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (uploadResults[i] == null) {
+                continue;
+            }
+            if (contentHashes[i] == null) {
+                kept.add(i);
+                continue;
+            }
+            String key = contentKey(contentHashes[i], uploadResults[i].getFileSize());
+            File stored = storedByKey.get(key);
+            Integer firstIndex = stored == null ? firstIndexByKey.putIfAbsent(key, i) : null;
+            if (stored == null && firstIndex == null) {
+                kept.add(i);
+                continue;
+            }
+            
+            // Same content is already stored, the object just written is dropped
+            redundantPaths.add(uploadResults[i].getFilePath());
+            uploadResults[i] = null;
+            if (stored != null) {
+                existingFileIds[i] = stored.getId();
+            } else {
+                duplicateOf[i] = firstIndex;
+            }
+        }
+        if (!redundantPaths.isEmpty()) {
+            List<String> failed = fileStorageService.deleteFiles(redundantPaths);
+            if (!failed.isEmpty()) {
+                log.warn("Failed to delete {} duplicate objects, left for reconciliation: {}", failed.size(), failed);
+            }
+        }
+        
+        // Mark the new objects as pending so the sweeper can remove them if they are never committed
+        List<PendingUpload> pendingUploads = kept.stream()
+                .map(index -> PendingUpload.builder()
+                        .filePath(uploadResults[index].getFilePath())
+                        .publicUrl(uploadResults[index].getPublicUrl())
+                        .build())
+                .toList();
+        try {
+            pendingUploadRepository.saveAll(pendingUploads);
+        } catch (RuntimeException e) {
+            log.error("Error registering pending uploads: {}", e.getMessage());
+            pendingUploads.forEach(pending -> fileStorageService.deleteFile(pending.getFilePath()));
+            throw e;
+        }
+        
+        List<StagedFile> stagedFiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int source = duplicateOf[i] >= 0 ? duplicateOf[i] : i;
+            String error = errors[source] != null ? errors[source] 
+                    : existingFileIds[source] == null && uploadResults[source] == null ? "File was not stored" : null;
+            stagedFiles.add(new StagedFile(i, uploads.get(i).file().getOriginalFilename(), uploads.get(i).folderPath(),
+                    contentHashes[source], existingFileIds[source], uploadResults[source], error));
+        }
+        
+        log.info("Staged {} files: {} new objects, {} reused", count, pendingUploads.size(),
+                Arrays.stream(existingFileIds).filter(id -> id != null).count());
+        return stagedFiles;
+    }
+
+    @Override
+    @Transactional
+    public List<File> commitStagedFiles(List<StagedFile> stagedFiles) {
+        return commit(stagedFiles, null);
+    }
+
+    @Override
+    @Transactional
+    public File commitStagedFile(StagedFile stagedFile) {
+        return commit(List.of(stagedFile), null).get(0);
+    }
+
+    @Override
+    public void discardStagedFiles(List<StagedFile> stagedFiles) {
+        List<String> filePaths = stagedFiles.stream()
+                .filter(StagedFile::isNewObject)
+                .map(stagedFile -> stagedFile.uploadResult().getFilePath())
+                .distinct()
+                .toList();
+        if (filePaths.isEmpty()) {
+            return;
+        }
+        
+        filePaths.forEach(fileStorageService::deleteFile);
+        try {
+            pendingUploadRepository.deleteByFilePathIn(filePaths);
+        } catch (Exception e) {
+            // The sweeper clears the markers later
+            log.warn("Failed to clear pending upload markers: {}", e.getMessage());
+        }
+        log.info("Discarded {} staged files", filePaths.size());
+    }
+
     @Override
     @Transactional
     public boolean deleteFileByUrl(String publicUrl) {
@@ -96,7 +253,14 @@ public class FileServiceImpl implements FileService {
             
             File file = fileOptional.get();
             
+            // Other owners still use the stored object - only drop this reference
+            if (releaseSharedReference(file)) {
+                log.info("File reference released, stored object kept: {}", publicUrl);
+                return true;
+            }
+            
             // Delete from storage (local or cloud)
+            deleteVariantObjects(file);
             boolean deletedFromStorage = fileStorageService.deleteFile(file.getFilePath());
             if (!deletedFromStorage) {
                 log.warn("Failed to delete file from storage: {}", file.getFilePath());
@@ -114,6 +278,36 @@ public class FileServiceImpl implements FileService {
         }
     }
 
+    @Override
+    public Map<String, DeleteOutcome> deleteFilesByUrls(Collection<String> publicUrls) {
+        // Occurrences per URL, each one is a reference to release
+        Map<String, Integer> references = new LinkedHashMap<>();
+        for (String publicUrl : publicUrls) {
+            if (publicUrl != null && !publicUrl.isBlank()) {
+                references.merge(publicUrl, 1, Integer::sum);
+            }
+        }
+        Map<String, DeleteOutcome> outcomes = new LinkedHashMap<>();
+        if (references.isEmpty()) {
+            return outcomes;
+        }
+        
+        List<String> storagePaths = transactionTemplate.execute(status -> releaseReferences(references, outcomes));
+        
+        // Objects go only once the rows are gone for good, failures are left to storage reconciliation
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteStoredObjects(storagePaths);
+                }
+            });
+        } else {
+            deleteStoredObjects(storagePaths);
+        }
+        return outcomes;
+    }
+
     @Override
     @Transactional
     public boolean deleteFileByPath(String filePath) {
@@ -126,7 +320,14 @@ public class FileServiceImpl implements FileService {
             
             File file = fileOptional.get();
             
+            // Other owners still use the stored object - only drop this reference
+            if (releaseSharedReference(file)) {
+                log.info("File reference released, stored object kept: {}", filePath);
+                return true;
+            }
+            
             // Delete from storage (local or cloud)
+            deleteVariantObjects(file);
             boolean deletedFromStorage = fileStorageService.deleteFile(filePath);
             if (!deletedFromStorage) {
                 log.warn("Failed to delete file from storage: {}", filePath);
@@ -159,6 +360,16 @@ public class FileServiceImpl implements FileService {
         return fileRepository.findByFolderPathAndIsActiveTrue(folderPath);
     }
 
+    @Override
+    public Map<UUID, List<FileVariant>> findVariantsByFileIds(Collection<UUID> fileIds) {
+        if (fileIds.isEmpty()) {
+            return Map.of();
+        }
+        // The file reference is a proxy, reading its id does not load the file
+        return fileVariantRepository.findByFileIdIn(fileIds).stream()
+                .collect(Collectors.groupingBy(variant -> variant.getFile().getId()));
+    }
+
     @Override
     public boolean fileExistsByUrl(String publicUrl) {
         return fileRepository.existsByPublicUrl(publicUrl);
@@ -223,4 +434,175 @@ public class FileServiceImpl implements FileService {
             return false;
         }
     }
+
+    /**
+     * Insert metadata of new objects (one batch) and register references to reused ones
+     * @return File entities aligned with the staged files (null for failed ones)
+     */
+    private List<File> commit(List<StagedFile> stagedFiles, String description) {
+        File[] files = new File[stagedFiles.size()];
+        Map<String, File> newFilesByPath = new LinkedHashMap<>();
+        
+        for (int i = 0; i < stagedFiles.size(); i++) {
+            StagedFile stagedFile = stagedFiles.get(i);
+            if (!stagedFile.isStaged()) {
+                continue;
+            }
+            if (stagedFile.existingFileId() != null) {
+                // The reused file may have been deleted since staging
+                if (fileRepository.incrementReferenceCount(stagedFile.existingFileId()) == 0) {
+                    throw new BusinessException("File " + stagedFile.originalFileName() + " was removed during upload, please retry");
+                }
+                files[i] = fileRepository.findById(stagedFile.existingFileId()).orElseThrow();
+                continue;
+            }
+            
+            // Identical files of the same batch share one row
+            File file = newFilesByPath.get(stagedFile.uploadResult().getFilePath());
+            if (file == null) {
+                file = toFileEntity(stagedFile, description);
+                newFilesByPath.put(stagedFile.uploadResult().getFilePath(), file);
+            } else {
+                file.setReferenceCount(file.getReferenceCount() + 1);
+            }
+            files[i] = file;
+        }
+        
+        if (!newFilesByPath.isEmpty()) {
+            fileRepository.saveAll(List.copyOf(newFilesByPath.values()));
+            pendingUploadRepository.deleteByFilePathIn(newFilesByPath.keySet());
+            
+            // Resized renditions are rendered in the background once the transaction commits
+            List<UUID> imageIds = newFilesByPath.values().stream()
+                    .filter(file -> file.getFileType() == File.FileType.IMAGE)
+                    .map(File::getId)
+                    .toList();
+            if (!imageIds.isEmpty()) {
+                eventPublisher.publishEvent(new FilesStoredEvent(this, imageIds));
+            }
+        }
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Remove resized renditions from storage, their rows go with the file row
+     */
+    private void deleteVariantObjects(File file) {
+        for (FileVariant variant : file.getVariants()) {
+            if (!fileStorageService.deleteFile(variant.getFilePath())) {
+                log.warn("Failed to delete image variant from storage: {}", variant.getFilePath());
+            }
+        }
+    }
+
+    /**
+     * Drop the given number of references per URL, deleting the rows of files that lose their last owner
+     * @return Storage paths (originals and variants) of the deleted files
+     */
+    private List<String> releaseReferences(Map<String, Integer> references, Map<String, DeleteOutcome> outcomes) {
+        Map<String, File> filesByUrl = new HashMap<>();
+        for (File file : fileRepository.findForUpdateByPublicUrlIn(references.keySet())) {
+            filesByUrl.put(file.getPublicUrl(), file);
+        }
+        
+        Map<Integer, List<UUID>> sharedByCount = new HashMap<>();
+        List<File> deleted = new ArrayList<>();
+        references.forEach((publicUrl, count) -> {
+            File file = filesByUrl.get(publicUrl);
+            if (file == null) {
+                log.warn("File not found in database: {}", publicUrl);
+                outcomes.put(publicUrl, DeleteOutcome.NOT_FOUND);
+            } else if (file.getReferenceCount() > count) {
+                sharedByCount.computeIfAbsent(count, c -> new ArrayList<>()).add(file.getId());
+                outcomes.put(publicUrl, DeleteOutcome.RELEASED);
+            } else {
+                deleted.add(file);
+                outcomes.put(publicUrl, DeleteOutcome.DELETED);
+            }
+        });
+        
+        // Rows are locked, so the counts read above are still current
+        sharedByCount.forEach((count, ids) -> fileRepository.releaseReferences(ids, count));
+        
+        List<String> storagePaths = new ArrayList<>();
+        for (File file : deleted) {
+            file.getVariants().forEach(variant -> storagePaths.add(variant.getFilePath()));
+            storagePaths.add(file.getFilePath());
+        }
+        if (!deleted.isEmpty()) {
+            // Pending owner removals (e.g. gallery items) must reach the database before the bulk delete
+            fileRepository.flush();
+            fileRepository.deleteAllByIdInBatch(deleted.stream().map(File::getId).toList());
+        }
+        log.info("Released {} file URLs: {} deleted, {} shared", references.size(), deleted.size(),
+                sharedByCount.values().stream().mapToInt(List::size).sum());
+        return storagePaths;
+    }
+    
+    private void deleteStoredObjects(List<String> storagePaths) {
+        if (storagePaths.isEmpty()) {
+            return;
+        }
+        List<String> failed = fileStorageService.deleteFiles(storagePaths);
+        if (!failed.isEmpty()) {
+            log.warn("Failed to delete {} objects from storage, left for reconciliation: {}", failed.size(), failed);
+        }
+    }
+
+    /**
+     * Drop one reference to a shared stored object
+     * @return true if other references remain, false if the caller holds the last one
+     */
+    private boolean releaseSharedReference(File file) {
+        return fileRepository.decrementReferenceCountIfShared(file.getId()) > 0;
+    }
+
+    /**
+     * Run a task per index on virtual threads, at most batchUploadConcurrency at a time
+     * Failures are recorded per index instead of failing the whole batch
+     */
+    private void runConcurrently(List<Integer> indexes, String[] errors, IndexedTask task) {
+        Semaphore permits = new Semaphore(Math.max(fileStorageConfig.getStorage().getBatchUploadConcurrency(), 1));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int index : indexes) {
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        task.run(index);
+                    } catch (Exception e) {
+                        errors[index] = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private File toFileEntity(StagedFile stagedFile, String description) {
+        FileStorageService.UploadResult uploadResult = stagedFile.uploadResult();
+        return File.builder()
+                .fileName(uploadResult.getFileName())
+                .originalFileName(stagedFile.originalFileName())
+                .filePath(uploadResult.getFilePath())
+                .publicUrl(uploadResult.getPublicUrl())
+                .mimeType(uploadResult.getMimeType())
+                .fileSize(uploadResult.getFileSize())
+                .fileExtension(uploadResult.getFileExtension())
+                .folderPath(stagedFile.folderPath())
+                .description(description)
+                .contentHash(uploadResult.getContentHash() != null ? uploadResult.getContentHash() : stagedFile.contentHash())
+                .referenceCount(1)
+                .isActive(true)
+                .build();
+    }
+
+    private static String contentKey(String contentHash, long fileSize) {
+        return contentHash + ":" + fileSize;
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index) throws Exception;
+    }
 }
@@ -0,0 +1,243 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
+import com.wafipix.wafipix.modules.filemanagement.event.FileVariantsGeneratedEvent;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileVariantRepository;
+import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
+import com.wafipix.wafipix.modules.filemanagement.service.ImageDerivativeService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageDerivativeServiceImpl implements ImageDerivativeService {
+
+    private static final Set<String> SOURCE_MIME_TYPES = Set.of("image/jpeg", "image/png", "image/webp", "image/bmp");
+    private static final String VARIANT_FOLDER = "variants";
+    // Formats without an alpha channel, transparent sources get PNG variants instead
+    private static final Set<String> OPAQUE_FORMATS = Set.of("jpeg", "jpg", "bmp", "wbmp");
+    private static final String ALPHA_FORMAT = "png";
+
+    private final FileRepository fileRepository;
+    private final FileVariantRepository fileVariantRepository;
+    private final FileStorageService fileStorageService;
+    private final FileStorageConfig fileStorageConfig;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Fail at startup for a configured format without an ImageIO writer, rather than silently never producing it
+     */
+    @PostConstruct
+    void checkWriters() {
+        FileStorageConfig.Derivatives config = fileStorageConfig.getStorage().getDerivatives();
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (String format : config.getFormats()) {
+            if (!ImageIO.getImageWritersByFormatName(format).hasNext()) {
+                throw new IllegalStateException("No ImageIO writer for image derivative format '" + format + "'");
+            }
+        }
+    }
+
+    @Override
+    public boolean supports(File file) {
+        return file != null && file.getMimeType() != null && SOURCE_MIME_TYPES.contains(file.getMimeType().toLowerCase());
+    }
+
+    @Override
+    public List<FileVariant> generateDerivatives(UUID fileId) {
+        FileStorageConfig.Derivatives config = fileStorageConfig.getStorage().getDerivatives();
+        if (!config.isEnabled()) {
+            return List.of();
+        }
+        
+        File file = fileRepository.findById(fileId).orElse(null);
+        if (!supports(file) || fileVariantRepository.existsByFileId(fileId)) {
+            return List.of();
+        }
+        
+        BufferedImage source;
+        try (InputStream in = fileStorageService.openFile(file.getFilePath())) {
+            source = ImageIO.read(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read image " + file.getFilePath(), e);
+        }
+        if (source == null) {
+            log.warn("No image reader for {} ({}), skipping derivatives", file.getFilePath(), file.getMimeType());
+            return List.of();
+        }
+        
+        boolean transparent = hasTransparency(source);
+        List<FileVariant> variants = new ArrayList<>();
+        try {
+            for (int width : config.getWidths().stream().distinct().sorted().toList()) {
+                // Never upscale
+                if (width >= source.getWidth()) {
+                    continue;
+                }
+                int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+                BufferedImage resized = resize(source, width, height);
+                
+                Set<String> written = new HashSet<>();
+                for (String format : config.getFormats()) {
+                    if (transparent && OPAQUE_FORMATS.contains(format.toLowerCase())) {
+                        format = ALPHA_FORMAT;
+                    }
+                    if (!written.add(format.toLowerCase())) {
+                        continue;
+                    }
+                    variants.add(storeVariant(file, resized, writerFor(format), config.getQuality()));
+                }
+            }
+            
+            List<FileVariant> savedVariants = fileVariantRepository.saveAll(variants);
+            log.info("Generated {} image derivatives for file: {}", savedVariants.size(), file.getFilePath());
+            if (!savedVariants.isEmpty()) {
+                eventPublisher.publishEvent(new FileVariantsGeneratedEvent(this, fileId));
+            }
+            return savedVariants;
+            
+        } catch (RuntimeException e) {
+            // Original removed meanwhile or storage failure - don't leave renditions behind
+            variants.forEach(variant -> fileStorageService.deleteFile(variant.getFilePath()));
+            throw e;
+        }
+    }
+
+    private FileVariant storeVariant(File file, BufferedImage image, ImageWriter writer, float quality) {
+        String mimeType = writer.getOriginatingProvider().getMIMETypes()[0];
+        String extension = writer.getOriginatingProvider().getFileSuffixes()[0];
+        byte[] encoded = encode(image, writer, quality);
+        
+        String baseName = file.getFileName().contains(".")
+                ? file.getFileName().substring(0, file.getFileName().lastIndexOf('.'))
+                : file.getFileName();
+        FileStorageService.UploadResult uploaded = fileStorageService.uploadFile(
+                new EncodedImageFile(baseName + "-" + image.getWidth() + "w." + extension, mimeType, encoded),
+                file.getFolderPath() + "/" + VARIANT_FOLDER);
+        
+        return FileVariant.builder()
+                .file(file)
+                .width(image.getWidth())
+                .height(image.getHeight())
+                .mimeType(mimeType)
+                .filePath(uploaded.getFilePath())
+                .publicUrl(uploaded.getPublicUrl())
+                .fileSize(uploaded.getFileSize())
+                .build();
+    }
+
+    /**
+     * Downscale in halving steps so bilinear filtering stays sharp for large reductions
+     */
+    static BufferedImage resize(BufferedImage source, int width, int height) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+        
+        return current;
+    }
+
+    /**
+     * Whether any pixel is not fully opaque, many PNGs carry an alpha channel they never use
+     */
+    static boolean hasTransparency(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return false;
+        }
+        int[] row = new int[image.getWidth()];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, image.getWidth(), 1, row, 0, image.getWidth());
+            for (int argb : row) {
+                if (argb >>> 24 != 0xFF) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] encode(BufferedImage image, ImageWriter writer, float quality) {
+        BufferedImage output = image;
+        if (image.getColorModel().hasAlpha() && "image/jpeg".equals(writer.getOriginatingProvider().getMIMETypes()[0])) {
+            // Only opaque images are written as JPEG, drop their unused alpha channel
+            output = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = output.createGraphics();
+            try {
+                graphics.drawImage(image, 0, 0, null);
+            } finally {
+                graphics.dispose();
+            }
+        }
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null && param.getCompressionTypes() != null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(output, null, null), param);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode image variant", e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // Checked at startup, a writer is only missing here if a plugin was deregistered since
+    private static ImageWriter writerFor(String format) {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IllegalStateException("No ImageIO writer for image derivative format '" + format + "'");
+        }
+        return writers.next();
+    }
+}
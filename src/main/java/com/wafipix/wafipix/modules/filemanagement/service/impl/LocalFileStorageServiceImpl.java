@@ -7,10 +7,38 @@ import org.apache.tika.Tika;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Local file system storage implementation
@@ -19,16 +47,25 @@ import java.util.UUID;
 @Slf4j
 public class LocalFileStorageServiceImpl implements FileStorageService {
     
+    static final String TEMP_FILE_PREFIX = ".upload-";
+    static final String TEMP_FILE_SUFFIX = ".part";
+    // Temp files are created owner-only, stored files get the usual rw-r--r-- so the web server can serve them
+    static final Set<PosixFilePermission> STORED_FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-r--r--");
+    private static final int DELETE_CONCURRENCY = 8;
+    
     private final FileStorageConfig.Local config;
+    private final int uploadBufferSize;
     private final Tika tika = new Tika();
     
     public LocalFileStorageServiceImpl(FileStorageConfig config) {
         this.config = config.getStorage().getLocal();
+        this.uploadBufferSize = (int) config.getStorage().getUploadBufferSize().toBytes();
         createBaseDirectory();
     }
     
     @Override
     public UploadResult uploadFile(MultipartFile file, String folderPath) {
+        Path tempPath = null;
         try {
             // Create directory structure
             Path targetDir = Paths.get(config.getBasePath(), folderPath);
@@ -38,26 +75,52 @@ public class LocalFileStorageServiceImpl implements FileStorageService {
             String fileName = generateUniqueFileName(file.getOriginalFilename());
             Path filePath = targetDir.resolve(fileName);
             
-            // Save file to local filesystem
-            Files.copy(file.getInputStream(), filePath);
+            // Stream into a temp file next to the target so the final rename stays on one filesystem
+            tempPath = Files.createTempFile(targetDir, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+            StreamingUploadPipeline.Result result;
+            try (FileChannel out = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                result = StreamingUploadPipeline.pump(file.getInputStream(), uploadBufferSize, chunk -> {
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                });
+            }
+            if (tempPath.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(tempPath, STORED_FILE_PERMISSIONS);
+            }
+            moveIntoPlace(tempPath, filePath);
+            tempPath = null;
             
             // Generate public URL
             String publicUrl = config.getPublicUrl() + "/" + folderPath + "/" + fileName;
             
-            log.info("File uploaded successfully to local storage: {}", filePath);
+            log.info("File uploaded successfully to local storage: {} ({} bytes)", filePath, result.bytesRead());
             
             return new UploadResult(
                 fileName,
                 folderPath + "/" + fileName,
                 publicUrl,
-                tika.detect(file.getInputStream()),
-                file.getSize(),
-                getFileExtension(file.getOriginalFilename())
+                tika.detect(result.sniffBytes()),
+                result.bytesRead(),
+                getFileExtension(file.getOriginalFilename()),
+                result.contentHash()
             );
             
         } catch (IOException e) {
             log.error("Error uploading file to local storage: {}", e.getMessage());
             throw new RuntimeException("Failed to upload file", e);
+        } finally {
+            deleteTempFile(tempPath);
+        }
+    }
+    
+    @Override
+    public InputStream openFile(String filePath) {
+        try {
+            return Files.newInputStream(Paths.get(config.getBasePath(), filePath));
+        } catch (IOException e) {
+            log.error("Error opening file from local storage: {}", e.getMessage());
+            throw new RuntimeException("Failed to open file " + filePath, e);
         }
     }
     
@@ -80,6 +143,30 @@ public class LocalFileStorageServiceImpl implements FileStorageService {
         }
     }
     
+    @Override
+    public List<String> deleteFiles(Collection<String> filePaths) {
+        Queue<String> failed = new ConcurrentLinkedQueue<>();
+        Semaphore permits = new Semaphore(DELETE_CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String filePath : filePaths) {
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        // Already absent counts as deleted
+                        Files.deleteIfExists(Paths.get(config.getBasePath(), filePath));
+                    } catch (IOException e) {
+                        log.error("Error deleting file from local storage {}: {}", filePath, e.getMessage());
+                        failed.add(filePath);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        log.info("Files deleted from local storage: {} of {}", filePaths.size() - failed.size(), filePaths.size());
+        return List.copyOf(failed);
+    }
+    
     @Override
     public boolean fileExists(String filePath) {
         Path path = Paths.get(config.getBasePath(), filePath);
@@ -91,6 +178,137 @@ public class LocalFileStorageServiceImpl implements FileStorageService {
         return config.getPublicUrl() + "/" + filePath;
     }
     
+    @Override
+    public Stream<StoredObject> listFiles() {
+        Iterator<StoredObject> iterator = new SortedTreeIterator(Paths.get(config.getBasePath()));
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    @Override
+    public boolean moveFile(String sourcePath, String targetPath) {
+        try {
+            Path target = Paths.get(config.getBasePath(), targetPath);
+            Files.createDirectories(target.getParent());
+            Files.move(Paths.get(config.getBasePath(), sourcePath), target, StandardCopyOption.REPLACE_EXISTING);
+            log.info("File moved successfully in local storage: {} -> {}", sourcePath, targetPath);
+            return true;
+        } catch (IOException e) {
+            log.error("Error moving file {} to {} in local storage: {}", sourcePath, targetPath, e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Publish the fully written temp file under its final name
+     */
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("Atomic move not supported for {}, falling back to regular move", target);
+            Files.move(source, target);
+        }
+    }
+    
+    /**
+     * Remove a leftover temp file after a failed upload
+     */
+    private void deleteTempFile(Path tempPath) {
+        if (tempPath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempPath);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp upload file {}: {}", tempPath, e.getMessage());
+        }
+    }
+    
+    /**
+     * Depth-first walk listing every directory sorted, so keys come out in the same order as an object store listing
+     * (a directory sorts as "name/"). Sorting needs a directory's whole listing, so the names of every open directory
+     * along the current branch are held in memory: the size of the largest upload folder, not of the whole tree.
+     */
+    private static final class SortedTreeIterator implements Iterator<StoredObject> {
+        
+        private final Path basePath;
+        private final Deque<Level> branch = new ArrayDeque<>();
+        private StoredObject next;
+        
+        SortedTreeIterator(Path basePath) {
+            this.basePath = basePath;
+            branch.push(children(basePath));
+        }
+        
+        @Override
+        public boolean hasNext() {
+            while (next == null && !branch.isEmpty()) {
+                Level level = branch.peek();
+                if (!level.entries().hasNext()) {
+                    branch.pop();
+                    continue;
+                }
+                Entry entry = level.entries().next();
+                Path path = level.directory().resolve(entry.name());
+                if (entry.directory()) {
+                    branch.push(children(path));
+                } else {
+                    next = toStoredObject(path);
+                }
+            }
+            return next != null;
+        }
+        
+        @Override
+        public StoredObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            StoredObject current = next;
+            next = null;
+            return current;
+        }
+        
+        // Names only, a Path per entry would multiply the footprint of large folders
+        private Level children(Path directory) {
+            try (Stream<Path> paths = Files.list(directory)) {
+                return new Level(directory, paths
+                        .map(path -> new Entry(path.getFileName().toString(), Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)))
+                        .sorted(Comparator.comparing(Entry::sortKey))
+                        .toList()
+                        .iterator());
+            } catch (IOException e) {
+                log.warn("Failed to list directory {}: {}", directory, e.getMessage());
+                return new Level(directory, Collections.emptyIterator());
+            }
+        }
+        
+        private StoredObject toStoredObject(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                if (!attributes.isRegularFile()) {
+                    return null;
+                }
+                StringJoiner key = new StringJoiner("/");
+                basePath.relativize(path).forEach(segment -> key.add(segment.toString()));
+                return new StoredObject(key.toString(), attributes.size(), attributes.lastModifiedTime().toInstant());
+            } catch (IOException e) {
+                // Removed while listing
+                return null;
+            }
+        }
+        
+        private record Level(Path directory, Iterator<Entry> entries) {
+        }
+        
+        private record Entry(String name, boolean directory) {
+            String sortKey() {
+                return directory ? name + "/" : name;
+            }
+        }
+    }
+    
     /**
      * Create base directory if it doesn't exist
      */
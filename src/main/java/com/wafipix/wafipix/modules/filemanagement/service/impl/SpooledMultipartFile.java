@@ -0,0 +1,112 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
+
+/**
+ * Multipart file copied off the request so it outlives the request's temp files
+ * Reports the bytes read from every opened stream to a progress listener
+ */
+final class SpooledMultipartFile implements MultipartFile {
+
+    private final Path path;
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+    private final LongConsumer progressListener;
+
+    private SpooledMultipartFile(Path path, MultipartFile source, LongConsumer progressListener) {
+        this.path = path;
+        this.name = source.getName();
+        this.originalFilename = source.getOriginalFilename();
+        this.contentType = source.getContentType();
+        this.size = source.getSize();
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Move the request content into a temp file (a rename when the container already spooled it to disk)
+     */
+    static SpooledMultipartFile spool(MultipartFile source, LongConsumer progressListener) throws IOException {
+        Path path = Files.createTempFile("upload-job-", ".part");
+        try {
+            source.transferTo(path.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return new SpooledMultipartFile(path, source, progressListener);
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new FilterInputStream(Files.newInputStream(path)) {
+            private long bytesRead;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1) {
+                    progressListener.accept(++bytesRead);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int count = super.read(b, off, len);
+                if (count > 0) {
+                    bytesRead += count;
+                    progressListener.accept(bytesRead);
+                }
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public void transferTo(java.io.File dest) throws IOException {
+        Files.copy(path, dest.toPath());
+    }
+}
@@ -0,0 +1,248 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import com.wafipix.wafipix.common.exception.BusinessException;
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
+import com.wafipix.wafipix.modules.filemanagement.entity.QuarantinedObject;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileVariantRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.PendingUploadRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.QuarantinedObjectRepository;
+import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
+import com.wafipix.wafipix.modules.filemanagement.service.StorageReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of StorageReconciliationService
+ * Merges the storage listing with the storage keys of each metadata table, all in ascending byte order, the
+ * keys being read in keyset pages. Every key is read once and memory stays bounded by the batch size
+ * regardless of the number of objects.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StorageReconciliationServiceImpl implements StorageReconciliationService {
+
+    static final String QUARANTINE_FOLDER = ".quarantine";
+
+    private final FileRepository fileRepository;
+    private final FileVariantRepository fileVariantRepository;
+    private final PendingUploadRepository pendingUploadRepository;
+    private final QuarantinedObjectRepository quarantinedObjectRepository;
+    private final FileStorageService fileStorageService;
+    private final FileStorageConfig fileStorageConfig;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Boolean postgres;
+
+    @Override
+    public Report reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("Storage reconciliation is already running", HttpStatus.CONFLICT);
+        }
+        try {
+            FileStorageConfig.Reconciliation config = fileStorageConfig.getStorage().getReconciliation();
+            Counters counters = new Counters();
+
+            // Purge first so objects quarantined in this run get their full retention
+            purgeExpiredQuarantine(LocalDateTime.now().minus(config.getQuarantineRetention()), counters);
+            // Released rows leave their objects (and variant objects) to the storage scan below
+            releaseUnreferencedFiles(LocalDateTime.now().minus(config.getOrphanGrace()), config.getBatchSize(), counters);
+            quarantineOrphans(Instant.now().minus(config.getOrphanGrace()), config.getBatchSize(), counters);
+
+            Report report = counters.toReport();
+            log.info("Storage reconciliation finished: {}", report);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Delete quarantined objects whose retention expired
+     */
+    private void purgeExpiredQuarantine(LocalDateTime cutoff, Counters counters) {
+        List<QuarantinedObject> batch;
+        do {
+            batch = quarantinedObjectRepository.findTop500ByCreatedAtBeforeOrderByCreatedAtAsc(cutoff);
+            List<QuarantinedObject> purged = new ArrayList<>(batch.size());
+            for (QuarantinedObject quarantined : batch) {
+                if (fileStorageService.deleteFile(quarantined.getQuarantinePath())) {
+                    counters.objectsPurged++;
+                    counters.bytesReclaimed += quarantined.getFileSize();
+                    purged.add(quarantined);
+                } else if (!fileStorageService.fileExists(quarantined.getQuarantinePath())) {
+                    // Removed by hand, nothing left to reclaim
+                    purged.add(quarantined);
+                }
+            }
+            if (purged.isEmpty()) {
+                // Storage refuses deletes, retry on the next run
+                break;
+            }
+            quarantinedObjectRepository.deleteAllInBatch(purged);
+        } while (batch.size() == 500);
+    }
+
+    /**
+     * Delete file rows no owning entity points at anymore
+     */
+    private void releaseUnreferencedFiles(LocalDateTime cutoff, int batchSize, Counters counters) {
+        List<UUID> ids;
+        do {
+            ids = fileRepository.findUnreferencedIdsCreatedBefore(cutoff, Pageable.ofSize(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int released = fileRepository.deleteUnreferencedByIdIn(ids);
+            if (released == 0) {
+                break;
+            }
+            counters.unreferencedFilesReleased += released;
+        } while (ids.size() == batchSize);
+    }
+
+    /**
+     * Move objects without metadata that are older than the grace period into quarantine
+     */
+    private void quarantineOrphans(Instant cutoff, int batchSize, Counters counters) {
+        String quarantinePrefix = QUARANTINE_FOLDER + "/" + LocalDate.now() + "/";
+        List<KnownKeys> knownKeys = List.of(
+                knownKeys(fileRepository::findFilePathsAfterInByteOrder, fileRepository::findFilePathsAfter, batchSize),
+                knownKeys(fileVariantRepository::findFilePathsAfterInByteOrder, fileVariantRepository::findFilePathsAfter, batchSize),
+                knownKeys(pendingUploadRepository::findFilePathsAfterInByteOrder, pendingUploadRepository::findFilePathsAfter, batchSize));
+        List<QuarantinedObject> quarantined = new ArrayList<>(batchSize);
+
+        try (Stream<FileStorageService.StoredObject> objects = fileStorageService.listFiles()) {
+            Iterator<FileStorageService.StoredObject> iterator = objects.iterator();
+            while (iterator.hasNext()) {
+                FileStorageService.StoredObject object = iterator.next();
+                // Temp files, quarantine and other dot entries are never tracked in metadata
+                if (isInternal(object.filePath())) {
+                    continue;
+                }
+                counters.objectsScanned++;
+                // Recent objects may belong to an upload whose metadata is not committed yet
+                if (object.lastModified().isAfter(cutoff)
+                        || knownKeys.stream().anyMatch(keys -> keys.contains(object.filePath()))) {
+                    continue;
+                }
+                String quarantinePath = quarantinePrefix + object.filePath();
+                if (fileStorageService.moveFile(object.filePath(), quarantinePath)) {
+                    quarantined.add(QuarantinedObject.builder()
+                            .originalPath(object.filePath())
+                            .quarantinePath(quarantinePath)
+                            .fileSize(object.fileSize())
+                            .build());
+                    counters.orphansQuarantined++;
+                    counters.bytesQuarantined += object.fileSize();
+                }
+                if (quarantined.size() == batchSize) {
+                    quarantinedObjectRepository.saveAll(quarantined);
+                    quarantined.clear();
+                }
+            }
+        }
+        if (!quarantined.isEmpty()) {
+            quarantinedObjectRepository.saveAll(quarantined);
+        }
+    }
+
+    private KnownKeys knownKeys(BiFunction<String, Integer, List<String>> byteOrderPage,
+                                BiFunction<String, Pageable, List<String>> page, int batchSize) {
+        if (isPostgres()) {
+            return new KnownKeys(after -> byteOrderPage.apply(after, batchSize), batchSize);
+        }
+        return new KnownKeys(after -> page.apply(after, Pageable.ofSize(batchSize)), batchSize);
+    }
+
+    private boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            current = "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+            postgres = current;
+        }
+        return current;
+    }
+
+    private static boolean isInternal(String filePath) {
+        for (String segment : filePath.split("/")) {
+            if (segment.startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ascending cursor over the storage keys of one metadata table, read one keyset page at a time
+     * Keys are compared by String order, the byte order of the queries and the storage listing for every character
+     * outside the supplementary planes
+     */
+    static final class KnownKeys {
+
+        private final Function<String, List<String>> pageAfter;
+        private final int pageSize;
+        private List<String> page = List.of();
+        private int position;
+        private boolean exhausted;
+
+        KnownKeys(Function<String, List<String>> pageAfter, int pageSize) {
+            this.pageAfter = pageAfter;
+            this.pageSize = pageSize;
+        }
+
+        /**
+         * Whether the table holds the key, keys must be asked for in ascending order
+         */
+        boolean contains(String key) {
+            while (true) {
+                for (; position < page.size(); position++) {
+                    int order = page.get(position).compareTo(key);
+                    if (order >= 0) {
+                        return order == 0;
+                    }
+                }
+                if (exhausted) {
+                    return false;
+                }
+                page = pageAfter.apply(page.isEmpty() ? "" : page.get(page.size() - 1));
+                position = 0;
+                exhausted = page.size() < pageSize;
+            }
+        }
+    }
+
+    private static final class Counters {
+        long objectsScanned;
+        long unreferencedFilesReleased;
+        long orphansQuarantined;
+        long bytesQuarantined;
+        long objectsPurged;
+        long bytesReclaimed;
+
+        Report toReport() {
+            return new Report(objectsScanned, unreferencedFilesReleased, orphansQuarantined,
+                    bytesQuarantined, objectsPurged, bytesReclaimed);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-pass upload pipeline
+ * Reads the incoming stream exactly once through a direct buffer and, for every chunk,
+ * updates a running SHA-256, captures a bounded prefix for MIME sniffing and hands
+ * the chunk to the storage sink
+ */
+final class StreamingUploadPipeline {
+
+    /**
+     * Bytes kept for MIME type detection (Tika only inspects the leading magic bytes)
+     */
+    static final int MIME_SNIFF_LIMIT = 64 * 1024;
+
+    /**
+     * Direct buffers kept for reuse per size, they are only released by GC otherwise
+     * Batch uploads run on virtual threads, so a per-thread buffer would not be reused
+     */
+    static final int MAX_POOLED_BUFFERS = 8;
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Map<Integer, BufferPool> BUFFER_POOLS = new ConcurrentHashMap<>();
+
+    private StreamingUploadPipeline() {
+    }
+
+    /**
+     * Destination of the streamed chunks
+     * Implementations must consume the buffer completely before returning
+     */
+    @FunctionalInterface
+    interface ChunkSink {
+        void write(ByteBuffer chunk) throws IOException;
+    }
+
+    /**
+     * Outcome of a single pass over the upload stream
+     */
+    record Result(long bytesRead, String contentHash, byte[] sniffBytes) {
+    }
+
+    /**
+     * Stream the input into the sink, closing the input when done
+     * @param in Upload stream (read exactly once)
+     * @param bufferSize Size of the direct transfer buffer
+     * @param sink Receiver of every filled chunk
+     * @return Total bytes, SHA-256 hex digest and the MIME sniff prefix
+     */
+    static Result pump(InputStream in, int bufferSize, ChunkSink sink) throws IOException {
+        BufferPool pool = BUFFER_POOLS.computeIfAbsent(bufferSize, BufferPool::new);
+        ByteBuffer buffer = pool.acquire();
+        try {
+            return pump(in, buffer, sink);
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    private static Result pump(InputStream in, ByteBuffer buffer, ChunkSink sink) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] sniff = new byte[MIME_SNIFF_LIMIT];
+        int sniffLength = 0;
+        long total = 0;
+
+        try (ReadableByteChannel channel = openChannel(in)) {
+            boolean eof = false;
+            while (!eof) {
+                // Fill the whole buffer so the sink always receives large writes
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) == -1) {
+                        eof = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+                if (!buffer.hasRemaining()) {
+                    continue;
+                }
+
+                if (sniffLength < MIME_SNIFF_LIMIT) {
+                    int length = Math.min(MIME_SNIFF_LIMIT - sniffLength, buffer.remaining());
+                    buffer.duplicate().get(sniff, sniffLength, length);
+                    sniffLength += length;
+                }
+
+                total += buffer.remaining();
+                digest.update(buffer.duplicate());
+                sink.write(buffer);
+            }
+        }
+
+        return new Result(total, HEX.formatHex(digest.digest()), Arrays.copyOf(sniff, sniffLength));
+    }
+
+    /**
+     * Use the file channel directly when the multipart content is already spooled to disk
+     */
+    private static ReadableByteChannel openChannel(InputStream in) {
+        if (in instanceof FileInputStream fileInputStream) {
+            return fileInputStream.getChannel();
+        }
+        return Channels.newChannel(in);
+    }
+
+    /**
+     * Bounded pool of equally sized direct buffers, allocates past the bound and drops the surplus on release
+     */
+    private static final class BufferPool {
+        private final int bufferSize;
+        private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pooled = new AtomicInteger();
+
+        BufferPool(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        ByteBuffer acquire() {
+            ByteBuffer buffer = buffers.poll();
+            if (buffer == null) {
+                return ByteBuffer.allocateDirect(bufferSize);
+            }
+            pooled.decrementAndGet();
+            return buffer;
+        }
+
+        void release(ByteBuffer buffer) {
+            if (pooled.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+                buffer.clear();
+                buffers.offer(buffer);
+            } else {
+                pooled.decrementAndGet();
+            }
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import com.wafipix.wafipix.common.exception.BusinessException;
+import com.wafipix.wafipix.common.exception.ResourceNotFoundException;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.service.FileService;
+import com.wafipix.wafipix.modules.filemanagement.service.UploadJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+@Service
+@Slf4j
+public class UploadJobServiceImpl implements UploadJobService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+    private static final long SSE_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+
+    private final FileService fileService;
+    private final TaskExecutor uploadJobExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<UUID, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public UploadJobServiceImpl(FileService fileService,
+                                @Qualifier("uploadJobExecutor") TaskExecutor uploadJobExecutor,
+                                PlatformTransactionManager transactionManager) {
+        this.fileService = fileService;
+        this.uploadJobExecutor = uploadJobExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public UploadJobResponse submit(String jobType, List<JobFile> files, Function<Map<String, File>, UUID> onComplete) {
+        long bytesTotal = files.stream().mapToLong(file -> file.file().getSize()).sum();
+        UploadJob job = new UploadJob(jobType, bytesTotal);
+
+        // Request temp files are removed when the request ends, keep our own copy for the job
+        List<SpooledMultipartFile> spooledFiles = new ArrayList<>();
+        try {
+            for (JobFile file : files) {
+                spooledFiles.add(SpooledMultipartFile.spool(file.file(), job::onProgress));
+            }
+        } catch (IOException e) {
+            deleteSpooledFiles(spooledFiles);
+            log.error("Failed to spool files for {} upload job: {}", jobType, e.getMessage());
+            throw new BusinessException("Failed to accept upload: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+
+        jobs.put(job.id, job);
+        try {
+            // Keep the admin's security context so auditing records the right user
+            uploadJobExecutor.execute(new DelegatingSecurityContextRunnable(
+                    () -> runJob(job, files, spooledFiles, onComplete)));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            deleteSpooledFiles(spooledFiles);
+            log.warn("Upload job queue is full, rejecting {} upload job", jobType);
+            throw new BusinessException("Too many uploads in progress, please try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        log.info("Upload job {} queued: type={}, files={}, bytes={}", job.id, jobType, files.size(), bytesTotal);
+        return job.toResponse();
+    }
+
+    @Override
+    public UploadJobResponse getJob(UUID jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID jobId) {
+        UploadJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        job.addEmitter(emitter);
+        return emitter;
+    }
+
+    private void runJob(UploadJob job, List<JobFile> files, List<SpooledMultipartFile> spooledFiles,
+                        Function<Map<String, File>, UUID> onComplete) {
+        job.start();
+        List<FileService.StagedFile> stagedFiles = new ArrayList<>();
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                SpooledMultipartFile spooledFile = spooledFiles.get(i);
+                job.beginFile(spooledFile.getSize());
+                stagedFiles.add(fileService.stageFile(spooledFile, files.get(i).folderPath()));
+            }
+
+            // File metadata and the owning entity are saved in one short transaction
+            UUID resourceId = transactionTemplate.execute(status -> {
+                List<File> committed = fileService.commitStagedFiles(stagedFiles);
+                Map<String, File> storedFiles = new LinkedHashMap<>();
+                for (int i = 0; i < files.size(); i++) {
+                    storedFiles.put(files.get(i).slot(), committed.get(i));
+                }
+                return onComplete.apply(storedFiles);
+            });
+            job.complete(resourceId);
+            log.info("Upload job {} completed: type={}, resourceId={}", job.id, job.jobType, resourceId);
+
+        } catch (Exception e) {
+            log.error("Upload job {} failed: {}", job.id, e.getMessage());
+            discardStagedFiles(stagedFiles);
+            job.fail(e.getMessage());
+        } finally {
+            deleteSpooledFiles(spooledFiles);
+        }
+    }
+
+    private UploadJob findJob(UUID jobId) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Upload job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Forget jobs that finished more than the retention ago, whether or not new uploads arrive
+     */
+    @Scheduled(fixedDelayString = "${file.storage.upload-job-sweep-interval:PT10M}",
+               initialDelayString = "${file.storage.upload-job-sweep-interval:PT10M}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_JOB_RETENTION);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+        log.debug("Evicted {} finished upload jobs", Math.max(0, before - jobs.size()));
+    }
+
+    private void discardStagedFiles(List<FileService.StagedFile> stagedFiles) {
+        try {
+            fileService.discardStagedFiles(stagedFiles);
+        } catch (Exception e) {
+            log.error("Error discarding files of failed upload job: {}", e.getMessage());
+        }
+    }
+
+    private void deleteSpooledFiles(List<SpooledMultipartFile> spooledFiles) {
+        for (SpooledMultipartFile spooledFile : spooledFiles) {
+            try {
+                spooledFile.delete();
+            } catch (IOException e) {
+                log.warn("Failed to delete spooled upload file: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Mutable state of one upload job, pushed to SSE subscribers on every change
+     * Staging reads each file once in its storage write; progress follows the furthest read of the current file,
+     * so a storage backend reading a file again never moves it back
+     */
+    private static final class UploadJob {
+
+        private final UUID id = UUID.randomUUID();
+        private final String jobType;
+        private final long bytesTotal;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private UploadJobResponse.Status status = UploadJobResponse.Status.QUEUED;
+        private long bytesOfFinishedFiles;
+        private long currentFileSize;
+        private long currentFileBytes;
+        private int progressPercent;
+        private UUID resourceId;
+        private String error;
+        private LocalDateTime completedAt;
+
+        private UploadJob(String jobType, long bytesTotal) {
+            this.jobType = jobType;
+            this.bytesTotal = bytesTotal;
+        }
+
+        synchronized UploadJobResponse toResponse() {
+            return new UploadJobResponse(id, jobType, status, bytesTotal, bytesOfFinishedFiles + currentFileBytes,
+                    progressPercent, resourceId, error, createdAt, completedAt);
+        }
+
+        void start() {
+            synchronized (this) {
+                status = UploadJobResponse.Status.RUNNING;
+            }
+            publish("progress");
+        }
+
+        synchronized void beginFile(long fileSize) {
+            bytesOfFinishedFiles += currentFileSize;
+            currentFileSize = fileSize;
+            currentFileBytes = 0;
+        }
+
+        void onProgress(long bytesRead) {
+            boolean changed;
+            synchronized (this) {
+                currentFileBytes = Math.max(currentFileBytes, Math.min(bytesRead, currentFileSize));
+                int percent = bytesTotal == 0 ? 100
+                        : (int) ((bytesOfFinishedFiles + currentFileBytes) * 100 / bytesTotal);
+                changed = percent > progressPercent;
+                progressPercent = Math.max(progressPercent, percent);
+            }
+            // Only push whole percent steps to subscribers
+            if (changed) {
+                publish("progress");
+            }
+        }
+
+        void complete(UUID resourceId) {
+            synchronized (this) {
+                this.status = UploadJobResponse.Status.COMPLETED;
+                this.resourceId = resourceId;
+                this.bytesOfFinishedFiles = bytesTotal;
+                this.currentFileSize = 0;
+                this.currentFileBytes = 0;
+                this.progressPercent = 100;
+                this.completedAt = LocalDateTime.now();
+            }
+            publish("completed");
+        }
+
+        void fail(String error) {
+            synchronized (this) {
+                this.status = UploadJobResponse.Status.FAILED;
+                this.error = error;
+                this.completedAt = LocalDateTime.now();
+            }
+            publish("failed");
+        }
+
+        synchronized boolean finishedBefore(LocalDateTime cutoff) {
+            return completedAt != null && completedAt.isBefore(cutoff);
+        }
+
+        void addEmitter(SseEmitter emitter) {
+            emitters.add(emitter);
+            emitter.onCompletion(() -> emitters.remove(emitter));
+            emitter.onTimeout(() -> emitters.remove(emitter));
+            emitter.onError(e -> emitters.remove(emitter));
+
+            // Send the current state right away, finished jobs close the stream immediately
+            UploadJobResponse current = toResponse();
+            String eventName = switch (current.status()) {
+                case COMPLETED -> "completed";
+                case FAILED -> "failed";
+                default -> "progress";
+            };
+            send(emitter, eventName, current);
+        }
+
+        private void publish(String eventName) {
+            UploadJobResponse current = toResponse();
+            for (SseEmitter emitter : emitters) {
+                send(emitter, eventName, current);
+            }
+        }
+
+        private void send(SseEmitter emitter, String eventName, UploadJobResponse current) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(current));
+                if (current.isFinished()) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away, the completion callback removes the emitter
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
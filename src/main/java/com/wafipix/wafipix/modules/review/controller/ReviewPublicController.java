@@ -29,7 +29,7 @@ public class ReviewPublicController {
     @GetMapping("/platforms")
     public ResponseEntity<ApiResponse<List<String>>> getActivePlatforms() {
         log.info("Fetching active platforms for public display");
-        List<String> response = reviewService.getActivePlatforms();
+        List<String> response = reviewService.getPublicActivePlatforms();
         return new ResponseEntity<>(ApiResponse.success(response), HttpStatus.OK);
     }
 
@@ -0,0 +1,20 @@
+package com.wafipix.wafipix.modules.review.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Published by admin writes to a review (listeners run after commit)
+ */
+@Getter
+public class ReviewChangedEvent extends ApplicationEvent {
+
+    private final UUID reviewId;
+
+    public ReviewChangedEvent(Object source, UUID reviewId) {
+        super(source);
+        this.reviewId = reviewId;
+    }
+}
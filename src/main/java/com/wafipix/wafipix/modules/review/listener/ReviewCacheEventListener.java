@@ -0,0 +1,25 @@
+package com.wafipix.wafipix.modules.review.listener;
+
+import com.wafipix.wafipix.common.cache.AggregateVersions;
+import com.wafipix.wafipix.modules.review.event.ReviewChangedEvent;
+import com.wafipix.wafipix.modules.review.service.PublicReviewPoolService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops the public review pool and moves its validators once a review change is committed
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewCacheEventListener {
+
+    private final PublicReviewPoolService publicReviewPoolService;
+    private final AggregateVersions aggregateVersions;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleReviewChanged(ReviewChangedEvent event) {
+        publicReviewPoolService.invalidate();
+        aggregateVersions.invalidate(AggregateVersions.REVIEWS);
+    }
+}
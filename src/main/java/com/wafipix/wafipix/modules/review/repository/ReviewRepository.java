@@ -14,11 +14,9 @@ import java.util.UUID;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, UUID> {
 
-    @Query("SELECT r FROM Review r WHERE r.active = true ORDER BY RANDOM()")
-    List<Review> findActiveReviewsRandom();
+    List<Review> findByActiveTrueOrderByCreatedAtDesc();
 
-    @Query("SELECT r FROM Review r WHERE r.active = true AND r.platform = :platform ORDER BY RANDOM()")
-    List<Review> findActiveReviewsByPlatform(@Param("platform") String platform);
+    List<Review> findByActiveTrueAndPlatformOrderByCreatedAtDesc(String platform);
 
     @Query("SELECT r FROM Review r ORDER BY r.createdAt DESC")
     Page<Review> findAllOrdered(Pageable pageable);
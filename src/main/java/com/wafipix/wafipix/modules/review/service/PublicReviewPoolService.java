@@ -0,0 +1,38 @@
+package com.wafipix.wafipix.modules.review.service;
+
+import com.wafipix.wafipix.modules.review.dto.response.ReviewResponsePublic;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory pool of the active reviews shown on the public site
+ */
+public interface PublicReviewPoolService {
+
+    /**
+     * Active reviews in the shuffled order of the current period
+     * @param platform Platform to filter by, or null for all platforms
+     * @return Shuffled reviews, empty for an unknown platform
+     */
+    List<ReviewResponsePublic> getShuffledReviews(String platform);
+
+    /**
+     * Platforms with at least one active review, in alphabetical order
+     */
+    List<String> getPlatforms();
+
+    /**
+     * Drop the pool after a review write, the next read loads it again
+     */
+    void invalidate();
+
+    /**
+     * Immutable pool, reviews are newest first before shuffling
+     */
+    record ReviewPool(
+            List<ReviewResponsePublic> reviews,
+            Map<String, List<ReviewResponsePublic>> reviewsByPlatform,
+            List<String> platforms
+    ) {}
+}
@@ -22,6 +22,7 @@ public interface ReviewService {
     // Public API methods
     List<ReviewResponsePublic> getPublicActiveReviews();
     List<ReviewResponsePublic> getPublicActiveReviewsByPlatform(String platform);
+    List<String> getPublicActivePlatforms();
     ReviewResponse getReviewById(UUID id);
     ReviewResponse updateReview(UUID id, UpdateReviewRequest request);
     void deleteReview(UUID id);
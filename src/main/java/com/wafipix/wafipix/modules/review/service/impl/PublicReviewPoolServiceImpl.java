@@ -0,0 +1,82 @@
+package com.wafipix.wafipix.modules.review.service.impl;
+
+import com.wafipix.wafipix.modules.review.dto.response.ReviewResponsePublic;
+import com.wafipix.wafipix.modules.review.mapper.ReviewMapper;
+import com.wafipix.wafipix.modules.review.repository.ReviewRepository;
+import com.wafipix.wafipix.modules.review.service.PublicReviewPoolService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of PublicReviewPoolService
+ * The pool is loaded with one query and kept until a review changes. Shuffles are seeded with the current
+ * period, so every request in a period (and every cache in front of them) sees the same order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PublicReviewPoolServiceImpl implements PublicReviewPoolService {
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewMapper reviewMapper;
+    private final AtomicReference<ReviewPool> pool = new AtomicReference<>();
+
+    @Value("${reviews.shuffle-period:5m}")
+    private Duration shufflePeriod;
+
+    @Override
+    public List<ReviewResponsePublic> getShuffledReviews(String platform) {
+        ReviewPool current = getPool();
+        List<ReviewResponsePublic> reviews = platform == null
+                ? current.reviews()
+                : current.reviewsByPlatform().getOrDefault(platform, List.of());
+
+        List<ReviewResponsePublic> shuffled = new ArrayList<>(reviews);
+        long period = System.currentTimeMillis() / Math.max(1, shufflePeriod.toMillis());
+        Collections.shuffle(shuffled, new Random(period * 31 + Objects.hashCode(platform)));
+        return shuffled;
+    }
+
+    @Override
+    public List<String> getPlatforms() {
+        return getPool().platforms();
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        // Waits for a load in progress, so a pool read before the change is never kept
+        pool.set(null);
+    }
+
+    private ReviewPool getPool() {
+        ReviewPool current = pool.get();
+        return current != null ? current : load();
+    }
+
+    private synchronized ReviewPool load() {
+        ReviewPool current = pool.get();
+        if (current != null) {
+            return current;
+        }
+        List<ReviewResponsePublic> reviews = reviewMapper.toPublicResponseList(reviewRepository.findByActiveTrueOrderByCreatedAtDesc());
+        Map<String, List<ReviewResponsePublic>> byPlatform = reviews.stream()
+                .collect(Collectors.groupingBy(ReviewResponsePublic::platform, TreeMap::new, Collectors.toUnmodifiableList()));
+        ReviewPool loaded = new ReviewPool(reviews, Collections.unmodifiableMap(byPlatform), List.copyOf(byPlatform.keySet()));
+        pool.set(loaded);
+        log.info("Public review pool loaded: {} reviews on {} platforms", reviews.size(), loaded.platforms().size());
+        return loaded;
+    }
+}
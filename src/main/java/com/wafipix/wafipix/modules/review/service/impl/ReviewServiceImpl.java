@@ -7,17 +7,24 @@ import com.wafipix.wafipix.modules.review.dto.response.ReviewListResponse;
 import com.wafipix.wafipix.modules.review.dto.response.ReviewResponse;
 import com.wafipix.wafipix.modules.review.dto.response.ReviewResponsePublic;
 import com.wafipix.wafipix.modules.review.entity.Review;
+import com.wafipix.wafipix.modules.review.event.ReviewChangedEvent;
 import com.wafipix.wafipix.modules.review.mapper.ReviewMapper;
 import com.wafipix.wafipix.modules.review.repository.ReviewRepository;
+import com.wafipix.wafipix.modules.review.service.PublicReviewPoolService;
 import com.wafipix.wafipix.modules.review.service.ReviewService;
 import com.wafipix.wafipix.modules.filemanagement.service.FileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,32 +36,43 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final ReviewMapper reviewMapper;
     private final FileService fileService;
+    private final TransactionTemplate transactionTemplate;
+    private final PublicReviewPoolService publicReviewPoolService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    @Transactional
     public ReviewResponse createReview(CreateReviewRequest request) {
         log.info("Creating review for platform: {}", request.getPlatform());
 
-        // Upload review image if provided
-        String reviewImageUrl = null;
+        // Upload review image if provided, before the transaction is opened
+        FileService.StagedFile stagedImage = null;
         if (request.getReviewImage() != null && !request.getReviewImage().isEmpty()) {
-            try {
-                var uploadedFile = fileService.uploadFile(request.getReviewImage(), "reviews/images");
-                reviewImageUrl = uploadedFile.getPublicUrl();
-                log.info("Review image uploaded successfully: {}", reviewImageUrl);
-            } catch (Exception e) {
-                log.error("Failed to upload review image: {}", e.getMessage());
-                throw new RuntimeException("Failed to upload review image: " + e.getMessage());
-            }
+            stagedImage = stageReviewImage(request.getReviewImage(), "Failed to upload review image: ");
         } else {
             log.info("No review image provided, creating review without image");
         }
-
-        // Create review entity
-        Review review = reviewMapper.toEntity(request, reviewImageUrl);
-        // Convert platform to lowercase to avoid duplicates
-        review.setPlatform(review.getPlatform().toLowerCase());
-        Review savedReview = reviewRepository.save(review);
+        FileService.StagedFile imageToCommit = stagedImage;
+
+        Review savedReview;
+        try {
+            savedReview = transactionTemplate.execute(status -> {
+                String reviewImageUrl = imageToCommit != null
+                        ? fileService.commitStagedFile(imageToCommit).getPublicUrl() : null;
+
+                // Create review entity
+                Review review = reviewMapper.toEntity(request, reviewImageUrl);
+                // Convert platform to lowercase to avoid duplicates
+                review.setPlatform(review.getPlatform().toLowerCase());
+                Review saved = reviewRepository.save(review);
+                eventPublisher.publishEvent(new ReviewChangedEvent(this, saved.getId()));
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            if (stagedImage != null) {
+                fileService.discardStagedFiles(List.of(stagedImage));
+            }
+            throw e;
+        }
 
         log.info("Review created successfully with ID: {}", savedReview.getId());
         return reviewMapper.toResponse(savedReview);
@@ -85,7 +103,8 @@ public class ReviewServiceImpl implements ReviewService {
     public List<ReviewResponse> getActiveReviews() {
         log.info("Fetching active reviews (shuffled)");
 
-        List<Review> reviews = reviewRepository.findActiveReviewsRandom();
+        List<Review> reviews = new ArrayList<>(reviewRepository.findByActiveTrueOrderByCreatedAtDesc());
+        Collections.shuffle(reviews);
         log.info("Found {} active reviews", reviews.size());
 
         return reviewMapper.toResponseList(reviews);
@@ -95,7 +114,8 @@ public class ReviewServiceImpl implements ReviewService {
     public List<ReviewResponse> getActiveReviewsByPlatform(String platform) {
         log.info("Fetching active reviews for platform: {}", platform);
 
-        List<Review> reviews = reviewRepository.findActiveReviewsByPlatform(platform);
+        List<Review> reviews = new ArrayList<>(reviewRepository.findByActiveTrueAndPlatformOrderByCreatedAtDesc(platform));
+        Collections.shuffle(reviews);
         log.info("Found {} active reviews for platform: {}", reviews.size(), platform);
 
         return reviewMapper.toResponseList(reviews);
@@ -122,40 +142,56 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
-    @Transactional
     public ReviewResponse updateReview(UUID id, UpdateReviewRequest request) {
         log.info("Updating review with ID: {}", id);
 
-        Review review = reviewRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Review not found with ID: " + id));
+        if (!reviewRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Review not found with ID: " + id);
+        }
 
-        // Handle review image update if provided
-        String reviewImageUrl = null;
-        if (request.getReviewImage() != null && !request.getReviewImage().isEmpty()) {
-            try {
-                // Delete old review image if exists
-                if (review.getReviewImage() != null) {
-                    fileService.deleteFileByUrl(review.getReviewImage());
-                    log.info("Old review image deleted: {}", review.getReviewImage());
+        // Upload new review image before the transaction is opened
+        FileService.StagedFile stagedImage = request.getReviewImage() != null && !request.getReviewImage().isEmpty()
+                ? stageReviewImage(request.getReviewImage(), "Failed to update review image: ") : null;
+        String[] oldImageUrl = new String[1];
+
+        Review updatedReview;
+        try {
+            updatedReview = transactionTemplate.execute(status -> {
+                Review review = reviewRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Review not found with ID: " + id));
+
+                // Handle review image update if provided
+                String reviewImageUrl = null;
+                if (stagedImage != null) {
+                    reviewImageUrl = fileService.commitStagedFile(stagedImage).getPublicUrl();
+                    oldImageUrl[0] = review.getReviewImage();
                 }
 
-                // Upload new review image
-                var uploadedFile = fileService.uploadFile(request.getReviewImage(), "reviews/images");
-                reviewImageUrl = uploadedFile.getPublicUrl();
-                log.info("New review image uploaded successfully: {}", reviewImageUrl);
-            } catch (Exception e) {
-                log.error("Failed to update review image: {}", e.getMessage());
-                throw new RuntimeException("Failed to update review image: " + e.getMessage());
+                // Update review
+                reviewMapper.updateEntity(review, request, reviewImageUrl);
+                // Convert platform to lowercase if updated
+                if (request.getPlatform() != null && !request.getPlatform().trim().isEmpty()) {
+                    review.setPlatform(review.getPlatform().toLowerCase());
+                }
+                eventPublisher.publishEvent(new ReviewChangedEvent(this, id));
+                return reviewRepository.save(review);
+            });
+        } catch (RuntimeException e) {
+            if (stagedImage != null) {
+                fileService.discardStagedFiles(List.of(stagedImage));
             }
+            throw e;
         }
 
-        // Update review
-        reviewMapper.updateEntity(review, request, reviewImageUrl);
-        // Convert platform to lowercase if updated
-        if (request.getPlatform() != null && !request.getPlatform().trim().isEmpty()) {
-            review.setPlatform(review.getPlatform().toLowerCase());
+        // Delete old review image once the new one is committed
+        if (oldImageUrl[0] != null) {
+            try {
+                fileService.deleteFileByUrl(oldImageUrl[0]);
+                log.info("Old review image deleted: {}", oldImageUrl[0]);
+            } catch (Exception e) {
+                log.error("Failed to delete old review image {}: {}", oldImageUrl[0], e.getMessage());
+            }
         }
-        Review updatedReview = reviewRepository.save(review);
 
         log.info("Review updated successfully with ID: {}", updatedReview.getId());
         return reviewMapper.toResponse(updatedReview);
@@ -186,6 +222,7 @@ public class ReviewServiceImpl implements ReviewService {
 
         // Delete review
         reviewRepository.delete(review);
+        eventPublisher.publishEvent(new ReviewChangedEvent(this, id));
 
         log.info("Review deleted successfully with ID: {}", id);
     }
@@ -200,6 +237,7 @@ public class ReviewServiceImpl implements ReviewService {
 
         review.setActive(active);
         Review updatedReview = reviewRepository.save(review);
+        eventPublisher.publishEvent(new ReviewChangedEvent(this, id));
 
         log.info("Review activity status updated for ID: {} to {}", id, active);
         return reviewMapper.toResponse(updatedReview);
@@ -209,20 +247,28 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     public List<ReviewResponsePublic> getPublicActiveReviews() {
         log.info("Fetching active reviews for public display (shuffled)");
-
-        List<Review> reviews = reviewRepository.findActiveReviewsRandom();
-        log.info("Found {} active reviews for public display", reviews.size());
-
-        return reviewMapper.toPublicResponseList(reviews);
+        return publicReviewPoolService.getShuffledReviews(null);
     }
 
     @Override
     public List<ReviewResponsePublic> getPublicActiveReviewsByPlatform(String platform) {
         log.info("Fetching active reviews for platform: {} for public display", platform);
+        return publicReviewPoolService.getShuffledReviews(platform);
+    }
 
-        List<Review> reviews = reviewRepository.findActiveReviewsByPlatform(platform);
-        log.info("Found {} active reviews for platform: {} for public display", reviews.size(), platform);
+    @Override
+    public List<String> getPublicActivePlatforms() {
+        return publicReviewPoolService.getPlatforms();
+    }
 
-        return reviewMapper.toPublicResponseList(reviews);
+    private FileService.StagedFile stageReviewImage(MultipartFile image, String errorPrefix) {
+        try {
+            FileService.StagedFile stagedImage = fileService.stageFile(image, "reviews/images");
+            log.info("Review image uploaded successfully: {}", stagedImage.originalFileName());
+            return stagedImage;
+        } catch (Exception e) {
+            log.error("{}{}", errorPrefix, e.getMessage());
+            throw new RuntimeException(errorPrefix + e.getMessage());
+        }
     }
 }
@@ -0,0 +1,34 @@
+package com.wafipix.wafipix.modules.service.config;
+
+import com.wafipix.wafipix.modules.service.listener.ServiceCatalogEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor for public catalog rebuilds, a single thread applies changes in commit order
+ */
+@Configuration
+@Slf4j
+public class CatalogConfig {
+
+    @Bean(name = "catalogRefreshExecutor")
+    public Executor catalogRefreshExecutor(ObjectProvider<ServiceCatalogEventListener> catalogEventListener) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("CatalogRefresh-");
+        // A dropped change would leave the snapshot stale until restart, drop the snapshot instead
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            log.warn("Catalog refresh queue is full, dropping the public catalog snapshot");
+            catalogEventListener.getObject().handleRejectedRefresh();
+        });
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,21 +1,14 @@
 package com.wafipix.wafipix.modules.service.controller;
 
+import com.wafipix.wafipix.common.cache.ResponseBytesCache;
 import com.wafipix.wafipix.common.dto.ApiResponse;
-
-import com.wafipix.wafipix.modules.service.dto.response.CategoryPublicResponse;
-import com.wafipix.wafipix.modules.service.dto.response.ServicePageDataResponse;
-import com.wafipix.wafipix.modules.service.dto.response.ServicePackageResponse;
-import com.wafipix.wafipix.modules.service.dto.response.ServicePublicResponse;
-import com.wafipix.wafipix.modules.service.dto.response.ServiceFilterResponse;
-import com.wafipix.wafipix.modules.service.dto.response.SubmenuCategoryResponse;
 import com.wafipix.wafipix.modules.service.service.ServiceService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/v3/public/services")
 @RequiredArgsConstructor
@@ -23,58 +16,53 @@ import java.util.List;
 public class ServicePublicController {
     
     private final ServiceService serviceService;
+    private final ResponseBytesCache responseBytesCache;
     
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ServicePublicResponse>>> getActiveServices() {
+    public ResponseEntity<byte[]> getActiveServices(HttpServletRequest request) {
         log.info("Public request for active services");
         
-        List<ServicePublicResponse> services = serviceService.getPublicActiveServices();
-        
-        return ResponseEntity.ok(ApiResponse.success(services, "Active services retrieved successfully"));
+        return responseBytesCache.respond(ResponseBytesCache.SERVICES, "active", request,
+                () -> ApiResponse.success(serviceService.getPublicActiveServices(), "Active services retrieved successfully"));
     }
     
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<ApiResponse<ServicePageDataResponse>> getServiceBySlug(@PathVariable String slug) {
+    public ResponseEntity<byte[]> getServiceBySlug(@PathVariable String slug, HttpServletRequest request) {
         log.info("Public request for service by slug: {}", slug);
         
-        ServicePageDataResponse response = serviceService.getPublicServiceBySlug(slug);
-        
-        return ResponseEntity.ok(ApiResponse.success(response, "Service retrieved successfully"));
+        return responseBytesCache.respond(ResponseBytesCache.SERVICES, "slug:" + slug, request,
+                () -> ApiResponse.success(serviceService.getPublicServiceBySlug(slug), "Service retrieved successfully"));
     }
     
     @GetMapping("/packages")
-    public ResponseEntity<ApiResponse<List<ServicePackageResponse>>> getAllServicePackages() {
+    public ResponseEntity<byte[]> getAllServicePackages(HttpServletRequest request) {
         log.info("Public request for all service packages");
         
-        List<ServicePackageResponse> packages = serviceService.getAllPublicServicePackages();
-        
-        return ResponseEntity.ok(ApiResponse.success(packages, "Service packages retrieved successfully"));
+        return responseBytesCache.respond(ResponseBytesCache.SERVICES, "packages", request,
+                () -> ApiResponse.success(serviceService.getAllPublicServicePackages(), "Service packages retrieved successfully"));
     }
     
     @GetMapping("/categories")
-    public ResponseEntity<ApiResponse<List<CategoryPublicResponse>>> getServiceCategories() {
+    public ResponseEntity<byte[]> getServiceCategories(HttpServletRequest request) {
         log.info("Public request for service categories");
         
-        List<CategoryPublicResponse> categories = serviceService.getPublicServiceCategories();
-        
-        return ResponseEntity.ok(ApiResponse.success(categories, "Service categories retrieved successfully"));
+        return responseBytesCache.respond(ResponseBytesCache.SERVICES, "categories", request,
+                () -> ApiResponse.success(serviceService.getPublicServiceCategories(), "Service categories retrieved successfully"));
     }
     
     @GetMapping("/navigation")
-    public ResponseEntity<ApiResponse<List<SubmenuCategoryResponse>>> getServicesForNavigation() {
+    public ResponseEntity<byte[]> getServicesForNavigation(HttpServletRequest request) {
         log.info("Public request for services organized by categories for navigation");
         
-        List<SubmenuCategoryResponse> navigationData = serviceService.getServicesForNavigation();
-        
-        return ResponseEntity.ok(ApiResponse.success(navigationData, "Services for navigation retrieved successfully"));
+        return responseBytesCache.respond(ResponseBytesCache.SERVICES, "navigation", request,
+                () -> ApiResponse.success(serviceService.getServicesForNavigation(), "Services for navigation retrieved successfully"));
     }
     
     @GetMapping("/filter")
-    public ResponseEntity<ApiResponse<List<ServiceFilterResponse>>> getServicesForFilter() {
+    public ResponseEntity<byte[]> getServicesForFilter(HttpServletRequest request) {
         log.info("Public request for services for filtering");
         
-        List<ServiceFilterResponse> services = serviceService.getPublicServicesForFilter();
-        
-        return ResponseEntity.ok(ApiResponse.success(services, "Services for filtering retrieved successfully"));
+        return responseBytesCache.respond(ResponseBytesCache.SERVICES, "filter", request,
+                () -> ApiResponse.success(serviceService.getPublicServicesForFilter(), "Services for filtering retrieved successfully"));
     }
 }
@@ -0,0 +1,17 @@
+package com.wafipix.wafipix.modules.service.dto.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns of a service the public catalog needs, read without loading Service entities (and their TEXT description)
+ */
+public record ServiceCatalogRow(
+        UUID categoryId,
+        UUID serviceId,
+        String serviceTitle,
+        String slug,
+        String subtitle,
+        LocalDateTime createdAt,
+        Boolean active
+) {}
@@ -0,0 +1,32 @@
+package com.wafipix.wafipix.modules.service.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published by admin writes that change what the public catalog shows (listeners run after commit)
+ */
+@Getter
+public class ServiceCatalogChangedEvent extends ApplicationEvent {
+
+    private final Set<UUID> serviceIds; // Services whose data, packages, features or FAQs changed
+    private final boolean categoriesChanged;
+
+    public ServiceCatalogChangedEvent(Object source, Set<UUID> serviceIds, boolean categoriesChanged) {
+        super(source);
+        this.serviceIds = serviceIds;
+        this.categoriesChanged = categoriesChanged;
+    }
+
+    public static ServiceCatalogChangedEvent services(Object source, UUID... serviceIds) {
+        return new ServiceCatalogChangedEvent(source, Set.copyOf(Arrays.asList(serviceIds)), false);
+    }
+
+    public static ServiceCatalogChangedEvent categories(Object source) {
+        return new ServiceCatalogChangedEvent(source, Set.of(), true);
+    }
+}
@@ -0,0 +1,47 @@
+package com.wafipix.wafipix.modules.service.listener;
+
+import com.wafipix.wafipix.common.cache.AggregateVersions;
+import com.wafipix.wafipix.common.cache.ResponseBytesCache;
+import com.wafipix.wafipix.modules.service.event.ServiceCatalogChangedEvent;
+import com.wafipix.wafipix.modules.service.service.PublicCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ServiceCatalogEventListener {
+
+    private final PublicCatalogService publicCatalogService;
+    private final ResponseBytesCache responseBytesCache;
+    private final AggregateVersions aggregateVersions;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Async("catalogRefreshExecutor")
+    public void handleCatalogChanged(ServiceCatalogChangedEvent event) {
+        try {
+            publicCatalogService.refresh(event.getServiceIds(), event.isCategoriesChanged());
+        } catch (Exception e) {
+            log.error("Failed to refresh public catalog for services {}: {}", event.getServiceIds(), e.getMessage(), e);
+        } finally {
+            // After the snapshot swap (or its drop on failure), so re-serialized bodies see the new data
+            invalidateResponses();
+        }
+    }
+
+    /**
+     * Called when the refresh executor rejects a change event, drops the whole snapshot instead
+     */
+    public void handleRejectedRefresh() {
+        publicCatalogService.invalidate();
+        invalidateResponses();
+    }
+
+    private void invalidateResponses() {
+        responseBytesCache.invalidate(ResponseBytesCache.SERVICES);
+        aggregateVersions.invalidate(AggregateVersions.CATALOG);
+    }
+}
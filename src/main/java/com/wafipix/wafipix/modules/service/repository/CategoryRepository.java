@@ -1,5 +1,6 @@
 package com.wafipix.wafipix.modules.service.repository;
 
+import com.wafipix.wafipix.modules.service.dto.response.CategoryPublicResponse;
 import com.wafipix.wafipix.modules.service.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -17,4 +18,8 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
     
     @Query("SELECT c FROM Category c ORDER BY c.createdAt ASC")
     List<Category> findAllOrderedByCreatedAt();
+
+    @Query("SELECT new com.wafipix.wafipix.modules.service.dto.response.CategoryPublicResponse(c.id, c.title, c.subtitle) " +
+           "FROM Category c ORDER BY c.createdAt ASC")
+    List<CategoryPublicResponse> findAllPublic();
 }
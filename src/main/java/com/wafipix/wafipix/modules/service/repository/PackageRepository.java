@@ -1,11 +1,13 @@
 package com.wafipix.wafipix.modules.service.repository;
 
+import com.wafipix.wafipix.modules.service.entity.Feature;
 import com.wafipix.wafipix.modules.service.entity.Package;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,10 +28,18 @@ public interface PackageRepository extends JpaRepository<Package, UUID> {
     List<Package> findByServiceIdAndStatus(@Param("serviceId") UUID serviceId, @Param("status") com.wafipix.wafipix.modules.service.enums.PackageStatus status);
     
     // Public APIs - only active packages
-    @Query("SELECT p FROM Package p LEFT JOIN FETCH p.service WHERE p.service.id = :serviceId AND p.status IN ('ACTIVE', 'FEATURED') ORDER BY p.createdAt ASC")
+    @Query("SELECT DISTINCT p FROM Package p LEFT JOIN FETCH p.service LEFT JOIN FETCH p.features f " +
+           "WHERE p.service.id = :serviceId AND p.status IN ('ACTIVE', 'FEATURED') ORDER BY p.createdAt ASC, f.createdAt ASC")
     List<Package> findActivePackagesByServiceId(@Param("serviceId") UUID serviceId);
     
     // Get all active packages across all services, ordered by creation time
     @Query("SELECT p FROM Package p LEFT JOIN FETCH p.service WHERE p.status IN ('ACTIVE', 'FEATURED') ORDER BY p.createdAt ASC")
     List<Package> findAllActivePackagesOrdered();
+
+    // Public catalog read model - active packages of many services, features are loaded in one batch below
+    @Query("SELECT p FROM Package p WHERE p.service.id IN :serviceIds AND p.status IN ('ACTIVE', 'FEATURED') ORDER BY p.createdAt ASC")
+    List<Package> findActivePackagesByServiceIdIn(@Param("serviceIds") Collection<UUID> serviceIds);
+
+    @Query("SELECT f FROM Feature f WHERE f.packageEntity.id IN :packageIds ORDER BY f.createdAt ASC")
+    List<Feature> findFeaturesByPackageIdIn(@Param("packageIds") Collection<UUID> packageIds);
 }
@@ -1,5 +1,6 @@
 package com.wafipix.wafipix.modules.service.repository;
 
+import com.wafipix.wafipix.modules.service.dto.projection.ServiceCatalogRow;
 import com.wafipix.wafipix.modules.service.entity.FAQ;
 import com.wafipix.wafipix.modules.service.entity.Service;
 import com.wafipix.wafipix.modules.service.entity.ServiceFeature;
@@ -11,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -79,6 +81,21 @@ public interface ServiceRepository extends JpaRepository<Service, UUID> {
     @Query("DELETE FROM Feature f WHERE f.packageEntity.id = :packageId")
     void deleteAllFeaturesByPackageId(@Param("packageId") UUID packageId);
 
+    // Public catalog read model - one row per service, the category id comes from the foreign key column
+    @Query("SELECT new com.wafipix.wafipix.modules.service.dto.projection.ServiceCatalogRow(" +
+           "s.category.id, s.id, s.title, s.slug, s.subtitle, s.createdAt, s.active) FROM Service s")
+    List<ServiceCatalogRow> findCatalogRows();
+
+    @Query("SELECT new com.wafipix.wafipix.modules.service.dto.projection.ServiceCatalogRow(" +
+           "s.category.id, s.id, s.title, s.slug, s.subtitle, s.createdAt, s.active) FROM Service s WHERE s.id IN :ids")
+    List<ServiceCatalogRow> findCatalogRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT sf FROM ServiceFeature sf WHERE sf.service.id IN :serviceIds ORDER BY sf.createdAt ASC")
+    List<ServiceFeature> findServiceFeaturesByServiceIdIn(@Param("serviceIds") Collection<UUID> serviceIds);
+
+    @Query("SELECT f FROM FAQ f WHERE f.service.id IN :serviceIds ORDER BY f.createdAt ASC")
+    List<FAQ> findServiceFaqsByServiceIdIn(@Param("serviceIds") Collection<UUID> serviceIds);
+
     // Get service features ordered by creation time
     @Query("SELECT sf FROM ServiceFeature sf WHERE sf.service.id = :serviceId ORDER BY sf.createdAt ASC")
     List<ServiceFeature> findServiceFeaturesOrderedByCreation(@Param("serviceId") UUID serviceId);
@@ -0,0 +1,50 @@
+package com.wafipix.wafipix.modules.service.service;
+
+import com.wafipix.wafipix.modules.service.dto.response.CategoryPublicResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServiceFilterResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServicePackageResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServicePageDataResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServicePublicResponse;
+import com.wafipix.wafipix.modules.service.dto.response.SubmenuCategoryResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory snapshot of everything the public service pages show
+ */
+public interface PublicCatalogService {
+
+    /**
+     * Current snapshot, built on first use and kept up to date by catalog change events
+     * @return Immutable catalog
+     */
+    PublicCatalog getCatalog();
+
+    /**
+     * Reload the given services (and the category list if requested) into a new snapshot
+     * @param serviceIds Services to reload, removed from the snapshot if they no longer exist
+     * @param categoriesChanged Whether the category list must be reloaded
+     */
+    void refresh(Collection<UUID> serviceIds, boolean categoriesChanged);
+
+    /**
+     * Drop the snapshot, the next read rebuilds it from the database
+     * Used when a change event could not be applied, so the snapshot is never left behind it
+     */
+    void invalidate();
+
+    /**
+     * Immutable public catalog, lists are in display order
+     */
+    record PublicCatalog(
+            List<CategoryPublicResponse> categories,
+            List<ServicePublicResponse> activeServices,
+            List<SubmenuCategoryResponse> navigation,
+            List<ServiceFilterResponse> servicesForFilter,
+            List<ServicePackageResponse> packages,
+            Map<String, ServicePageDataResponse> servicePagesBySlug
+    ) {}
+}
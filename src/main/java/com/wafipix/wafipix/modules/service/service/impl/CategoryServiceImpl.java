@@ -6,11 +6,13 @@ import com.wafipix.wafipix.modules.service.dto.admin.request.CreateCategoryReque
 import com.wafipix.wafipix.modules.service.dto.admin.request.UpdateCategoryRequest;
 import com.wafipix.wafipix.modules.service.dto.admin.response.CategoryResponse;
 import com.wafipix.wafipix.modules.service.entity.Category;
+import com.wafipix.wafipix.modules.service.event.ServiceCatalogChangedEvent;
 import com.wafipix.wafipix.modules.service.mapper.CategoryMapper;
 import com.wafipix.wafipix.modules.service.repository.CategoryRepository;
 import com.wafipix.wafipix.modules.service.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,7 @@ public class CategoryServiceImpl implements CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -37,6 +40,7 @@ public class CategoryServiceImpl implements CategoryService {
         
         Category category = categoryMapper.toEntity(request);
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.categories(this));
         
         log.info("Category created successfully with ID: {}", savedCategory.getId());
         return categoryMapper.toResponse(savedCategory);
@@ -77,6 +81,7 @@ public class CategoryServiceImpl implements CategoryService {
         
         categoryMapper.updateEntity(category, request);
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.categories(this));
         
         log.info("Category updated successfully with ID: {}", updatedCategory.getId());
         return categoryMapper.toResponse(updatedCategory);
@@ -96,6 +101,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.categories(this));
         log.info("Category deleted successfully with ID: {}", id);
     }
     
@@ -7,12 +7,14 @@ import com.wafipix.wafipix.modules.service.dto.admin.request.UpdatePackageReques
 import com.wafipix.wafipix.modules.service.dto.admin.response.PackageResponse;
 import com.wafipix.wafipix.modules.service.entity.Package;
 import com.wafipix.wafipix.modules.service.entity.Service;
+import com.wafipix.wafipix.modules.service.event.ServiceCatalogChangedEvent;
 import com.wafipix.wafipix.modules.service.mapper.PackageMapper;
 import com.wafipix.wafipix.modules.service.repository.PackageRepository;
 import com.wafipix.wafipix.modules.service.repository.ServiceRepository;
 import com.wafipix.wafipix.modules.service.service.PackageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -26,6 +28,7 @@ public class PackageServiceImpl implements PackageService {
     private final PackageRepository packageRepository;
     private final ServiceRepository serviceRepository;
     private final PackageMapper packageMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -44,6 +47,7 @@ public class PackageServiceImpl implements PackageService {
         // Create package entity
         Package packageEntity = packageMapper.toEntity(request, service);
         Package savedPackage = packageRepository.save(packageEntity);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.services(this, service.getId()));
         
         log.info("Package created successfully with ID: {}", savedPackage.getId());
         return packageMapper.toResponse(savedPackage);
@@ -84,6 +88,7 @@ public class PackageServiceImpl implements PackageService {
         }
         
         // Handle service update if provided
+        UUID previousServiceId = packageEntity.getService().getId();
         Service service = null;
         if (request.getServiceId() != null) {
             service = serviceRepository.findById(request.getServiceId())
@@ -94,6 +99,7 @@ public class PackageServiceImpl implements PackageService {
         packageMapper.updateEntity(packageEntity, request, service);
         
         Package updatedPackage = packageRepository.save(packageEntity);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.services(this, previousServiceId, updatedPackage.getService().getId()));
         
         log.info("Package updated successfully with ID: {}", updatedPackage.getId());
         return packageMapper.toResponse(updatedPackage);
@@ -108,6 +114,7 @@ public class PackageServiceImpl implements PackageService {
                 .orElseThrow(() -> new ResourceNotFoundException("Package not found with ID: " + id));
         
         packageRepository.delete(packageEntity);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.services(this, packageEntity.getService().getId()));
         
         log.info("Package deleted successfully with ID: {}", id);
     }
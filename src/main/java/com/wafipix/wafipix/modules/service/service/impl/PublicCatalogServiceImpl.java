@@ -0,0 +1,288 @@
+package com.wafipix.wafipix.modules.service.service.impl;
+
+import com.wafipix.wafipix.modules.service.dto.projection.ServiceCatalogRow;
+import com.wafipix.wafipix.modules.service.dto.response.CategoryPublicResponse;
+import com.wafipix.wafipix.modules.service.dto.response.PackageFeatureResponse;
+import com.wafipix.wafipix.modules.service.dto.response.PackagePricingResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServiceFaqsPublicResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServiceFeaturePublicResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServiceFilterResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServicePackageResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServicePageDataResponse;
+import com.wafipix.wafipix.modules.service.dto.response.ServicePublicResponse;
+import com.wafipix.wafipix.modules.service.dto.response.SubmenuCategoryResponse;
+import com.wafipix.wafipix.modules.service.dto.response.SubmenuItemResponse;
+import com.wafipix.wafipix.modules.service.entity.Package;
+import com.wafipix.wafipix.modules.service.repository.CategoryRepository;
+import com.wafipix.wafipix.modules.service.repository.PackageRepository;
+import com.wafipix.wafipix.modules.service.repository.ServiceRepository;
+import com.wafipix.wafipix.modules.service.service.PublicCatalogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of PublicCatalogService
+ * Readers get the current snapshot from an atomic reference without locking or touching the database;
+ * writers (first build and change events) are serialized and swap in a new snapshot
+ */
+@Service
+@Slf4j
+public class PublicCatalogServiceImpl implements PublicCatalogService {
+
+    private static final Comparator<ServiceEntry> SERVICE_ORDER =
+            Comparator.comparing(ServiceEntry::createdAt).thenComparing(ServiceEntry::id);
+    private static final Comparator<PackageEntry> PACKAGE_ORDER =
+            Comparator.comparing(PackageEntry::createdAt).thenComparing(entry -> entry.response().id());
+
+    private final ServiceRepository serviceRepository;
+    private final CategoryRepository categoryRepository;
+    private final PackageRepository packageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public PublicCatalogServiceImpl(ServiceRepository serviceRepository,
+                                    CategoryRepository categoryRepository,
+                                    PackageRepository packageRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.serviceRepository = serviceRepository;
+        this.categoryRepository = categoryRepository;
+        this.packageRepository = packageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public PublicCatalog getCatalog() {
+        Snapshot current = snapshot.get();
+        return current != null ? current.catalog() : build().catalog();
+    }
+
+    @Override
+    public synchronized void refresh(Collection<UUID> serviceIds, boolean categoriesChanged) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            // Not built yet, the first read loads everything
+            return;
+        }
+        try {
+            Snapshot refreshed = transactionTemplate.execute(status -> {
+                List<CategoryPublicResponse> categories = categoriesChanged ? loadCategories() : current.categories();
+                Map<UUID, ServiceEntry> services = new HashMap<>(current.services());
+                Map<UUID, ServiceEntry> reloaded = serviceIds.isEmpty()
+                        ? Map.of()
+                        : loadServices(serviceRepository.findCatalogRowsByIdIn(serviceIds));
+                for (UUID serviceId : serviceIds) {
+                    ServiceEntry entry = reloaded.get(serviceId);
+                    if (entry != null) {
+                        services.put(serviceId, entry);
+                    } else {
+                        services.remove(serviceId);
+                    }
+                }
+                return assemble(categories, services);
+            });
+            snapshot.set(refreshed);
+            log.info("Public catalog refreshed: {} services reloaded, categories reloaded: {}", serviceIds.size(), categoriesChanged);
+        } catch (RuntimeException e) {
+            // Drop the snapshot rather than serve stale data, the next read rebuilds it
+            snapshot.set(null);
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        // Waits for a running refresh, which would otherwise swap in a snapshot missing the dropped change
+        snapshot.set(null);
+        log.info("Public catalog snapshot dropped, the next read rebuilds it");
+    }
+
+    private synchronized Snapshot build() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        Snapshot built = transactionTemplate.execute(status ->
+                assemble(loadCategories(), loadServices(serviceRepository.findCatalogRows())));
+        snapshot.set(built);
+        log.info("Public catalog built: {} categories, {} services", built.categories().size(), built.services().size());
+        return built;
+    }
+
+    private List<CategoryPublicResponse> loadCategories() {
+        return categoryRepository.findAllPublic();
+    }
+
+    /**
+     * Load packages, package features, service features and FAQs of the given services with one query each,
+     * so the statement count does not grow with the number of services or packages
+     */
+    private Map<UUID, ServiceEntry> loadServices(List<ServiceCatalogRow> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> serviceIds = rows.stream().map(ServiceCatalogRow::serviceId).toList();
+        List<UUID> activeServiceIds = rows.stream()
+                .filter(row -> Boolean.TRUE.equals(row.active()))
+                .map(ServiceCatalogRow::serviceId)
+                .toList();
+
+        // Active packages are listed publicly even when their service is inactive
+        List<Package> packages = packageRepository.findActivePackagesByServiceIdIn(serviceIds);
+        Map<UUID, List<PackageFeatureResponse>> featuresByPackage = packages.isEmpty() ? Map.of() :
+                packageRepository.findFeaturesByPackageIdIn(packages.stream().map(Package::getId).toList()).stream()
+                        .collect(Collectors.groupingBy(feature -> feature.getPackageEntity().getId(),
+                                Collectors.mapping(feature -> new PackageFeatureResponse(
+                                        feature.getId(),
+                                        feature.getText(),
+                                        feature.getHighlight()
+                                ), Collectors.toList())));
+        Map<UUID, List<PackageEntry>> packagesByService = packages.stream()
+                .collect(Collectors.groupingBy(pkg -> pkg.getService().getId(),
+                        Collectors.mapping(pkg -> new PackageEntry(pkg.getCreatedAt(),
+                                toPackageResponse(pkg, featuresByPackage.getOrDefault(pkg.getId(), List.of()))),
+                                Collectors.toList())));
+
+        Map<UUID, List<ServiceFeaturePublicResponse>> featuresByService = activeServiceIds.isEmpty() ? Map.of() :
+                serviceRepository.findServiceFeaturesByServiceIdIn(activeServiceIds).stream()
+                        .collect(Collectors.groupingBy(feature -> feature.getService().getId(),
+                                Collectors.mapping(feature -> new ServiceFeaturePublicResponse(
+                                        feature.getId(),
+                                        feature.getText(),
+                                        "", // Description not available in entity
+                                        "" // Icon not available in entity
+                                ), Collectors.toList())));
+        Map<UUID, List<ServiceFaqsPublicResponse>> faqsByService = activeServiceIds.isEmpty() ? Map.of() :
+                serviceRepository.findServiceFaqsByServiceIdIn(activeServiceIds).stream()
+                        .collect(Collectors.groupingBy(faq -> faq.getService().getId(),
+                                Collectors.mapping(faq -> new ServiceFaqsPublicResponse(
+                                        faq.getId(),
+                                        faq.getQuestion(),
+                                        faq.getAnswer()
+                                ), Collectors.toList())));
+
+        Map<UUID, ServiceEntry> services = new HashMap<>();
+        for (ServiceCatalogRow row : rows) {
+            services.put(row.serviceId(), toServiceEntry(row,
+                    packagesByService.getOrDefault(row.serviceId(), List.of()),
+                    featuresByService.getOrDefault(row.serviceId(), List.of()),
+                    faqsByService.getOrDefault(row.serviceId(), List.of())));
+        }
+        return services;
+    }
+
+    private static ServiceEntry toServiceEntry(ServiceCatalogRow service, List<PackageEntry> packages,
+                                               List<ServiceFeaturePublicResponse> features,
+                                               List<ServiceFaqsPublicResponse> faqs) {
+        ServicePageDataResponse page = null;
+        if (Boolean.TRUE.equals(service.active())) {
+            page = new ServicePageDataResponse(
+                    service.serviceId(),
+                    service.slug(),
+                    service.serviceTitle(),
+                    service.subtitle(),
+                    packages.stream().map(PackageEntry::response).toList(),
+                    features,
+                    faqs
+            );
+        }
+
+        return new ServiceEntry(
+                service.serviceId(),
+                service.categoryId(),
+                service.createdAt(),
+                service.slug(),
+                service.serviceTitle(),
+                service.subtitle(),
+                page,
+                packages
+        );
+    }
+
+    private static ServicePackageResponse toPackageResponse(Package pkg, List<PackageFeatureResponse> features) {
+        return new ServicePackageResponse(
+                pkg.getId(),
+                pkg.getTitle(),
+                pkg.getSubtitle(),
+                new PackagePricingResponse(
+                        pkg.getPricing().getUsd(),
+                        pkg.getPricing().getBdt()
+                ),
+                features,
+                pkg.getStatus().name().toLowerCase(),
+                pkg.getDeliveryTime(),
+                pkg.getAdvancePercentage() != null ? pkg.getAdvancePercentage() + "% advance" : "Full payment",
+                pkg.getPopular()
+        );
+    }
+
+    /**
+     * Derive every public view from the categories and service entries
+     */
+    private static Snapshot assemble(List<CategoryPublicResponse> categories, Map<UUID, ServiceEntry> services) {
+        List<ServiceEntry> ordered = services.values().stream().sorted(SERVICE_ORDER).toList();
+        List<ServiceEntry> active = ordered.stream().filter(ServiceEntry::isActive).toList();
+
+        List<ServicePublicResponse> activeServices = active.stream()
+                .map(entry -> new ServicePublicResponse(entry.id(), entry.slug(), entry.title(), entry.subtitle()))
+                .toList();
+
+        List<SubmenuCategoryResponse> navigation = categories.stream()
+                .map(category -> new SubmenuCategoryResponse(
+                        category.id(),
+                        category.name(),
+                        active.stream()
+                                .filter(entry -> entry.categoryId().equals(category.id()))
+                                .map(entry -> new SubmenuItemResponse(entry.id(), entry.title(), entry.slug()))
+                                .toList()
+                ))
+                .filter(category -> !category.items().isEmpty()) // Only categories with active services
+                .toList();
+
+        List<ServiceFilterResponse> servicesForFilter = active.stream()
+                .map(entry -> new ServiceFilterResponse(entry.id(), entry.title()))
+                .toList();
+
+        List<ServicePackageResponse> packages = ordered.stream()
+                .flatMap(entry -> entry.packages().stream())
+                .sorted(PACKAGE_ORDER)
+                .map(PackageEntry::response)
+                .toList();
+
+        Map<String, ServicePageDataResponse> pagesBySlug = new LinkedHashMap<>();
+        active.forEach(entry -> pagesBySlug.put(entry.slug(), entry.page()));
+
+        PublicCatalog catalog = new PublicCatalog(categories, activeServices, navigation, servicesForFilter,
+                packages, Map.copyOf(pagesBySlug));
+        return new Snapshot(categories, Map.copyOf(services), catalog);
+    }
+
+    /**
+     * Catalog plus the per-service entries it was derived from (reused by incremental refreshes)
+     */
+    private record Snapshot(List<CategoryPublicResponse> categories, Map<UUID, ServiceEntry> services, PublicCatalog catalog) {
+    }
+
+    private record ServiceEntry(UUID id, UUID categoryId, LocalDateTime createdAt, String slug, String title,
+                                String subtitle, ServicePageDataResponse page, List<PackageEntry> packages) {
+        boolean isActive() {
+            return page != null;
+        }
+    }
+
+    private record PackageEntry(LocalDateTime createdAt, ServicePackageResponse response) {
+    }
+}
@@ -16,32 +16,30 @@ import com.wafipix.wafipix.modules.service.dto.admin.response.ServiceFeatureResp
 import com.wafipix.wafipix.modules.service.dto.admin.response.ServiceListResponse;
 import com.wafipix.wafipix.modules.service.dto.admin.response.ServiceResponse;
 import com.wafipix.wafipix.modules.service.dto.response.CategoryPublicResponse;
-import com.wafipix.wafipix.modules.service.dto.response.PackageFeatureResponse;
-import com.wafipix.wafipix.modules.service.dto.response.PackagePricingResponse;
-import com.wafipix.wafipix.modules.service.dto.response.ServiceFaqsPublicResponse;
-import com.wafipix.wafipix.modules.service.dto.response.ServiceFeaturePublicResponse;
 import com.wafipix.wafipix.modules.service.dto.response.ServicePageDataResponse;
 import com.wafipix.wafipix.modules.service.dto.response.ServicePackageResponse;
 import com.wafipix.wafipix.modules.service.dto.response.ServicePublicResponse;
 import com.wafipix.wafipix.modules.service.dto.response.ServiceFilterResponse;
 import com.wafipix.wafipix.modules.service.dto.response.SubmenuCategoryResponse;
-import com.wafipix.wafipix.modules.service.dto.response.SubmenuItemResponse;
 import com.wafipix.wafipix.modules.service.entity.Category;
 import com.wafipix.wafipix.modules.service.entity.FAQ;
 import com.wafipix.wafipix.modules.service.entity.Service;
 import com.wafipix.wafipix.modules.service.entity.ServiceFeature;
+import com.wafipix.wafipix.modules.service.event.ServiceCatalogChangedEvent;
 import com.wafipix.wafipix.modules.service.mapper.ServiceMapper;
 import com.wafipix.wafipix.modules.service.repository.CategoryRepository;
-import com.wafipix.wafipix.modules.service.repository.PackageRepository;
 import com.wafipix.wafipix.modules.service.repository.ServiceRepository;
+import com.wafipix.wafipix.modules.service.service.PublicCatalogService;
 import com.wafipix.wafipix.modules.service.service.ServiceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
@@ -56,12 +54,13 @@ public class ServiceServiceImpl implements ServiceService {
     
     private final ServiceRepository serviceRepository;
     private final CategoryRepository categoryRepository;
-    private final PackageRepository packageRepository;
     private final ServiceMapper serviceMapper;
     private final FileService fileService;
+    private final TransactionTemplate transactionTemplate;
+    private final PublicCatalogService publicCatalogService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
-    @Transactional
     public ServiceResponse createService(CreateServiceRequest request, MultipartFile icon) {
         log.info("Creating service with title: {}", request.getTitle());
         
@@ -74,38 +73,43 @@ public class ServiceServiceImpl implements ServiceService {
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + request.getCategoryId()));
         
-        // Generate unique slug
-        String baseSlug = SlugUtil.generateSlug(request.getTitle());
-        String uniqueSlug = SlugUtil.generateUniqueSlug(baseSlug, serviceRepository::existsBySlugIgnoreCase);
+        // Upload icon before the transaction is opened
+        FileService.StagedFile stagedIcon = stageIcon(icon);
         
-        // Upload icon
-        String iconUrl;
+        Service savedService;
         try {
-            var uploadedFile = fileService.uploadFile(icon, "services/icons");
-            iconUrl = uploadedFile.getPublicUrl();
-            log.info("Icon uploaded successfully: {}", iconUrl);
-        } catch (Exception e) {
-            log.error("Failed to upload icon: {}", e.getMessage());
-            throw new BusinessException("Failed to upload icon: " + e.getMessage());
+            savedService = transactionTemplate.execute(status -> {
+                String iconUrl = fileService.commitStagedFile(stagedIcon).getPublicUrl();
+                
+                // Generate unique slug
+                String baseSlug = SlugUtil.generateSlug(request.getTitle());
+                String uniqueSlug = SlugUtil.generateUniqueSlug(baseSlug, serviceRepository::existsBySlugIgnoreCase);
+                
+                // Create service entity
+                Service service = Service.builder()
+                        .title(request.getTitle())
+                        .slug(uniqueSlug)
+                        .subtitle(request.getSubtitle())
+                        .description(request.getDescription())
+                        .icon(iconUrl)
+                        .category(category)
+                        .active(true)
+                        .build();
+                
+                Service saved = serviceRepository.save(service);
+                eventPublisher.publishEvent(ServiceCatalogChangedEvent.services(this, saved.getId()));
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            fileService.discardStagedFiles(List.of(stagedIcon));
+            throw e;
         }
         
-        // Create service entity
-        Service service = Service.builder()
-                .title(request.getTitle())
-                .slug(uniqueSlug)
-                .subtitle(request.getSubtitle())
-                .description(request.getDescription())
-                .icon(iconUrl)
-                .category(category)
-                .active(true)
-                .build();
-        
-        Service savedService = serviceRepository.save(service);
-        
         log.info("Service created successfully with ID: {}", savedService.getId());
         return serviceMapper.toResponse(savedService);
     }
     
+    
     @Override
     public List<ServiceResponse> getAllServices() {
         log.info("Fetching all services");
@@ -173,58 +177,73 @@ public class ServiceServiceImpl implements ServiceService {
     }
     
     @Override
-    @Transactional
     public ServiceResponse updateService(UUID id, UpdateServiceRequest request, MultipartFile icon) {
         log.info("Updating service with ID: {}", id);
         
-        Service service = serviceRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Service not found with ID: " + id));
+        if (!serviceRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Service not found with ID: " + id);
+        }
         
         // Check if another service with same title already exists
         if (serviceRepository.existsByTitleIgnoreCaseAndIdNot(request.getTitle(), id)) {
             throw new BusinessException("Service with title '" + request.getTitle() + "' already exists");
         }
         
-        // Handle category update if provided
-        Category category = null;
-        if (request.getCategoryId() != null) {
-            category = categoryRepository.findById(request.getCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + request.getCategoryId()));
-        }
+        // Upload new icon before the transaction is opened
+        FileService.StagedFile stagedIcon = icon != null && !icon.isEmpty() ? stageIcon(icon) : null;
+        String[] oldIconUrl = new String[1];
         
-        // Handle icon update if provided
-        String iconUrl = null;
-        if (icon != null && !icon.isEmpty()) {
-            try {
-                // Delete old icon if exists
-                if (service.getIcon() != null) {
-                    fileService.deleteFileByUrl(service.getIcon());
-                    log.info("Old icon deleted: {}", service.getIcon());
+        Service updatedService;
+        try {
+            updatedService = transactionTemplate.execute(status -> {
+                Service service = serviceRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Service not found with ID: " + id));
+                
+                // Handle category update if provided
+                Category category = null;
+                if (request.getCategoryId() != null) {
+                    category = categoryRepository.findById(request.getCategoryId())
+                            .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + request.getCategoryId()));
                 }
                 
-                // Upload new icon
-                var uploadedFile = fileService.uploadFile(icon, "services/icons");
-                iconUrl = uploadedFile.getPublicUrl();
-                log.info("New icon uploaded successfully: {}", iconUrl);
-            } catch (Exception e) {
-                log.error("Failed to update icon: {}", e.getMessage());
-                throw new BusinessException("Failed to update icon: " + e.getMessage());
+                // Handle icon update if provided
+                String iconUrl = null;
+                if (stagedIcon != null) {
+                    iconUrl = fileService.commitStagedFile(stagedIcon).getPublicUrl();
+                    oldIconUrl[0] = service.getIcon();
+                }
+                
+                // Update service
+                serviceMapper.updateEntity(service, request, category, iconUrl);
+                
+                // Regenerate slug if title changed
+                if (request.getTitle() != null && !request.getTitle().equals(service.getTitle())) {
+                    String baseSlug = SlugUtil.generateSlug(request.getTitle());
+                    String uniqueSlug = SlugUtil.generateUniqueSlug(baseSlug, slug -> 
+                        serviceRepository.existsBySlugIgnoreCaseAndIdNot(slug, id));
+                    service.setSlug(uniqueSlug);
+                }
+                
+                eventPublisher.publishEvent(ServiceCatalogChangedEvent.services(this, id));
+                return serviceRepository.save(service);
+            });
+        } catch (RuntimeException e) {
+            if (stagedIcon != null) {
+                fileService.discardStagedFiles(List.of(stagedIcon));
             }
+            throw e;
         }
         
-        // Update service
-        serviceMapper.updateEntity(service, request, category, iconUrl);
-        
-        // Regenerate slug if title changed
-        if (request.getTitle() != null && !request.getTitle().equals(service.getTitle())) {
-            String baseSlug = SlugUtil.generateSlug(request.getTitle());
-            String uniqueSlug = SlugUtil.generateUniqueSlug(baseSlug, slug -> 
-                serviceRepository.existsBySlugIgnoreCaseAndIdNot(slug, id));
-            service.setSlug(uniqueSlug);
+        // Delete old icon once the new one is committed
+        if (oldIconUrl[0] != null) {
+            try {
+                fileService.deleteFileByUrl(oldIconUrl[0]);
+                log.info("Old icon deleted: {}", oldIconUrl[0]);
+            } catch (Exception e) {
+                log.error("Failed to delete old icon {}: {}", oldIconUrl[0], e.getMessage());
+            }
         }
         
-        Service updatedService = serviceRepository.save(service);
-        
         log.info("Service updated successfully with ID: {}", updatedService.getId());
         return serviceMapper.toResponse(updatedService);
     }
@@ -259,6 +278,7 @@ public class ServiceServiceImpl implements ServiceService {
         
         // Delete service
         serviceRepository.delete(service);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.services(this, id));
         
         log.info("Service deleted successfully with ID: {}", id);
     }
@@ -273,6 +293,7 @@ public class ServiceServiceImpl implements ServiceService {
         
         service.setActive(active);
         serviceRepository.save(service);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.services(this, id));
         
         log.info("Service activity status updated successfully with ID: {} to: {}", id, active);
     }
@@ -370,6 +391,7 @@ public class ServiceServiceImpl implements ServiceService {
         // Step 4: Set the new features and save
         service.setFeatures(newFeatures);
         serviceRepository.save(service);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.services(this, service.getId()));
         
         // Step 5: Return response
         List<ServiceFeatureResponse> responses = newFeatures.stream()
@@ -412,6 +434,7 @@ public class ServiceServiceImpl implements ServiceService {
         // Step 4: Set the new FAQs and save
         service.setFaqs(newFaqs);
         serviceRepository.save(service);
+        eventPublisher.publishEvent(ServiceCatalogChangedEvent.services(this, service.getId()));
         
         // Step 5: Return response
         List<ServiceFAQResponse> responses = newFaqs.stream()
@@ -428,181 +451,56 @@ public class ServiceServiceImpl implements ServiceService {
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found with ID: " + id));
     }
     
-    // New Public API Implementations
+    // New Public API Implementations, served from the in-memory catalog snapshot
     @Override
     public List<ServicePublicResponse> getPublicActiveServices() {
-        log.info("Fetching active services for public display");
-        
-        List<Service> activeServices = serviceRepository.findActiveServices();
-        log.info("Found {} active services", activeServices.size());
-        
-        return activeServices.stream()
-                .map(service -> new ServicePublicResponse(
-                        service.getId(),
-                        service.getSlug(),
-                        service.getTitle(),
-                        service.getSubtitle()
-                ))
-                .collect(Collectors.toList());
+        log.debug("Fetching active services for public display");
+        return publicCatalogService.getCatalog().activeServices();
     }
     
     @Override
-    @Transactional(readOnly = true)
     public ServicePageDataResponse getPublicServiceBySlug(String slug) {
-        log.info("Fetching service by slug for public display: {}", slug);
-        
-        Service service = serviceRepository.findBySlugAndActiveTrue(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Active service not found with slug: " + slug));
-        
-        // Map packages - use repository method to get packages in creation order
-        List<com.wafipix.wafipix.modules.service.entity.Package> orderedPackages = packageRepository.findActivePackagesByServiceId(service.getId());
-        List<ServicePackageResponse> packageResponses = orderedPackages.stream()
-                .map(pkg -> new ServicePackageResponse(
-                        pkg.getId(),
-                        pkg.getTitle(),
-                        pkg.getSubtitle(),
-                        new PackagePricingResponse(
-                                pkg.getPricing().getUsd(),
-                                pkg.getPricing().getBdt()
-                        ),
-                        pkg.getFeatures().stream()
-                                .map(feature -> new PackageFeatureResponse(
-                                        feature.getId(), // Use actual feature ID
-                                        feature.getText(),
-                                        feature.getHighlight()
-                                ))
-                                .collect(Collectors.toList()),
-                        pkg.getStatus().name().toLowerCase(),
-                        pkg.getDeliveryTime(),
-                        pkg.getAdvancePercentage() != null ? pkg.getAdvancePercentage() + "% advance" : "Full payment",
-                        pkg.getPopular()
-                ))
-                .collect(Collectors.toList());
-        
-        // Map features - use repository method to get features in creation order
-        List<ServiceFeature> orderedFeatures = serviceRepository.findServiceFeaturesOrderedByCreation(service.getId());
-        List<ServiceFeaturePublicResponse> featureResponses = orderedFeatures.stream()
-                .map(feature -> new ServiceFeaturePublicResponse(
-                        feature.getId(), // Use actual feature ID
-                        feature.getText(),
-                        "", // Description not available in entity
-                        "" // Icon not available in entity
-                ))
-                .collect(Collectors.toList());
-        
-        // Map FAQs - use repository method to get FAQs in creation order
-        List<FAQ> orderedFaqs = serviceRepository.findServiceFaqsOrderedByCreation(service.getId());
-        List<ServiceFaqsPublicResponse> faqResponses = orderedFaqs.stream()
-                .map(faq -> new ServiceFaqsPublicResponse(
-                        faq.getId(), // Use actual FAQ ID
-                        faq.getQuestion(),
-                        faq.getAnswer()
-                ))
-                .collect(Collectors.toList());
+        log.debug("Fetching service by slug for public display: {}", slug);
         
-        return new ServicePageDataResponse(
-                service.getId(),
-                service.getSlug(),
-                service.getTitle(),
-                service.getSubtitle(),
-                packageResponses,
-                featureResponses,
-                faqResponses
-        );
+        ServicePageDataResponse page = publicCatalogService.getCatalog().servicePagesBySlug().get(slug);
+        if (page == null) {
+            throw new ResourceNotFoundException("Active service not found with slug: " + slug);
+        }
+        return page;
     }
     
     @Override
     public List<ServicePackageResponse> getAllPublicServicePackages() {
-        log.info("Fetching all active service packages for public display");
-        
-        // Get all active packages across all services, ordered by creation time
-        List<com.wafipix.wafipix.modules.service.entity.Package> allOrderedPackages = packageRepository.findAllActivePackagesOrdered();
-        
-        List<ServicePackageResponse> allPackages = allOrderedPackages.stream()
-                .map(pkg -> new ServicePackageResponse(
-                        pkg.getId(),
-                        pkg.getTitle(),
-                        pkg.getSubtitle(),
-                        new PackagePricingResponse(
-                                pkg.getPricing().getUsd(),
-                                pkg.getPricing().getBdt()
-                        ),
-                        pkg.getFeatures().stream()
-                                .map(feature -> new PackageFeatureResponse(
-                                        feature.getId(), // Use actual feature ID
-                                        feature.getText(),
-                                        feature.getHighlight()
-                                ))
-                                .collect(Collectors.toList()),
-                        pkg.getStatus().name().toLowerCase(),
-                        pkg.getDeliveryTime(),
-                        pkg.getAdvancePercentage() != null ? pkg.getAdvancePercentage() + "% advance" : "Full payment",
-                        pkg.getPopular()
-                ))
-                .collect(Collectors.toList());
-        
-        log.info("Found {} total packages ordered by creation time", allPackages.size());
-        return allPackages;
+        log.debug("Fetching all active service packages for public display");
+        return publicCatalogService.getCatalog().packages();
     }
     
     @Override
     public List<CategoryPublicResponse> getPublicServiceCategories() {
-        log.info("Fetching service categories for public display");
-        
-        List<Category> categories = categoryRepository.findAllOrderedByCreatedAt();
-        log.info("Found {} categories", categories.size());
-        
-        return categories.stream()
-                .map(category -> new CategoryPublicResponse(
-                        category.getId(),
-                        category.getTitle(),
-                        category.getSubtitle()
-                ))
-                .collect(Collectors.toList());
+        log.debug("Fetching service categories for public display");
+        return publicCatalogService.getCatalog().categories();
     }
     
     @Override
     public List<SubmenuCategoryResponse> getServicesForNavigation() {
-        log.info("Fetching services organized by categories for navigation");
-        
-        List<Category> categories = categoryRepository.findAllOrderedByCreatedAt();
-        log.info("Found {} categories for navigation", categories.size());
-        
-        return categories.stream()
-                .map(category -> {
-                    // Get active services for this category
-                    List<SubmenuItemResponse> serviceItems = category.getServices().stream()
-                            .filter(Service::getActive) // Only active services
-                            .map(service -> new SubmenuItemResponse(
-                                    service.getId(),
-                                    service.getTitle(),
-                                    service.getSlug()
-                            ))
-                            .collect(Collectors.toList());
-                    
-                    return new SubmenuCategoryResponse(
-                            category.getId(),
-                            category.getTitle(),
-                            serviceItems
-                    );
-                })
-                .filter(category -> !category.items().isEmpty()) // Only include categories with active services
-                .collect(Collectors.toList());
+        log.debug("Fetching services organized by categories for navigation");
+        return publicCatalogService.getCatalog().navigation();
     }
     
     @Override
     public List<ServiceFilterResponse> getPublicServicesForFilter() {
-        log.info("Fetching active services for filtering");
-        
-        List<Service> activeServices = serviceRepository.findActiveServices();
-        List<ServiceFilterResponse> response = activeServices.stream()
-                .map(service -> new ServiceFilterResponse(
-                        service.getId(),
-                        service.getTitle()
-                ))
-                .collect(Collectors.toList());
-        
-        log.info("Found {} active services for filtering", response.size());
-        return response;
+        log.debug("Fetching active services for filtering");
+        return publicCatalogService.getCatalog().servicesForFilter();
+    }
+    
+    private FileService.StagedFile stageIcon(MultipartFile icon) {
+        try {
+            FileService.StagedFile stagedIcon = fileService.stageFile(icon, "services/icons");
+            log.info("Icon uploaded successfully: {}", stagedIcon.originalFileName());
+            return stagedIcon;
+        } catch (Exception e) {
+            log.error("Failed to upload icon: {}", e.getMessage());
+            throw new BusinessException("Failed to upload icon: " + e.getMessage());
+        }
     }
 }
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import com.wafipix.wafipix.common.entity.Auditable;
 import com.wafipix.wafipix.modules.user.enums.AuthProvider;
@@ -54,6 +55,12 @@ public class User extends Auditable {
     @Builder.Default
     @Column(nullable = false)
     private Boolean isActive = true;
+
+    // Carried in issued tokens, incrementing it revokes all of them
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer tokenVersion = 0;
     
     // Helper methods
     public String getFullName() {
@@ -1,6 +1,7 @@
 package com.wafipix.wafipix.modules.work.controller;
 
 import com.wafipix.wafipix.common.dto.ApiResponse;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
 import com.wafipix.wafipix.modules.work.dto.request.CreateGalleryRequest;
 import com.wafipix.wafipix.modules.work.dto.request.CreateWorkRequest;
 import com.wafipix.wafipix.modules.work.dto.request.RemoveGalleryFilesRequest;
@@ -43,6 +44,19 @@ public class WorkControllerAdmin {
         return ResponseEntity.ok(workService.createWork(request));
     }
 
+    @PostMapping("/jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UploadJobResponse>> submitWorkCreation(
+            @Valid @ModelAttribute CreateWorkRequest request) {
+        log.info("Submitting work creation job: {}", request.getTitle());
+        ApiResponse<UploadJobResponse> response = workService.submitWorkCreation(request);
+        if (!response.isSuccess()) {
+            // Rejected submissions (e.g. a full job queue) carry their status, nothing was accepted
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+        return ResponseEntity.accepted().body(response);
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Page<WorkListResponse>>> getAllWorks(Pageable pageable) {
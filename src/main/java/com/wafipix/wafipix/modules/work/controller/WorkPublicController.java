@@ -1,9 +1,12 @@
 package com.wafipix.wafipix.modules.work.controller;
 
+import com.wafipix.wafipix.common.cache.ResponseBytesCache;
 import com.wafipix.wafipix.common.dto.ApiResponse;
+import com.wafipix.wafipix.modules.work.dto.request.PublicWorksQuery;
+import com.wafipix.wafipix.modules.work.dto.request.WorkFeedQuery;
 import com.wafipix.wafipix.modules.work.dto.response.WorkListPublicResponse;
-import com.wafipix.wafipix.modules.work.dto.response.WorkDetailPublicResponse;
 import com.wafipix.wafipix.modules.work.service.WorkService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -22,30 +25,52 @@ import java.util.UUID;
 public class WorkPublicController {
 
     private final WorkService workService;
+    private final ResponseBytesCache responseBytesCache;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<WorkListPublicResponse>>> getAllWorks(
+    public ResponseEntity<byte[]> getAllWorks(
             @RequestParam(required = false) UUID serviceId,
-            @PageableDefault(size = 12, sort = {"createdAt"}, direction = Sort.Direction.DESC) Pageable pageable
+            @PageableDefault(size = 12, sort = {"createdAt"}, direction = Sort.Direction.DESC) Pageable pageable,
+            HttpServletRequest request
     ) {
         log.info("Public request for all active works with pagination, serviceId: {}", serviceId);
         
-        Page<WorkListPublicResponse> response;
-        if (serviceId != null) {
-            response = workService.getAllPublicWorksByServiceId(serviceId, pageable);
-        } else {
-            response = workService.getAllPublicWorks(pageable);
-        }
-        
-        return ResponseEntity.ok(ApiResponse.success(response, "Active works retrieved successfully"));
+        PublicWorksQuery query = PublicWorksQuery.of(serviceId, pageable);
+        return responseBytesCache.respond(ResponseBytesCache.WORKS, query.cacheKey(), request, () -> {
+            Page<WorkListPublicResponse> response;
+            if (serviceId != null) {
+                response = workService.getAllPublicWorksByServiceId(serviceId, query.pageable());
+            } else {
+                response = workService.getAllPublicWorks(query.pageable());
+            }
+            return ApiResponse.success(response, "Active works retrieved successfully");
+        });
+    }
+
+    /**
+     * Cursor-paged feed for infinite scroll, pass nextCursor of a slice to get the one after it
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<byte[]> getWorkFeed(
+            @RequestParam(required = false) UUID serviceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            HttpServletRequest request
+    ) {
+        log.info("Public request for works feed, serviceId: {}, cursor: {}", serviceId, cursor);
+
+        WorkFeedQuery query = WorkFeedQuery.of(serviceId, cursor, size);
+        return responseBytesCache.respond(ResponseBytesCache.WORKS, query.cacheKey(), request,
+                () -> ApiResponse.success(workService.getPublicWorkFeed(query), "Active works retrieved successfully"));
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<ApiResponse<WorkDetailPublicResponse>> getWorkBySlug(
-            @PathVariable String slug
+    public ResponseEntity<byte[]> getWorkBySlug(
+            @PathVariable String slug,
+            HttpServletRequest request
     ) {
         log.info("Public request for work by slug: {}", slug);
-        WorkDetailPublicResponse response = workService.getPublicWorkBySlug(slug);
-        return ResponseEntity.ok(ApiResponse.success(response, "Work details retrieved successfully"));
+        return responseBytesCache.respond(ResponseBytesCache.WORKS, "slug:" + slug, request,
+                () -> ApiResponse.success(workService.getPublicWorkBySlug(slug), "Work details retrieved successfully"));
     }
 }
@@ -0,0 +1,22 @@
+package com.wafipix.wafipix.modules.work.dto.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row of the public works feed, with the service title and the four media URLs joined in
+ * Image ids are kept to look up their srcset variants in one batch, createdAt is the keyset position
+ */
+public record WorkFeedRow(
+        UUID id,
+        String title,
+        String slug,
+        String serviceTitle,
+        String coverVideo,
+        UUID coverImageId,
+        String coverImage,
+        String profileVideo,
+        UUID profileImageId,
+        String profileImage,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,24 @@
+package com.wafipix.wafipix.modules.work.dto.request;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Public works page as the query runs it, the page size clamped to 1..MAX_PAGE_SIZE
+ * Requests that only differ in out of range parameters share one response cache key
+ */
+public record PublicWorksQuery(UUID serviceId, Pageable pageable) {
+
+    public static final int MAX_PAGE_SIZE = 48;
+
+    public static PublicWorksQuery of(UUID serviceId, Pageable pageable) {
+        int size = Math.max(1, Math.min(pageable.getPageSize(), MAX_PAGE_SIZE));
+        return new PublicWorksQuery(serviceId, PageRequest.of(pageable.getPageNumber(), size, pageable.getSort()));
+    }
+
+    public String cacheKey() {
+        return "list:" + serviceId + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+    }
+}
@@ -0,0 +1,22 @@
+package com.wafipix.wafipix.modules.work.dto.request;
+
+import com.wafipix.wafipix.modules.work.dto.response.FeedCursor;
+
+import java.util.UUID;
+
+/**
+ * Public feed slice as the query runs it: the size clamped to 1..MAX_PAGE_SIZE and the cursor decoded
+ * Equal slices share one response cache key, a blank cursor is the first slice and an invalid one fails here
+ */
+public record WorkFeedQuery(UUID serviceId, FeedCursor after, int limit) {
+
+    public static WorkFeedQuery of(UUID serviceId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, PublicWorksQuery.MAX_PAGE_SIZE));
+        FeedCursor after = cursor != null && !cursor.isBlank() ? FeedCursor.decode(cursor) : null;
+        return new WorkFeedQuery(serviceId, after, limit);
+    }
+
+    public String cacheKey() {
+        return "feed:" + serviceId + ":" + (after == null ? "" : after.encode()) + ":" + limit;
+    }
+}
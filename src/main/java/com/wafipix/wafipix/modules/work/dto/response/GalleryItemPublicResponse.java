@@ -1,10 +1,13 @@
 package com.wafipix.wafipix.modules.work.dto.response;
 
+import com.wafipix.wafipix.modules.filemanagement.dto.response.ImageVariantResponse;
+
+import java.util.List;
 import java.util.UUID;
 
 public record GalleryItemPublicResponse(
         UUID id,
         String type, // "image" or "video"
-        String url
+        String url,
+        List<ImageVariantResponse> srcset // resized renditions, empty for videos or while processing
 ) {}
-
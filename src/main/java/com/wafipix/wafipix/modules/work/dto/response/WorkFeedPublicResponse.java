@@ -0,0 +1,11 @@
+package com.wafipix.wafipix.modules.work.dto.response;
+
+import java.util.List;
+
+/**
+ * Slice of the public works feed, nextCursor is null on the last slice
+ */
+public record WorkFeedPublicResponse(
+        List<WorkListPublicResponse> items,
+        String nextCursor
+) {}
@@ -1,5 +1,8 @@
 package com.wafipix.wafipix.modules.work.dto.response;
 
+import com.wafipix.wafipix.modules.filemanagement.dto.response.ImageVariantResponse;
+
+import java.util.List;
 import java.util.UUID;
 
 public record WorkListPublicResponse(
@@ -10,6 +13,7 @@ public record WorkListPublicResponse(
         String coverVideo,
         String coverImage,
         String profileVideo,
-        String profileImage
+        String profileImage,
+        List<ImageVariantResponse> coverImageSrcset,
+        List<ImageVariantResponse> profileImageSrcset
 ) {}
-
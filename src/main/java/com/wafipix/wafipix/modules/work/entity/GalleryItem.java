@@ -22,7 +22,7 @@ public class GalleryItem extends Auditable {
     @JoinColumn(name = "gallery_id", nullable = false)
     private Gallery gallery;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "file_id", nullable = false)
     private File file;
 }
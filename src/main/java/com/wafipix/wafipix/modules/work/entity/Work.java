@@ -14,7 +14,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "works")
+@Table(name = "works",
+       indexes = {
+           // Keyset order of the public feed, overall and per service
+           @Index(name = "idx_works_active_created_at_id", columnList = "active, created_at DESC, id DESC"),
+           @Index(name = "idx_works_service_active_created_at_id", columnList = "service_id, active, created_at DESC, id DESC")
+       })
 @Setter
 @Getter
 @Builder
@@ -35,19 +40,19 @@ public class Work extends Auditable {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cover_video_id")
     private File coverVideo;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cover_image_id")
     private File coverImage;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "profile_video_id")
     private File profileVideo;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "profile_image_id")
     private File profileImage;
 
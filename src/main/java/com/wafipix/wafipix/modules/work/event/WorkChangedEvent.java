@@ -0,0 +1,20 @@
+package com.wafipix.wafipix.modules.work.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Published by admin writes that change a work or its gallery (listeners run after commit)
+ */
+@Getter
+public class WorkChangedEvent extends ApplicationEvent {
+
+    private final UUID workId;
+
+    public WorkChangedEvent(Object source, UUID workId) {
+        super(source);
+        this.workId = workId;
+    }
+}
@@ -0,0 +1,43 @@
+package com.wafipix.wafipix.modules.work.listener;
+
+import com.wafipix.wafipix.common.cache.AggregateVersions;
+import com.wafipix.wafipix.common.cache.ResponseBytesCache;
+import com.wafipix.wafipix.modules.filemanagement.event.FileVariantsGeneratedEvent;
+import com.wafipix.wafipix.modules.service.event.ServiceCatalogChangedEvent;
+import com.wafipix.wafipix.modules.work.event.WorkChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached public work responses and moves their validators once a change is committed
+ * Synchronous, so the admin request returns only after readers can no longer see the old bodies
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkCacheEventListener {
+
+    private final ResponseBytesCache responseBytesCache;
+    private final AggregateVersions aggregateVersions;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleWorkChanged(WorkChangedEvent event) {
+        responseBytesCache.invalidate(ResponseBytesCache.WORKS);
+        aggregateVersions.invalidate(AggregateVersions.WORKS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleFileVariantsGenerated(FileVariantsGeneratedEvent event) {
+        responseBytesCache.invalidate(ResponseBytesCache.WORKS);
+        aggregateVersions.invalidate(AggregateVersions.WORKS);
+    }
+
+    // Work bodies carry the title of their service
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleServiceCatalogChanged(ServiceCatalogChangedEvent event) {
+        if (!event.getServiceIds().isEmpty()) {
+            responseBytesCache.invalidate(ResponseBytesCache.WORKS);
+            aggregateVersions.invalidate(AggregateVersions.WORKS);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.wafipix.wafipix.modules.work.mapper;
 
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
 import com.wafipix.wafipix.modules.filemanagement.mapper.FileMapper;
 import com.wafipix.wafipix.modules.service.mapper.ServiceMapper;
 import com.wafipix.wafipix.modules.work.dto.response.WorkListResponse;
@@ -8,12 +9,15 @@ import com.wafipix.wafipix.modules.work.dto.response.WorkListPublicResponse;
 import com.wafipix.wafipix.modules.work.dto.response.WorkDetailPublicResponse;
 import com.wafipix.wafipix.modules.work.dto.response.GalleryPublicResponse;
 import com.wafipix.wafipix.modules.work.dto.response.GalleryItemPublicResponse;
+import com.wafipix.wafipix.modules.work.dto.projection.WorkFeedRow;
 import com.wafipix.wafipix.modules.work.entity.Work;
 import com.wafipix.wafipix.modules.work.entity.Gallery;
 import com.wafipix.wafipix.modules.work.entity.GalleryItem;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class WorkMapper {
@@ -67,22 +71,28 @@ public class WorkMapper {
     }
 
     // Public API mapping methods
-    public WorkListPublicResponse toPublicListResponse(Work work) {
-        if (work == null) return null;
+    public WorkListPublicResponse toPublicListResponse(WorkFeedRow row, Map<UUID, List<FileVariant>> variantsByFileId) {
+        if (row == null) return null;
 
         return new WorkListPublicResponse(
-                work.getId(),
-                work.getTitle(),
-                work.getSlug(),
-                work.getService() != null ? work.getService().getTitle() : null,
-                work.getCoverVideo() != null ? work.getCoverVideo().getPublicUrl() : null,
-                work.getCoverImage() != null ? work.getCoverImage().getPublicUrl() : null,
-                work.getProfileVideo() != null ? work.getProfileVideo().getPublicUrl() : null,
-                work.getProfileImage() != null ? work.getProfileImage().getPublicUrl() : null
+                row.id(),
+                row.title(),
+                row.slug(),
+                row.serviceTitle(),
+                row.coverVideo(),
+                row.coverImage(),
+                row.profileVideo(),
+                row.profileImage(),
+                fileMapper.toVariantResponses(row.coverImageId() != null ? variantsByFileId.get(row.coverImageId()) : null),
+                fileMapper.toVariantResponses(row.profileImageId() != null ? variantsByFileId.get(row.profileImageId()) : null)
         );
     }
 
-    public WorkDetailPublicResponse toPublicDetailResponse(Work work) {
+    /**
+     * Detail of a work whose galleries and items were loaded separately, items keyed by gallery id
+     */
+    public WorkDetailPublicResponse toPublicDetailResponse(Work work, List<Gallery> galleries,
+                                                           Map<UUID, List<GalleryItem>> itemsByGallery) {
         if (work == null) return null;
 
         return new WorkDetailPublicResponse(
@@ -94,23 +104,21 @@ public class WorkMapper {
                 work.getCoverImage() != null ? work.getCoverImage().getPublicUrl() : null,
                 work.getProfileVideo() != null ? work.getProfileVideo().getPublicUrl() : null,
                 work.getProfileImage() != null ? work.getProfileImage().getPublicUrl() : null,
-                work.getGalleries() != null ? 
-                    work.getGalleries().stream()
-                        .map(this::toPublicGalleryResponse)
-                        .toList() : List.of()
+                galleries.stream()
+                        .map(gallery -> toPublicGalleryResponse(gallery, itemsByGallery.getOrDefault(gallery.getId(), List.of())))
+                        .toList()
         );
     }
 
-    public GalleryPublicResponse toPublicGalleryResponse(Gallery gallery) {
+    public GalleryPublicResponse toPublicGalleryResponse(Gallery gallery, List<GalleryItem> items) {
         if (gallery == null) return null;
 
         return new GalleryPublicResponse(
                 gallery.getId(),
                 gallery.getIsMobileGrid(),
-                gallery.getItems() != null ? 
-                    gallery.getItems().stream()
+                items.stream()
                         .map(this::toPublicGalleryItemResponse)
-                        .toList() : List.of()
+                        .toList()
         );
     }
 
@@ -129,7 +137,8 @@ public class WorkMapper {
         return new GalleryItemPublicResponse(
                 galleryItem.getId(),
                 type,
-                galleryItem.getFile() != null ? galleryItem.getFile().getPublicUrl() : null
+                galleryItem.getFile() != null ? galleryItem.getFile().getPublicUrl() : null,
+                fileMapper.toVariantResponses(galleryItem.getFile())
         );
     }
 }
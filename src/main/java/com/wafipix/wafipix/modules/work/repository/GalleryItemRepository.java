@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,5 +20,13 @@ public interface GalleryItemRepository extends JpaRepository<GalleryItem, UUID>
            "WHERE gi.gallery.id = :galleryId")
     List<GalleryItem> findByGalleryIdWithFile(@Param("galleryId") UUID galleryId);
 
+    // Items of several galleries with their files and srcset variants, in display order
+    @Query("SELECT gi FROM GalleryItem gi " +
+           "LEFT JOIN FETCH gi.file f " +
+           "LEFT JOIN FETCH f.variants v " +
+           "WHERE gi.gallery.id IN :galleryIds " +
+           "ORDER BY gi.createdAt ASC, gi.id ASC, v.width ASC")
+    List<GalleryItem> findByGalleryIdInWithFile(@Param("galleryIds") Collection<UUID> galleryIds);
+
     boolean existsByGalleryIdAndFileId(UUID galleryId, UUID fileId);
 }
@@ -15,6 +15,9 @@ public interface GalleryRepository extends JpaRepository<Gallery, UUID> {
 
     List<Gallery> findByWorkId(UUID workId);
 
+    // Public detail, items are loaded separately for all galleries at once
+    List<Gallery> findByWorkIdOrderByCreatedAtAscIdAsc(UUID workId);
+
     @Query("SELECT g FROM Gallery g " +
            "LEFT JOIN FETCH g.items gi " +
            "LEFT JOIN FETCH gi.file " +
@@ -1,5 +1,6 @@
 package com.wafipix.wafipix.modules.work.repository;
 
+import com.wafipix.wafipix.modules.work.dto.projection.WorkFeedRow;
 import com.wafipix.wafipix.modules.work.entity.Work;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,20 +37,48 @@ public interface WorkRepository extends JpaRepository<Work, UUID> {
            "WHERE w.slug = :slug")
     Optional<Work> findBySlugWithFiles(@Param("slug") String slug);
 
-    @Query("SELECT w FROM Work w " +
-           "LEFT JOIN FETCH w.service " +
-           "WHERE w.active = :active")
-    Page<Work> findAllByActive(@Param("active") Boolean active, Pageable pageable);
-
     @Query("SELECT w FROM Work w " +
            "LEFT JOIN FETCH w.service " +
            "WHERE w.service.id = :serviceId")
     Page<Work> findAllByServiceId(@Param("serviceId") UUID serviceId, Pageable pageable);
 
-    @Query("SELECT w FROM Work w " +
-           "LEFT JOIN FETCH w.service " +
-           "WHERE w.service.id = :serviceId AND w.active = :active")
-    Page<Work> findAllByServiceIdAndActive(@Param("serviceId") UUID serviceId, @Param("active") Boolean active, Pageable pageable);
+    // Public feed, read as rows so the media files are not loaded one by one
+    String FEED_ROWS = "SELECT new com.wafipix.wafipix.modules.work.dto.projection.WorkFeedRow(" +
+                       "w.id, w.title, w.slug, s.title, cv.publicUrl, ci.id, ci.publicUrl, pv.publicUrl, pi.id, pi.publicUrl, w.createdAt) " +
+                       "FROM Work w " +
+                       "LEFT JOIN w.service s " +
+                       "LEFT JOIN w.coverVideo cv " +
+                       "LEFT JOIN w.coverImage ci " +
+                       "LEFT JOIN w.profileVideo pv " +
+                       "LEFT JOIN w.profileImage pi ";
+
+    // Keyset order, matches the (active, created_at, id) indexes on works
+    String FEED_ORDER = " ORDER BY w.createdAt DESC, w.id DESC";
+
+    @Query(value = FEED_ROWS + "WHERE w.active = true",
+           countQuery = "SELECT COUNT(w) FROM Work w WHERE w.active = true")
+    Page<WorkFeedRow> findPublicFeed(Pageable pageable);
+
+    @Query(value = FEED_ROWS + "WHERE w.service.id = :serviceId AND w.active = true",
+           countQuery = "SELECT COUNT(w) FROM Work w WHERE w.service.id = :serviceId AND w.active = true")
+    Page<WorkFeedRow> findPublicFeedByServiceId(@Param("serviceId") UUID serviceId, Pageable pageable);
+
+    // Keyset slices, the pageable only carries the limit (a List result runs no count query)
+    @Query(FEED_ROWS + "WHERE w.active = true" + FEED_ORDER)
+    List<WorkFeedRow> findPublicFeedSlice(Pageable limit);
+
+    @Query(FEED_ROWS + "WHERE w.active = true AND (w.createdAt, w.id) < (:createdAt, :id)" + FEED_ORDER)
+    List<WorkFeedRow> findPublicFeedSliceAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+                                               Pageable limit);
+
+    @Query(FEED_ROWS + "WHERE w.service.id = :serviceId AND w.active = true" + FEED_ORDER)
+    List<WorkFeedRow> findPublicFeedSliceByServiceId(@Param("serviceId") UUID serviceId, Pageable limit);
+
+    @Query(FEED_ROWS + "WHERE w.service.id = :serviceId AND w.active = true " +
+           "AND (w.createdAt, w.id) < (:createdAt, :id)" + FEED_ORDER)
+    List<WorkFeedRow> findPublicFeedSliceByServiceIdAfter(@Param("serviceId") UUID serviceId,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") UUID id, Pageable limit);
 
     boolean existsBySlug(String slug);
 
@@ -1,12 +1,15 @@
 package com.wafipix.wafipix.modules.work.service;
 
 import com.wafipix.wafipix.common.dto.ApiResponse;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
 import com.wafipix.wafipix.modules.work.dto.request.CreateWorkRequest;
 import com.wafipix.wafipix.modules.work.dto.request.UpdateWorkRequest;
+import com.wafipix.wafipix.modules.work.dto.request.WorkFeedQuery;
 import com.wafipix.wafipix.modules.work.dto.response.WorkListResponse;
 import com.wafipix.wafipix.modules.work.dto.response.WorkResponse;
 import com.wafipix.wafipix.modules.work.dto.response.WorkListPublicResponse;
 import com.wafipix.wafipix.modules.work.dto.response.WorkDetailPublicResponse;
+import com.wafipix.wafipix.modules.work.dto.response.WorkFeedPublicResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -16,6 +19,8 @@ public interface WorkService {
 
     ApiResponse<WorkResponse> createWork(CreateWorkRequest request);
 
+    ApiResponse<UploadJobResponse> submitWorkCreation(CreateWorkRequest request);
+
     ApiResponse<Page<WorkListResponse>> getAllWorks(Pageable pageable);
 
     ApiResponse<WorkResponse> getWorkById(UUID id);
@@ -31,5 +36,10 @@ public interface WorkService {
     // Public API methods
     Page<WorkListPublicResponse> getAllPublicWorks(Pageable pageable);
     Page<WorkListPublicResponse> getAllPublicWorksByServiceId(UUID serviceId, Pageable pageable);
+
+    /**
+     * Newest first, continuing after the cursor of the previous slice; no total is computed
+     */
+    WorkFeedPublicResponse getPublicWorkFeed(WorkFeedQuery query);
     WorkDetailPublicResponse getPublicWorkBySlug(String slug);
 }
@@ -9,6 +9,7 @@ import com.wafipix.wafipix.modules.work.dto.response.GalleryResponse;
 import com.wafipix.wafipix.modules.work.entity.Gallery;
 import com.wafipix.wafipix.modules.work.entity.GalleryItem;
 import com.wafipix.wafipix.modules.work.entity.Work;
+import com.wafipix.wafipix.modules.work.event.WorkChangedEvent;
 import com.wafipix.wafipix.modules.work.mapper.GalleryMapper;
 import com.wafipix.wafipix.modules.work.repository.GalleryItemRepository;
 import com.wafipix.wafipix.modules.work.repository.GalleryRepository;
@@ -16,12 +17,15 @@ import com.wafipix.wafipix.modules.work.repository.WorkRepository;
 import com.wafipix.wafipix.modules.work.service.GalleryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -34,6 +38,8 @@ public class GalleryServiceImpl implements GalleryService {
     private final WorkRepository workRepository;
     private final FileService fileService;
     private final GalleryMapper galleryMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public ApiResponse<List<GalleryResponse>> getWorkGalleries(UUID workId) {
@@ -50,41 +56,40 @@ public class GalleryServiceImpl implements GalleryService {
     }
 
     @Override
-    @Transactional
     public ApiResponse<GalleryResponse> createGallery(UUID workId, CreateGalleryRequest request) {
+        List<FileService.StagedFile> stagedFiles = List.of();
         try {
             Work work = workRepository.findById(workId)
                     .orElseThrow(() -> new RuntimeException("Work not found"));
 
-            // Create gallery
-            Gallery gallery = Gallery.builder()
-                    .work(work)
-                    .isMobileGrid(request.getIsMobileGrid() != null ? request.getIsMobileGrid() : false)
-                    .build();
+            // Write files to storage before opening the transaction
+            if (request.getFiles() != null && !request.getFiles().isEmpty()) {
+                stagedFiles = stageGalleryFiles(request.getFiles());
+            }
+            List<FileService.StagedFile> filesToCommit = stagedFiles;
 
-            Gallery savedGallery = galleryRepository.save(gallery);
+            Gallery savedGallery = transactionTemplate.execute(status -> {
+                // Create gallery
+                Gallery gallery = Gallery.builder()
+                        .work(work)
+                        .isMobileGrid(request.getIsMobileGrid() != null ? request.getIsMobileGrid() : false)
+                        .build();
 
-            // Upload and add files if provided
-            if (request.getFiles() != null && !request.getFiles().isEmpty()) {
-                List<File> uploadedFiles = fileService.uploadFiles(request.getFiles(), "works/galleries");
-                
-                List<GalleryItem> galleryItems = new ArrayList<>();
-                for (File file : uploadedFiles) {
-                    GalleryItem item = GalleryItem.builder()
-                            .gallery(savedGallery)
-                            .file(file)
-                            .build();
-                    galleryItems.add(item);
+                Gallery created = galleryRepository.save(gallery);
+                if (!filesToCommit.isEmpty()) {
+                    List<GalleryItem> galleryItems = galleryItemRepository.saveAll(toGalleryItems(created, filesToCommit));
+                    created.setItems(galleryItems);
                 }
-                
-                galleryItemRepository.saveAll(galleryItems);
-                savedGallery.setItems(galleryItems);
-            }
+                eventPublisher.publishEvent(new WorkChangedEvent(this, workId));
+                return created;
+            });
+            stagedFiles = List.of();
 
             log.info("Gallery created successfully for work: {}", workId);
             return ApiResponse.success(galleryMapper.toResponse(savedGallery));
 
         } catch (Exception e) {
+            fileService.discardStagedFiles(stagedFiles);
             log.error("Error creating gallery for work {}: {}", workId, e.getMessage());
             return ApiResponse.error("Failed to create gallery: " + e.getMessage(), 500);
         }
@@ -102,6 +107,7 @@ public class GalleryServiceImpl implements GalleryService {
             }
 
             Gallery savedGallery = galleryRepository.save(gallery);
+            eventPublisher.publishEvent(new WorkChangedEvent(this, gallery.getWork().getId()));
             log.info("Gallery updated successfully: {}", galleryId);
 
             return ApiResponse.success(galleryMapper.toResponse(savedGallery));
@@ -127,18 +133,11 @@ public class GalleryServiceImpl implements GalleryService {
 
             // Delete gallery first
             galleryRepository.delete(gallery);
+            eventPublisher.publishEvent(new WorkChangedEvent(this, gallery.getWork().getId()));
             log.info("Gallery deleted successfully: {}", galleryId);
 
-            // Clean up files after gallery deletion (outside transaction)
-            for (String fileUrl : fileUrls) {
-                try {
-                    fileService.deleteFileByUrl(fileUrl);
-                    log.info("File deleted successfully: {}", fileUrl);
-                } catch (Exception e) {
-                    log.error("Error deleting file {}: {}", fileUrl, e.getMessage());
-                    // Continue with other files even if one fails
-                }
-            }
+            // Release the files in one batch, stored objects are removed after commit
+            cleanupFilesByUrls(fileUrls);
 
             return ApiResponse.success(null);
 
@@ -149,40 +148,43 @@ public class GalleryServiceImpl implements GalleryService {
     }
 
     @Override
-    @Transactional
     public ApiResponse<GalleryResponse> addFilesToGallery(UUID galleryId, List<MultipartFile> files) {
+        List<FileService.StagedFile> stagedFiles = List.of();
         try {
-            Gallery gallery = galleryRepository.findByIdWithItems(galleryId)
-                    .orElseThrow(() -> new RuntimeException("Gallery not found"));
+            if (!galleryRepository.existsById(galleryId)) {
+                throw new RuntimeException("Gallery not found");
+            }
 
             if (files == null || files.isEmpty()) {
                 return ApiResponse.error("No files provided", 400);
             }
 
-            // Upload files
-            List<File> uploadedFiles = fileService.uploadFiles(files, "works/galleries");
-            
-            // Create gallery items
-            List<GalleryItem> newItems = new ArrayList<>();
-            for (File file : uploadedFiles) {
-                GalleryItem item = GalleryItem.builder()
-                        .gallery(gallery)
-                        .file(file)
-                        .build();
-                newItems.add(item);
-            }
-            
-            List<GalleryItem> savedItems = galleryItemRepository.saveAll(newItems);
-            
-            // Update gallery items list
-            List<GalleryItem> existingItems = gallery.getItems();
-            existingItems.addAll(savedItems);
-            gallery.setItems(existingItems);
+            // Upload files before opening the transaction
+            stagedFiles = stageGalleryFiles(files);
+            List<FileService.StagedFile> filesToCommit = stagedFiles;
+
+            Gallery gallery = transactionTemplate.execute(status -> {
+                Gallery locked = galleryRepository.findByIdWithItems(galleryId)
+                        .orElseThrow(() -> new RuntimeException("Gallery not found"));
+
+                // Create gallery items
+                List<GalleryItem> savedItems = galleryItemRepository.saveAll(toGalleryItems(locked, filesToCommit));
 
-            log.info("Added {} files to gallery: {}", uploadedFiles.size(), galleryId);
+                // Update gallery items list
+                List<GalleryItem> existingItems = locked.getItems();
+                existingItems.addAll(savedItems);
+                locked.setItems(existingItems);
+                eventPublisher.publishEvent(new WorkChangedEvent(this, locked.getWork().getId()));
+                return locked;
+            });
+            int addedCount = (int) stagedFiles.stream().filter(FileService.StagedFile::isStaged).count();
+            stagedFiles = List.of();
+
+            log.info("Added {} files to gallery: {}", addedCount, galleryId);
             return ApiResponse.success(galleryMapper.toResponse(gallery));
 
         } catch (Exception e) {
+            fileService.discardStagedFiles(stagedFiles);
             log.error("Error adding files to gallery {}: {}", galleryId, e.getMessage());
             return ApiResponse.error("Failed to add files to gallery: " + e.getMessage(), 500);
         }
@@ -217,25 +219,18 @@ public class GalleryServiceImpl implements GalleryService {
                     .filter(url -> url != null && !url.trim().isEmpty())
                     .toList();
 
-            // Delete gallery items by their IDs
-            galleryItemRepository.deleteAllById(galleryItemIds);
+            // Delete only the items that belong to this gallery, in one statement
+            galleryItemRepository.deleteAllByIdInBatch(itemsToDelete.stream().map(GalleryItem::getId).toList());
 
             log.info("Removed {} gallery items from gallery: {}", itemsToDelete.size(), galleryId);
             
-            // Clean up files after deletion (outside transaction)
-            for (String fileUrl : fileUrls) {
-                try {
-                    fileService.deleteFileByUrl(fileUrl);
-                    log.info("File deleted successfully: {}", fileUrl);
-                } catch (Exception e) {
-                    log.error("Error deleting file {}: {}", fileUrl, e.getMessage());
-                    // Continue with other files even if one fails
-                }
-            }
+            // Release the files in one batch, stored objects are removed after commit
+            cleanupFilesByUrls(fileUrls);
 
             // Fetch updated gallery with remaining items
             Gallery updatedGallery = galleryRepository.findByIdWithItems(galleryId)
                     .orElseThrow(() -> new RuntimeException("Gallery not found after deletion"));
+            eventPublisher.publishEvent(new WorkChangedEvent(this, updatedGallery.getWork().getId()));
             
             return ApiResponse.success(galleryMapper.toResponse(updatedGallery));
 
@@ -244,4 +239,40 @@ public class GalleryServiceImpl implements GalleryService {
             return ApiResponse.error("Failed to remove files from gallery: " + e.getMessage(), 500);
         }
     }
+
+    private void cleanupFilesByUrls(List<String> fileUrls) {
+        try {
+            Map<String, FileService.DeleteOutcome> outcomes = fileService.deleteFilesByUrls(fileUrls);
+            log.info("Gallery files cleaned up: {}", outcomes);
+        } catch (Exception e) {
+            log.error("Error deleting gallery files {}: {}", fileUrls, e.getMessage());
+            // Leftovers are picked up by storage reconciliation
+        }
+    }
+
+    private List<FileService.StagedFile> stageGalleryFiles(List<MultipartFile> files) {
+        List<FileService.StagedFile> stagedFiles = fileService.stageFiles(files.stream()
+                .map(file -> new FileService.FileUpload(file, "works/galleries"))
+                .toList());
+        
+        // Continue with other files even if one fails
+        stagedFiles.stream()
+                .filter(stagedFile -> !stagedFile.isStaged())
+                .forEach(stagedFile -> log.error("Error uploading file {}: {}", stagedFile.originalFileName(), stagedFile.error()));
+        return stagedFiles;
+    }
+
+    private List<GalleryItem> toGalleryItems(Gallery gallery, List<FileService.StagedFile> stagedFiles) {
+        List<GalleryItem> galleryItems = new ArrayList<>();
+        for (File file : fileService.commitStagedFiles(stagedFiles)) {
+            if (file == null) {
+                continue;
+            }
+            galleryItems.add(GalleryItem.builder()
+                    .gallery(gallery)
+                    .file(file)
+                    .build());
+        }
+        return galleryItems;
+    }
 }
@@ -1,87 +1,154 @@
 package com.wafipix.wafipix.modules.work.service.impl;
 
 import com.wafipix.wafipix.common.dto.ApiResponse;
+import com.wafipix.wafipix.common.exception.BusinessException;
 import com.wafipix.wafipix.common.exception.ResourceNotFoundException;
 import com.wafipix.wafipix.common.util.SlugUtil;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
 import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
 import com.wafipix.wafipix.modules.filemanagement.service.FileService;
+import com.wafipix.wafipix.modules.filemanagement.service.UploadJobService;
 import com.wafipix.wafipix.modules.service.repository.ServiceRepository;
 import com.wafipix.wafipix.modules.work.dto.request.CreateWorkRequest;
 import com.wafipix.wafipix.modules.work.dto.request.UpdateWorkRequest;
+import com.wafipix.wafipix.modules.work.dto.request.WorkFeedQuery;
 import com.wafipix.wafipix.modules.work.dto.response.WorkListResponse;
 import com.wafipix.wafipix.modules.work.dto.response.WorkResponse;
 import com.wafipix.wafipix.modules.work.dto.response.WorkListPublicResponse;
 import com.wafipix.wafipix.modules.work.dto.response.WorkDetailPublicResponse;
+import com.wafipix.wafipix.modules.work.dto.response.WorkFeedPublicResponse;
+import com.wafipix.wafipix.modules.work.dto.response.FeedCursor;
+import com.wafipix.wafipix.modules.work.dto.projection.WorkFeedRow;
+import com.wafipix.wafipix.modules.work.entity.Gallery;
+import com.wafipix.wafipix.modules.work.entity.GalleryItem;
 import com.wafipix.wafipix.modules.work.entity.Work;
+import com.wafipix.wafipix.modules.work.event.WorkChangedEvent;
 import com.wafipix.wafipix.modules.work.mapper.WorkMapper;
+import com.wafipix.wafipix.modules.work.repository.GalleryItemRepository;
+import com.wafipix.wafipix.modules.work.repository.GalleryRepository;
 import com.wafipix.wafipix.modules.work.repository.WorkRepository;
 import com.wafipix.wafipix.modules.work.service.WorkService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WorkServiceImpl implements WorkService {
 
+
     private final WorkRepository workRepository;
+    private final GalleryRepository galleryRepository;
+    private final GalleryItemRepository galleryItemRepository;
     private final ServiceRepository serviceRepository;
     private final FileService fileService;
+    private final UploadJobService uploadJobService;
     private final WorkMapper workMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    @Transactional
     public ApiResponse<WorkResponse> createWork(CreateWorkRequest request) {
+        FileService.StagedFile[] stagedMedia = new FileService.StagedFile[0];
         try {
             // Validate service exists
-            com.wafipix.wafipix.modules.service.entity.Service serviceEntity = serviceRepository.findById(UUID.fromString(request.getServiceId()))
-                    .orElseThrow(() -> new RuntimeException("Service not found"));
+            UUID serviceId = UUID.fromString(request.getServiceId());
+            if (!serviceRepository.existsById(serviceId)) {
+                throw new RuntimeException("Service not found");
+            }
 
             // Validate file requirements
             validateFileRequirements(request.getCoverVideo(), request.getCoverImage(), 
                     request.getProfileVideo(), request.getProfileImage());
 
-            // Generate unique slug
-            String baseSlug = SlugUtil.generateSlug(request.getTitle());
-            String slug = SlugUtil.generateUniqueSlug(baseSlug, workRepository::existsBySlug);
-
-            // Upload files
-            File coverVideoFile = uploadFileIfPresent(request.getCoverVideo(), "works/cover-videos");
-            File coverImageFile = uploadFileIfPresent(request.getCoverImage(), "works/cover-images");
-            File profileVideoFile = uploadFileIfPresent(request.getProfileVideo(), "works/profile-videos");
-            File profileImageFile = uploadFileIfPresent(request.getProfileImage(), "works/profile-images");
+            // Upload files concurrently, before the transaction is opened
+            stagedMedia = stageFilesIfPresent(
+                    new MultipartFile[]{request.getCoverVideo(), request.getCoverImage(),
+                            request.getProfileVideo(), request.getProfileImage()},
+                    new String[]{"works/cover-videos", "works/cover-images",
+                            "works/profile-videos", "works/profile-images"});
+            FileService.StagedFile[] mediaToCommit = stagedMedia;
 
             // Create work entity
-            Work work = Work.builder()
-                    .title(request.getTitle())
-                    .slug(slug)
-                    .service(serviceEntity)
-                    .description(request.getDescription())
-                    .coverVideo(coverVideoFile)
-                    .coverImage(coverImageFile)
-                    .profileVideo(profileVideoFile)
-                    .profileImage(profileImageFile)
-                    .active(true)
-                    .build();
-
-            Work savedWork = workRepository.save(work);
+            Work savedWork = transactionTemplate.execute(status -> {
+                File[] media = commitStagedFiles(mediaToCommit);
+                Work work = buildWork(request, serviceRepository.getReferenceById(serviceId),
+                        media[0], media[1], media[2], media[3]);
+                Work created = workRepository.save(work);
+                eventPublisher.publishEvent(new WorkChangedEvent(this, created.getId()));
+                return created;
+            });
+            stagedMedia = new FileService.StagedFile[0];
             log.info("Work created successfully: {}", savedWork.getSlug());
 
             return ApiResponse.success(workMapper.toResponse(savedWork));
 
         } catch (Exception e) {
+            discardStagedFiles(stagedMedia);
             log.error("Error creating work: {}", e.getMessage());
             return ApiResponse.error("Failed to create work: " + e.getMessage(), 500);
         }
     }
 
+    @Override
+    public ApiResponse<UploadJobResponse> submitWorkCreation(CreateWorkRequest request) {
+        try {
+            // Validate service exists
+            UUID serviceId = UUID.fromString(request.getServiceId());
+            if (!serviceRepository.existsById(serviceId)) {
+                throw new RuntimeException("Service not found");
+            }
+
+            // Validate file requirements
+            validateFileRequirements(request.getCoverVideo(), request.getCoverImage(),
+                    request.getProfileVideo(), request.getProfileImage());
+
+            List<UploadJobService.JobFile> files = new ArrayList<>();
+            addJobFileIfPresent(files, "coverVideo", request.getCoverVideo(), "works/cover-videos");
+            addJobFileIfPresent(files, "coverImage", request.getCoverImage(), "works/cover-images");
+            addJobFileIfPresent(files, "profileVideo", request.getProfileVideo(), "works/profile-videos");
+            addJobFileIfPresent(files, "profileImage", request.getProfileImage(), "works/profile-images");
+
+            // Work is created once every file is stored
+            UploadJobResponse job = uploadJobService.submit("work", files, storedFiles -> {
+                Work work = buildWork(request, serviceRepository.getReferenceById(serviceId),
+                        storedFiles.get("coverVideo"), storedFiles.get("coverImage"),
+                        storedFiles.get("profileVideo"), storedFiles.get("profileImage"));
+                Work savedWork = workRepository.save(work);
+                eventPublisher.publishEvent(new WorkChangedEvent(this, savedWork.getId()));
+                log.info("Work created successfully: {}", savedWork.getSlug());
+                return savedWork.getId();
+            });
+
+            return ApiResponse.success(job);
+
+        } catch (BusinessException e) {
+            log.error("Error submitting work creation: {}", e.getMessage());
+            return ApiResponse.error("Failed to submit work creation: " + e.getMessage(), e.getStatus().value());
+        } catch (Exception e) {
+            log.error("Error submitting work creation: {}", e.getMessage());
+            return ApiResponse.error("Failed to submit work creation: " + e.getMessage(), 500);
+        }
+    }
+
     @Override
     public ApiResponse<Page<WorkListResponse>> getAllWorks(Pageable pageable) {
         try {
@@ -119,38 +186,60 @@ public class WorkServiceImpl implements WorkService {
     }
 
     @Override
-    @Transactional
     public ApiResponse<WorkResponse> updateWork(UUID id, UpdateWorkRequest request) {
+        FileService.StagedFile[] stagedMedia = new FileService.StagedFile[0];
         try {
-            Work work = workRepository.findByIdWithFiles(id)
-                    .orElseThrow(() -> new RuntimeException("Work not found"));
-
-            // Update basic fields
-            if (request.getTitle() != null && !request.getTitle().trim().isEmpty()) {
-                work.setTitle(request.getTitle());
-                // Generate new slug if title changed
-                String baseSlug = SlugUtil.generateSlug(request.getTitle());
-                String newSlug = SlugUtil.generateUniqueSlug(baseSlug, 
-                        slug -> workRepository.existsBySlugAndIdNot(slug, id));
-                work.setSlug(newSlug);
+            if (!workRepository.existsById(id)) {
+                throw new RuntimeException("Work not found");
             }
 
-            if (request.getDescription() != null) {
-                work.setDescription(request.getDescription());
-            }
+            // Upload replacement files before the transaction is opened
+            stagedMedia = stageFilesIfPresent(
+                    new MultipartFile[]{request.getCoverVideo(), request.getCoverImage(),
+                            request.getProfileVideo(), request.getProfileImage()},
+                    new String[]{"works/cover-videos", "works/cover-images",
+                            "works/profile-videos", "works/profile-images"});
+            FileService.StagedFile[] mediaToCommit = stagedMedia;
+            List<String> replacedFileUrls = new ArrayList<>();
+
+            Work savedWork = transactionTemplate.execute(status -> {
+                Work work = workRepository.findByIdWithFiles(id)
+                        .orElseThrow(() -> new RuntimeException("Work not found"));
+
+                // Update basic fields
+                if (request.getTitle() != null && !request.getTitle().trim().isEmpty()) {
+                    work.setTitle(request.getTitle());
+                    // Generate new slug if title changed
+                    String baseSlug = SlugUtil.generateSlug(request.getTitle());
+                    String newSlug = SlugUtil.generateUniqueSlug(baseSlug, 
+                            slug -> workRepository.existsBySlugAndIdNot(slug, id));
+                    work.setSlug(newSlug);
+                }
 
-            // Handle file updates
-            updateFileIfPresent(work::setCoverVideo, request.getCoverVideo(), "works/cover-videos", work.getCoverVideo());
-            updateFileIfPresent(work::setCoverImage, request.getCoverImage(), "works/cover-images", work.getCoverImage());
-            updateFileIfPresent(work::setProfileVideo, request.getProfileVideo(), "works/profile-videos", work.getProfileVideo());
-            updateFileIfPresent(work::setProfileImage, request.getProfileImage(), "works/profile-images", work.getProfileImage());
+                if (request.getDescription() != null) {
+                    work.setDescription(request.getDescription());
+                }
 
-            Work savedWork = workRepository.save(work);
+                // Handle file updates
+                File[] media = commitStagedFiles(mediaToCommit);
+                replaceFileIfPresent(work::setCoverVideo, media[0], work.getCoverVideo(), replacedFileUrls);
+                replaceFileIfPresent(work::setCoverImage, media[1], work.getCoverImage(), replacedFileUrls);
+                replaceFileIfPresent(work::setProfileVideo, media[2], work.getProfileVideo(), replacedFileUrls);
+                replaceFileIfPresent(work::setProfileImage, media[3], work.getProfileImage(), replacedFileUrls);
+
+                eventPublisher.publishEvent(new WorkChangedEvent(this, id));
+                return workRepository.save(work);
+            });
+            stagedMedia = new FileService.StagedFile[0];
             log.info("Work updated successfully: {}", savedWork.getSlug());
 
+            // Clean up replaced files once the new ones are committed
+            replacedFileUrls.forEach(this::cleanupFileByUrl);
+
             return ApiResponse.success(workMapper.toResponse(savedWork));
 
         } catch (Exception e) {
+            discardStagedFiles(stagedMedia);
             log.error("Error updating work {}: {}", id, e.getMessage());
             return ApiResponse.error("Failed to update work: " + e.getMessage(), 500);
         }
@@ -163,21 +252,26 @@ public class WorkServiceImpl implements WorkService {
             Work work = workRepository.findByIdWithFiles(id)
                     .orElseThrow(() -> new RuntimeException("Work not found"));
 
-            // Store file URLs before deletion
-            String coverVideoUrl = work.getCoverVideo() != null ? work.getCoverVideo().getPublicUrl() : null;
-            String coverImageUrl = work.getCoverImage() != null ? work.getCoverImage().getPublicUrl() : null;
-            String profileVideoUrl = work.getProfileVideo() != null ? work.getProfileVideo().getPublicUrl() : null;
-            String profileImageUrl = work.getProfileImage() != null ? work.getProfileImage().getPublicUrl() : null;
+            // Store file URLs before deletion, gallery items are removed by cascade and release their files too
+            List<String> fileUrls = new ArrayList<>();
+            Stream.of(work.getCoverVideo(), work.getCoverImage(), work.getProfileVideo(), work.getProfileImage())
+                    .filter(Objects::nonNull)
+                    .forEach(file -> fileUrls.add(file.getPublicUrl()));
+            work.getGalleries().stream()
+                    .flatMap(gallery -> gallery.getItems().stream())
+                    .forEach(item -> fileUrls.add(item.getFile().getPublicUrl()));
 
             // Delete work first
             workRepository.delete(work);
+            eventPublisher.publishEvent(new WorkChangedEvent(this, id));
             log.info("Work deleted successfully: {}", work.getSlug());
 
-            // Clean up files after work deletion (outside transaction)
-            cleanupFileByUrl(coverVideoUrl);
-            cleanupFileByUrl(coverImageUrl);
-            cleanupFileByUrl(profileVideoUrl);
-            cleanupFileByUrl(profileImageUrl);
+            // Release all files in one batch, stored objects are removed after commit
+            try {
+                fileService.deleteFilesByUrls(fileUrls);
+            } catch (Exception e) {
+                log.error("Error deleting files of work {}: {}", id, e.getMessage());
+            }
 
             return ApiResponse.success(null);
 
@@ -196,6 +290,7 @@ public class WorkServiceImpl implements WorkService {
 
             work.setActive(active);
             Work savedWork = workRepository.save(work);
+            eventPublisher.publishEvent(new WorkChangedEvent(this, id));
             log.info("Work activity status updated: {} -> {}", work.getSlug(), active);
 
             return ApiResponse.success(workMapper.toResponse(savedWork));
@@ -217,33 +312,105 @@ public class WorkServiceImpl implements WorkService {
         // Profile media is now optional - no validation needed
     }
 
-    private File uploadFileIfPresent(MultipartFile file, String folderPath) {
+    private Work buildWork(CreateWorkRequest request, com.wafipix.wafipix.modules.service.entity.Service serviceEntity,
+                           File coverVideoFile, File coverImageFile, File profileVideoFile, File profileImageFile) {
+        // Generate unique slug
+        String baseSlug = SlugUtil.generateSlug(request.getTitle());
+        String slug = SlugUtil.generateUniqueSlug(baseSlug, workRepository::existsBySlug);
+
+        return Work.builder()
+                .title(request.getTitle())
+                .slug(slug)
+                .service(serviceEntity)
+                .description(request.getDescription())
+                .coverVideo(coverVideoFile)
+                .coverImage(coverImageFile)
+                .profileVideo(profileVideoFile)
+                .profileImage(profileImageFile)
+                .active(true)
+                .build();
+    }
+
+    private void addJobFileIfPresent(List<UploadJobService.JobFile> files, String slot,
+                                     MultipartFile file, String folderPath) {
         if (file != null && !file.isEmpty()) {
             validateFileType(file);
-            return fileService.uploadFile(file, folderPath);
+            files.add(new UploadJobService.JobFile(slot, file, folderPath));
         }
-        return null;
     }
 
-    private void updateFileIfPresent(java.util.function.Consumer<File> setter, 
-                                   MultipartFile newFile, String folderPath, File currentFile) {
-        if (newFile != null && !newFile.isEmpty()) {
-            validateFileType(newFile);
-            
-            // Clean up old file if it exists
+    /**
+     * Write the present files to storage as one concurrent batch
+     * @return Staged files at the positions of their input (null where no file was given)
+     */
+    private FileService.StagedFile[] stageFilesIfPresent(MultipartFile[] files, String[] folderPaths) {
+        List<FileService.FileUpload> uploads = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < files.length; i++) {
+            if (files[i] != null && !files[i].isEmpty()) {
+                validateFileType(files[i]);
+                uploads.add(new FileService.FileUpload(files[i], folderPaths[i]));
+                positions.add(i);
+            }
+        }
+
+        FileService.StagedFile[] stagedFiles = new FileService.StagedFile[files.length];
+        if (uploads.isEmpty()) {
+            return stagedFiles;
+        }
+        List<FileService.StagedFile> staged = fileService.stageFiles(uploads);
+        for (FileService.StagedFile stagedFile : staged) {
+            stagedFiles[positions.get(stagedFile.index())] = stagedFile;
+        }
+
+        // Don't keep the files that made it when the work cannot be saved
+        for (FileService.StagedFile stagedFile : staged) {
+            if (!stagedFile.isStaged()) {
+                fileService.discardStagedFiles(staged);
+                throw new RuntimeException("Failed to upload " + stagedFile.originalFileName() + ": " + stagedFile.error());
+            }
+        }
+        return stagedFiles;
+    }
+
+    /**
+     * Save metadata of the staged files in the current transaction
+     * @return Files at the positions of the staged files (null where nothing was staged)
+     */
+    private File[] commitStagedFiles(FileService.StagedFile[] stagedFiles) {
+        File[] files = new File[stagedFiles.length];
+        List<FileService.StagedFile> present = presentStagedFiles(stagedFiles);
+        if (present.isEmpty()) {
+            return files;
+        }
+        List<File> committed = fileService.commitStagedFiles(present);
+        int next = 0;
+        for (int i = 0; i < stagedFiles.length; i++) {
+            if (stagedFiles[i] != null) {
+                files[i] = committed.get(next++);
+            }
+        }
+        return files;
+    }
+
+    private void discardStagedFiles(FileService.StagedFile[] stagedFiles) {
+        List<FileService.StagedFile> present = presentStagedFiles(stagedFiles);
+        if (!present.isEmpty()) {
+            fileService.discardStagedFiles(present);
+        }
+    }
+
+    private static List<FileService.StagedFile> presentStagedFiles(FileService.StagedFile[] stagedFiles) {
+        return Arrays.stream(stagedFiles).filter(Objects::nonNull).toList();
+    }
+
+    private void replaceFileIfPresent(java.util.function.Consumer<File> setter, File newFile,
+                                      File currentFile, List<String> replacedFileUrls) {
+        if (newFile != null) {
+            setter.accept(newFile);
             if (currentFile != null && currentFile.getPublicUrl() != null) {
-                try {
-                    fileService.deleteFileByUrl(currentFile.getPublicUrl());
-                    log.info("Old file deleted successfully: {}", currentFile.getPublicUrl());
-                } catch (Exception e) {
-                    log.error("Error deleting old file {}: {}", currentFile.getPublicUrl(), e.getMessage());
-                    // Continue with upload even if old file deletion fails
-                }
+                replacedFileUrls.add(currentFile.getPublicUrl());
             }
-            
-            // Upload new file
-            File uploadedFile = fileService.uploadFile(newFile, folderPath);
-            setter.accept(uploadedFile);
         }
     }
 
@@ -278,8 +445,7 @@ public class WorkServiceImpl implements WorkService {
     public Page<WorkListPublicResponse> getAllPublicWorks(Pageable pageable) {
         log.info("Fetching all active works for public display");
         
-        Page<Work> works = workRepository.findAllByActive(true, pageable);
-        Page<WorkListPublicResponse> response = works.map(workMapper::toPublicListResponse);
+        Page<WorkListPublicResponse> response = toPublicFeed(workRepository.findPublicFeed(pageable));
         
         log.info("Found {} active works for public display", response.getTotalElements());
         return response;
@@ -289,13 +455,55 @@ public class WorkServiceImpl implements WorkService {
     public Page<WorkListPublicResponse> getAllPublicWorksByServiceId(UUID serviceId, Pageable pageable) {
         log.info("Fetching active works for service ID: {} for public display", serviceId);
         
-        Page<Work> works = workRepository.findAllByServiceIdAndActive(serviceId, true, pageable);
-        Page<WorkListPublicResponse> response = works.map(workMapper::toPublicListResponse);
+        Page<WorkListPublicResponse> response = toPublicFeed(workRepository.findPublicFeedByServiceId(serviceId, pageable));
         
         log.info("Found {} active works for service ID: {} for public display", response.getTotalElements(), serviceId);
         return response;
     }
 
+    @Override
+    public WorkFeedPublicResponse getPublicWorkFeed(WorkFeedQuery query) {
+        UUID serviceId = query.serviceId();
+        int limit = query.limit();
+        FeedCursor after = query.after();
+
+        // One row past the slice tells whether another one follows, no count needed
+        Pageable window = PageRequest.ofSize(limit + 1);
+        List<WorkFeedRow> rows;
+        if (serviceId != null) {
+            rows = after == null
+                    ? workRepository.findPublicFeedSliceByServiceId(serviceId, window)
+                    : workRepository.findPublicFeedSliceByServiceIdAfter(serviceId, after.createdAt(), after.id(), window);
+        } else {
+            rows = after == null
+                    ? workRepository.findPublicFeedSlice(window)
+                    : workRepository.findPublicFeedSliceAfter(after.createdAt(), after.id(), window);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<WorkFeedRow> slice = hasMore ? rows.subList(0, limit) : rows;
+        Map<UUID, List<FileVariant>> variants = findImageVariants(slice);
+        WorkFeedRow last = slice.isEmpty() ? null : slice.get(slice.size() - 1);
+
+        return new WorkFeedPublicResponse(
+                slice.stream().map(row -> workMapper.toPublicListResponse(row, variants)).toList(),
+                hasMore ? new FeedCursor(last.createdAt(), last.id()).encode() : null);
+    }
+
+    private Page<WorkListPublicResponse> toPublicFeed(Page<WorkFeedRow> rows) {
+        Map<UUID, List<FileVariant>> variants = findImageVariants(rows.getContent());
+        return rows.map(row -> workMapper.toPublicListResponse(row, variants));
+    }
+
+    // Srcset variants of every image in the rows in one query
+    private Map<UUID, List<FileVariant>> findImageVariants(List<WorkFeedRow> rows) {
+        List<UUID> imageIds = rows.stream()
+                .flatMap(row -> Stream.of(row.coverImageId(), row.profileImageId()))
+                .filter(Objects::nonNull)
+                .toList();
+        return fileService.findVariantsByFileIds(imageIds);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public WorkDetailPublicResponse getPublicWorkBySlug(String slug) {
@@ -309,7 +517,13 @@ public class WorkServiceImpl implements WorkService {
             throw new ResourceNotFoundException("Work not found with slug: " + slug);
         }
         
-        WorkDetailPublicResponse response = workMapper.toPublicDetailResponse(work);
+        // Galleries, then the items of all of them, so the query count does not grow with the gallery size
+        List<Gallery> galleries = galleryRepository.findByWorkIdOrderByCreatedAtAscIdAsc(work.getId());
+        Map<UUID, List<GalleryItem>> itemsByGallery = galleries.isEmpty() ? Map.of() :
+                galleryItemRepository.findByGalleryIdInWithFile(galleries.stream().map(Gallery::getId).toList()).stream()
+                        .collect(Collectors.groupingBy(item -> item.getGallery().getId()));
+
+        WorkDetailPublicResponse response = workMapper.toPublicDetailResponse(work, galleries, itemsByGallery);
         log.info("Found work for public display: {}", work.getTitle());
         return response;
     }
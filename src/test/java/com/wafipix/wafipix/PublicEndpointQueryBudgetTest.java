@@ -0,0 +1,246 @@
+package com.wafipix.wafipix;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wafipix.wafipix.common.cache.ResponseBytesCache;
+import com.wafipix.wafipix.modules.advertisementvideo.entity.AdvertisementVideo;
+import com.wafipix.wafipix.modules.client.entity.Client;
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
+import com.wafipix.wafipix.modules.review.entity.Review;
+import com.wafipix.wafipix.modules.review.service.PublicReviewPoolService;
+import com.wafipix.wafipix.modules.service.entity.Category;
+import com.wafipix.wafipix.modules.service.entity.FAQ;
+import com.wafipix.wafipix.modules.service.entity.Feature;
+import com.wafipix.wafipix.modules.service.entity.Package;
+import com.wafipix.wafipix.modules.service.entity.Pricing;
+import com.wafipix.wafipix.modules.service.entity.Service;
+import com.wafipix.wafipix.modules.service.entity.ServiceFeature;
+import com.wafipix.wafipix.modules.service.enums.PackageStatus;
+import com.wafipix.wafipix.modules.socialmedia.entity.SocialMedia;
+import com.wafipix.wafipix.modules.work.entity.Gallery;
+import com.wafipix.wafipix.modules.work.entity.GalleryItem;
+import com.wafipix.wafipix.modules.work.entity.Work;
+import com.wafipix.wafipix.support.QueryBudget;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of every public endpoint against an in-memory database
+ * Seeded with enough rows per collection that a per-row query would exceed the budget; caches are dropped
+ * before each request so the budget covers the cold path
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "http.cache.version-ttl=0s",
+        "file.storage.local.base-path=target/query-budget-uploads",
+        "file.storage.reconciliation.enabled=false",
+        "spring.mail.host=localhost",
+        "spring.mail.port=2525",
+        QueryBudget.STATEMENT_INSPECTOR_PROPERTY
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PublicEndpointQueryBudgetTest {
+
+    private static final int WORKS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ResponseBytesCache responseBytesCache;
+
+    @Autowired
+    private PublicReviewPoolService publicReviewPoolService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID serviceId;
+    private UUID clientId;
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Category category = persist(Category.builder().title("Design").subtitle("Visual work").build());
+            for (int s = 0; s < 3; s++) {
+                Service service = persist(Service.builder().title("Service " + s).slug("service-" + s)
+                        .category(category).active(s < 2).build());
+                serviceId = serviceId == null ? service.getId() : serviceId;
+                persist(ServiceFeature.builder().service(service).text("Fast delivery").build());
+                persist(FAQ.builder().service(service).question("How long?").answer("A week").build());
+                for (int p = 0; p < 3; p++) {
+                    Package pkg = persist(Package.builder().service(service).title("Package " + p)
+                            .pricing(new Pricing(10.0, 1200.0)).status(PackageStatus.ACTIVE).build());
+                    persist(Feature.builder().packageEntity(pkg).text("Source files").build());
+                    persist(Feature.builder().packageEntity(pkg).text("Revisions").build());
+                }
+            }
+
+            Service service = entityManager.getReference(Service.class, serviceId);
+            for (int w = 0; w < WORKS; w++) {
+                File coverImage = file("cover-" + w + ".jpg", "image/jpeg");
+                variant(coverImage, 640);
+                Work work = persist(Work.builder().title("Work " + w).slug("work-" + w).service(service)
+                        .description("Case study").coverImage(coverImage)
+                        .coverVideo(file("cover-" + w + ".mp4", "video/mp4"))
+                        .profileImage(file("profile-" + w + ".jpg", "image/jpeg"))
+                        .profileVideo(file("profile-" + w + ".mp4", "video/mp4")).build());
+                for (int g = 0; g < 2; g++) {
+                    Gallery gallery = persist(Gallery.builder().work(work).build());
+                    for (int i = 0; i < 3; i++) {
+                        File image = file("gallery-" + w + "-" + g + "-" + i + ".jpg", "image/jpeg");
+                        variant(image, 640);
+                        variant(image, 1280);
+                        persist(GalleryItem.builder().gallery(gallery).file(image).build());
+                    }
+                }
+            }
+
+            for (int r = 0; r < 6; r++) {
+                persist(Review.builder().platform(r % 2 == 0 ? "google" : "fiverr").clientName("Client " + r)
+                        .rating(5).reviewText("Great work").reviewImage("http://cdn/reviews/" + r + ".jpg").build());
+            }
+            for (int c = 0; c < 4; c++) {
+                Client client = persist(Client.builder().title("Client " + c).logo("http://cdn/clients/" + c + ".png").build());
+                clientId = clientId == null ? client.getId() : clientId;
+            }
+            for (int m = 0; m < 3; m++) {
+                persist(SocialMedia.builder().title("Network " + m).url("https://social.example/" + m).build());
+            }
+            persist(AdvertisementVideo.builder().url("http://cdn/ads/intro.mp4").build());
+        });
+    }
+
+    @BeforeEach
+    void dropResponseCaches() {
+        responseBytesCache.invalidate(ResponseBytesCache.SERVICES);
+        responseBytesCache.invalidate(ResponseBytesCache.WORKS);
+        publicReviewPoolService.invalidate();
+    }
+
+    Stream<Arguments> publicEndpoints() {
+        // One statement of every read is the aggregate version check of the conditional GET filter.
+        // Catalog endpoints include building the catalog snapshot, whichever of them runs first.
+        return Stream.of(
+                Arguments.of("/v3/public/services", 7),
+                Arguments.of("/v3/public/services/slug/service-0", 7),
+                Arguments.of("/v3/public/services/packages", 7),
+                Arguments.of("/v3/public/services/categories", 7),
+                Arguments.of("/v3/public/services/navigation", 7),
+                Arguments.of("/v3/public/services/filter", 7),
+                Arguments.of("/v3/public/packages/service/" + serviceId, 2),
+                Arguments.of("/v3/public/works", 4),
+                Arguments.of("/v3/public/works?serviceId=" + serviceId, 4),
+                Arguments.of("/v3/public/works/feed", 3),
+                Arguments.of("/v3/public/works/feed?serviceId=" + serviceId, 3),
+                Arguments.of("/v3/public/works/slug/work-0", 4),
+                Arguments.of("/v3/public/reviews", 2),
+                Arguments.of("/v3/public/reviews/platforms", 2),
+                Arguments.of("/v3/public/reviews/platform/google", 2),
+                Arguments.of("/v3/public/clients", 2),
+                Arguments.of("/v3/public/clients/" + clientId, 2),
+                Arguments.of("/v3/public/clients/logos", 2),
+                Arguments.of("/v3/public/social-media", 2),
+                Arguments.of("/v3/public/advertisement-videos", 2)
+        );
+    }
+
+    @ParameterizedTest(name = "GET {0} <= {1} statements")
+    @MethodSource("publicEndpoints")
+    void publicReadStaysWithinBudget(String path, int budget) throws Exception {
+        QueryBudget.assertAtMost(budget, "GET " + path,
+                () -> mockMvc.perform(get(path)).andExpect(status().isOk()));
+    }
+
+    @Test
+    void worksFeedWalksEveryWorkOnceWithinBudget() throws Exception {
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int slices = 0;
+        do {
+            String path = "/v3/public/works/feed?size=5" + (cursor != null ? "&cursor=" + cursor : "");
+            MvcResult result = QueryBudget.assertAtMost(3, "GET " + path,
+                    () -> mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn());
+            JsonNode data = objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("data");
+            data.get("items").forEach(item -> assertThat(seen.add(item.get("id").asText())).isTrue());
+            cursor = data.get("nextCursor").isNull() ? null : data.get("nextCursor").asText();
+            slices++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(WORKS);
+        assertThat(slices).isEqualTo(3);
+    }
+
+    @Test
+    void reviewsAreServedFromThePoolOnceLoaded() throws Exception {
+        mockMvc.perform(get("/v3/public/reviews")).andExpect(status().isOk());
+
+        // Only the version check of the conditional GET filter is left
+        for (String path : List.of("/v3/public/reviews", "/v3/public/reviews/platforms", "/v3/public/reviews/platform/fiverr")) {
+            QueryBudget.assertAtMost(1, "GET " + path, () -> mockMvc.perform(get(path)).andExpect(status().isOk()));
+        }
+    }
+
+    @Test
+    void contactSubmissionStaysWithinBudget() throws Exception {
+        QueryBudget.assertAtMost(1, "POST /v3/public/contacts",
+                () -> mockMvc.perform(post("/v3/public/contacts").contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"fullName\":\"Jane Doe\",\"email\":\"jane@example.com\",\"message\":\"Hello\"}"))
+                        .andExpect(status().isCreated()));
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private void variant(File file, int width) {
+        String path = file.getFilePath().replace(".jpg", "-" + width + ".webp");
+        persist(FileVariant.builder().file(file).width(width).height(width / 2).mimeType("image/webp")
+                .filePath(path).publicUrl("http://cdn/" + path).fileSize(512L).build());
+    }
+
+    private File file(String name, String mimeType) {
+        return persist(File.builder().fileName(UUID.randomUUID() + "-" + name).originalFileName(name)
+                .filePath("works/" + name).publicUrl("http://cdn/works/" + name).mimeType(mimeType)
+                .fileSize(1024L).fileExtension(name.substring(name.lastIndexOf('.') + 1)).folderPath("works").build());
+    }
+}
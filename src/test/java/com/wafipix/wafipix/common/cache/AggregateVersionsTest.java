@@ -0,0 +1,31 @@
+package com.wafipix.wafipix.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AggregateVersionsTest {
+
+    private static final AggregateVersions.Version VERSION =
+            new AggregateVersions.Version(AggregateVersions.REVIEWS, "2025-01-01T10:00/3;", 2, Instant.parse("2025-01-01T10:00:00Z"), 0);
+    private static final Duration PERIOD = Duration.ofMinutes(5);
+
+    @Test
+    void reviewValidatorsMoveWithTheShufflePeriod() {
+        AggregateVersions.Version first = VERSION.inPeriod(Instant.parse("2025-01-01T12:01:00Z"), PERIOD);
+        AggregateVersions.Version samePeriod = VERSION.inPeriod(Instant.parse("2025-01-01T12:04:59Z"), PERIOD);
+        AggregateVersions.Version nextPeriod = VERSION.inPeriod(Instant.parse("2025-01-01T12:05:00Z"), PERIOD);
+
+        assertThat(samePeriod.etag(null)).isEqualTo(first.etag(null));
+        assertThat(nextPeriod.etag(null)).isNotEqualTo(first.etag(null));
+        assertThat(first.lastModified()).isEqualTo(Instant.parse("2025-01-01T12:00:00Z"));
+        assertThat(nextPeriod.lastModified()).isEqualTo(Instant.parse("2025-01-01T12:05:00Z"));
+
+        // A change within the period is newer than its start
+        assertThat(VERSION.inPeriod(Instant.parse("2025-01-01T10:02:00Z"), PERIOD).lastModified())
+                .isEqualTo(VERSION.lastModified());
+    }
+}
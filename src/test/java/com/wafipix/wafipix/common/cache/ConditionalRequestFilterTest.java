@@ -0,0 +1,104 @@
+package com.wafipix.wafipix.common.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ConditionalRequestFilterTest {
+
+    private static final AggregateVersions.Version VERSION =
+            new AggregateVersions.Version(AggregateVersions.WORKS, "2025-01-01T10:00/3;", 2, Instant.parse("2025-01-01T10:00:00Z"), 0);
+
+    private AggregateVersions aggregateVersions;
+    private ConditionalRequestFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        aggregateVersions = mock(AggregateVersions.class);
+        when(aggregateVersions.current(AggregateVersions.WORKS)).thenReturn(VERSION);
+        filter = new ConditionalRequestFilter(aggregateVersions);
+        ReflectionTestUtils.setField(filter, "maxAge", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(filter, "staleWhileRevalidate", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void sendsValidatorsAndAnswersMatchingRequestsWithoutRunningTheController() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/v3/public/works/slug/launch"), first, chain);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader("ETag")).isEqualTo(VERSION.etag(null));
+        assertThat(first.getDateHeader("Last-Modified")).isEqualTo(VERSION.lastModified().toEpochMilli());
+        assertThat(first.getHeader("Cache-Control")).isEqualTo("public, max-age=30, stale-while-revalidate=300");
+        verify(chain).doFilter(any(), any());
+
+        FilterChain revalidation = mock(FilterChain.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v3/public/works");
+        request.addHeader("Accept-Encoding", "gzip");
+        request.addHeader("If-None-Match", VERSION.etag("gzip"));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request, second, revalidation);
+
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getHeader("ETag")).isEqualTo(VERSION.etag("gzip"));
+        assertThat(second.getHeader("Cache-Control")).isEqualTo("public, max-age=30, stale-while-revalidate=300");
+        verify(revalidation, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void sendsNoValidatorsWithErrors() throws Exception {
+        FilterChain notFound = (request, response) -> {
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(404);
+            http.getWriter().write("{\"success\":false}");
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/v3/public/works/slug/missing"), response, notFound);
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getHeader("ETag")).isNull();
+        assertThat(response.getHeader("Last-Modified")).isNull();
+        assertThat(response.getHeader("Cache-Control")).isNull();
+
+        MockHttpServletRequest failedPrecondition = new MockHttpServletRequest("GET", "/v3/public/works");
+        failedPrecondition.addHeader("If-Unmodified-Since", "Wed, 01 Jan 2020 00:00:00 GMT");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(failedPrecondition, rejected, mock(FilterChain.class));
+
+        assertThat(rejected.getStatus()).isEqualTo(412);
+        assertThat(rejected.getHeader("ETag")).isNull();
+        assertThat(rejected.getHeader("Cache-Control")).isNull();
+    }
+
+    @Test
+    void leavesWritesUploadsAndOtherPathsAlone() throws Exception {
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{
+                new MockHttpServletRequest("POST", "/v3/public/contacts"),
+                new MockHttpServletRequest("GET", "/v3/public/uploads/works/clip.mp4"),
+                new MockHttpServletRequest("GET", "/v3/public/worksheet")}) {
+            FilterChain chain = mock(FilterChain.class);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+
+            assertThat(response.getHeader("ETag")).isNull();
+            verify(chain).doFilter(any(), any());
+        }
+        verifyNoInteractions(aggregateVersions);
+    }
+}
@@ -0,0 +1,87 @@
+package com.wafipix.wafipix.common.cache;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBytesCacheTest {
+
+    private final ResponseBytesCache cache = new ResponseBytesCache(new ObjectMapper());
+
+    @Test
+    void servesCachedBytesUntilNamespaceIsInvalidated() throws Exception {
+        AtomicInteger serializations = new AtomicInteger();
+        String text = "x".repeat(2000);
+
+        MockHttpServletRequest gzipRequest = new MockHttpServletRequest();
+        gzipRequest.addHeader("Accept-Encoding", "gzip, deflate");
+        ResponseEntity<byte[]> gzipped = cache.respond(ResponseBytesCache.WORKS, "slug:a", gzipRequest,
+                () -> Map.of("text", text, "n", serializations.incrementAndGet()));
+        ResponseEntity<byte[]> plain = cache.respond(ResponseBytesCache.WORKS, "slug:a", new MockHttpServletRequest(),
+                () -> Map.of("text", text, "n", serializations.incrementAndGet()));
+
+        assertThat(serializations).hasValue(1);
+        assertThat(gzipped.getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+        assertThat(plain.getHeaders().getFirst("Content-Encoding")).isNull();
+        assertThat(plain.getHeaders().getFirst("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody())).readAllBytes())
+                .isEqualTo(plain.getBody());
+
+        cache.invalidate(ResponseBytesCache.SERVICES);
+        cache.respond(ResponseBytesCache.WORKS, "slug:a", new MockHttpServletRequest(), () -> serializations.incrementAndGet());
+        assertThat(serializations).hasValue(1);
+
+        cache.invalidate(ResponseBytesCache.WORKS);
+        cache.respond(ResponseBytesCache.WORKS, "slug:a", new MockHttpServletRequest(), () -> serializations.incrementAndGet());
+        assertThat(serializations).hasValue(2);
+    }
+
+    @Test
+    void prefersBrotliWhenAccepted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+        Map<String, String> body = Map.of("text", "x".repeat(2000));
+
+        ResponseEntity<byte[]> compressed = cache.respond(ResponseBytesCache.WORKS, "slug:a", request, () -> body);
+        ResponseEntity<byte[]> plain = cache.respond(ResponseBytesCache.WORKS, "slug:a", new MockHttpServletRequest(), () -> body);
+
+        assertThat(compressed.getHeaders().getFirst("Content-Encoding")).isEqualTo("br");
+        assertThat(Decoder.decompress(compressed.getBody()).getDecompressedData()).isEqualTo(plain.getBody());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyServedEntryWhenFull() {
+        AtomicInteger serializations = new AtomicInteger();
+        for (int i = 0; i < ResponseBytesCache.MAX_ENTRIES; i++) {
+            cache.get(ResponseBytesCache.WORKS, "page:" + i, serializations::incrementAndGet);
+        }
+        // Touch the oldest entry, the next one in line is evicted instead
+        cache.get(ResponseBytesCache.WORKS, "page:0", serializations::incrementAndGet);
+        cache.get(ResponseBytesCache.WORKS, "page:new", serializations::incrementAndGet);
+        assertThat(cache.size()).isEqualTo(ResponseBytesCache.MAX_ENTRIES);
+        assertThat(serializations).hasValue(ResponseBytesCache.MAX_ENTRIES + 1);
+
+        cache.get(ResponseBytesCache.WORKS, "page:0", serializations::incrementAndGet);
+        assertThat(serializations).hasValue(ResponseBytesCache.MAX_ENTRIES + 1);
+        cache.get(ResponseBytesCache.WORKS, "page:1", serializations::incrementAndGet);
+        assertThat(serializations).hasValue(ResponseBytesCache.MAX_ENTRIES + 2);
+    }
+
+    @Test
+    void honoursRefusedCodings() {
+        assertThat(ResponseBytesCache.preferredCoding("gzip, deflate, br")).isEqualTo("br");
+        assertThat(ResponseBytesCache.preferredCoding("gzip;q=0.5, br;q=0")).isEqualTo("gzip");
+        assertThat(ResponseBytesCache.preferredCoding("gzip;q=0")).isNull();
+        assertThat(ResponseBytesCache.preferredCoding("identity")).isNull();
+        assertThat(ResponseBytesCache.preferredCoding(null)).isNull();
+    }
+}
@@ -0,0 +1,103 @@
+package com.wafipix.wafipix.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wafipix.wafipix.common.dto.ApiResponse;
+import com.wafipix.wafipix.modules.filemanagement.dto.response.ImageVariantResponse;
+import com.wafipix.wafipix.modules.work.dto.response.WorkFeedPublicResponse;
+import com.wafipix.wafipix.modules.work.dto.response.WorkListPublicResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A public works page as ApiResponse JSON: serialized per request (what controllers did before the byte cache)
+ * against a warm ResponseBytesCache, for identity, gzip and Brotli clients, and the cost of a miss that serializes
+ * and compresses both variants
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ResponseBytesCache cache;
+    private Supplier<ApiResponse<WorkFeedPublicResponse>> body;
+    private MockHttpServletRequest identityRequest;
+    private MockHttpServletRequest gzipRequest;
+    private MockHttpServletRequest brotliRequest;
+    private long missKey;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = new ResponseBytesCache(objectMapper);
+
+        List<WorkListPublicResponse> works = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            String base = "https://cdn.wafipix.com/works/" + i;
+            works.add(new WorkListPublicResponse(UUID.randomUUID(), "Work " + i, "work-" + i, "Motion Design",
+                    base + "/cover.mp4", base + "/cover.jpg", base + "/profile.mp4", base + "/profile.jpg",
+                    srcset(base + "/cover"), srcset(base + "/profile")));
+        }
+        WorkFeedPublicResponse page = new WorkFeedPublicResponse(works, "MjAyNS0wMS0wMVQxMDowMHwx");
+        body = () -> ApiResponse.success(page, "Active works retrieved successfully");
+
+        identityRequest = new MockHttpServletRequest("GET", "/v3/public/works/feed");
+        gzipRequest = new MockHttpServletRequest("GET", "/v3/public/works/feed");
+        gzipRequest.addHeader("Accept-Encoding", "gzip, deflate");
+        brotliRequest = new MockHttpServletRequest("GET", "/v3/public/works/feed");
+        brotliRequest.addHeader("Accept-Encoding", "gzip, deflate, br");
+        cache.respond(ResponseBytesCache.WORKS, "feed", identityRequest, body);
+    }
+
+    @Benchmark
+    public byte[] serializePerRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(body.get());
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> cachedBytes() {
+        return cache.respond(ResponseBytesCache.WORKS, "feed", identityRequest, body);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> cachedGzipBytes() {
+        return cache.respond(ResponseBytesCache.WORKS, "feed", gzipRequest, body);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> cachedBrotliBytes() {
+        return cache.respond(ResponseBytesCache.WORKS, "feed", brotliRequest, body);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> missSerializeAndCompress() {
+        return cache.respond(ResponseBytesCache.WORKS, "miss:" + missKey++, brotliRequest, body);
+    }
+
+    private static List<ImageVariantResponse> srcset(String base) {
+        return List.of(
+                new ImageVariantResponse(base + "-480.webp", 480, "image/webp"),
+                new ImageVariantResponse(base + "-960.webp", 960, "image/webp"),
+                new ImageVariantResponse(base + "-1600.webp", 1600, "image/webp"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.wafipix.wafipix.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void limitsEachKeyOverASlidingWindow() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, HOUR, 10, now::get);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("admin@wafipix.com")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("admin@wafipix.com")).isFalse();
+        assertThat(limiter.tryAcquire("other@wafipix.com")).isTrue();
+
+        // Half of the previous window still overlaps: 4 * 0.5 counted, room for 2
+        advance(Duration.ofMinutes(90));
+        assertThat(limiter.tryAcquire("admin@wafipix.com")).isTrue();
+        assertThat(limiter.tryAcquire("admin@wafipix.com")).isTrue();
+        assertThat(limiter.tryAcquire("admin@wafipix.com")).isFalse();
+    }
+
+    @Test
+    void evictsIdleKeysAndMakesRoomFromTheLeastRecentlySeenWhenFull() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1, HOUR, 2, now::get);
+        limiter.tryAcquire("10.0.0.1");
+        advance(Duration.ofMinutes(1));
+        limiter.tryAcquire("10.0.0.2");
+        advance(Duration.ofMinutes(1));
+        // Rejected attempts keep the first key fresh
+        assertThat(limiter.tryAcquire("10.0.0.1")).isFalse();
+
+        // Full of live keys: a new key is still admitted, the least recently seen one makes room
+        assertThat(limiter.tryAcquire("10.0.0.3")).isTrue();
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("10.0.0.1")).isFalse();
+        assertThat(limiter.tryAcquire("10.0.0.3")).isFalse();
+
+        advance(HOUR.multipliedBy(2));
+        assertThat(limiter.evictIdle()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("10.0.0.1")).isTrue();
+    }
+
+    @Test
+    void admitsExactlyTheLimitUnderContention() throws Exception {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(100, HOUR, 10);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < 50; i++) {
+                        if (limiter.tryAcquire("10.0.0.1")) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(admitted).hasValue(100);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
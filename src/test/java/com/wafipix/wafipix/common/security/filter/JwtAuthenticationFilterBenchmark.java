@@ -0,0 +1,102 @@
+package com.wafipix.wafipix.common.security.filter;
+
+import com.wafipix.wafipix.common.security.service.RefreshTokenService;
+import com.wafipix.wafipix.common.security.service.UserStatusService;
+import com.wafipix.wafipix.common.security.service.impl.JWTServiceImpl;
+import com.wafipix.wafipix.modules.user.entity.User;
+import com.wafipix.wafipix.modules.user.enums.UserRole;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter end to end on mock servlet requests, from header extraction to the authenticated context
+ * The user status lookup is an in-memory stand-in, as it is once the status cache is warm
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String EMAIL = "admin@wafipix.com";
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest bearerRequest;
+    private MockHttpServletRequest expiredRequest;
+    private MockHttpServletRequest publicRequest;
+
+    @Setup
+    public void setUp() {
+        JWTServiceImpl jwtService = new JWTServiceImpl(Mockito.mock(RefreshTokenService.class));
+        ReflectionTestUtils.setField(jwtService, "SECRET",
+                "Sk9Gxfr8hkSbPx7TXONQJsEff4XXAmWGas5WGq8LMtX5KNXg3CQ4XpdvEIXPXL3j3vPDVsP5NAsNWK+tsjx7lw==");
+        ReflectionTestUtils.setField(jwtService, "ACCESS_TOKEN_EXPIRATION", TimeUnit.HOURS.toMillis(1));
+
+        UUID userId = UUID.randomUUID();
+        User user = User.builder().email(EMAIL).role(UserRole.ADMIN).build();
+        ReflectionTestUtils.setField(user, "id", userId);
+        UserStatusService.UserStatus status = new UserStatusService.UserStatus(userId, UserRole.ADMIN, true, 0);
+        filter = new JwtAuthenticationFilter(jwtService, new UserStatusService() {
+            @Override
+            public Optional<UserStatus> getStatus(String email) {
+                return Optional.of(status);
+            }
+
+            @Override
+            public void invalidate(String email) {
+            }
+        });
+
+        bearerRequest = new MockHttpServletRequest("GET", "/v3/admin/works");
+        bearerRequest.addHeader("Authorization", "Bearer " + jwtService.generateAccessToken(user));
+        expiredRequest = new MockHttpServletRequest("GET", "/v3/admin/works");
+        expiredRequest.addHeader("Authorization", "Bearer " + jwtService.generateToken(EMAIL, "ADMIN", -1_000L));
+        publicRequest = new MockHttpServletRequest("GET", "/v3/public/works");
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        return filter(bearerRequest);
+    }
+
+    @Benchmark
+    public int expiredToken() throws Exception {
+        return filter(expiredRequest);
+    }
+
+    @Benchmark
+    public int publicEndpoint() throws Exception {
+        return filter(publicRequest);
+    }
+
+    private int filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
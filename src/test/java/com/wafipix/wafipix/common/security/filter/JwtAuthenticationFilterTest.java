@@ -0,0 +1,119 @@
+package com.wafipix.wafipix.common.security.filter;
+
+import com.wafipix.wafipix.common.security.service.RefreshTokenService;
+import com.wafipix.wafipix.common.security.service.UserStatusService;
+import com.wafipix.wafipix.common.security.service.impl.JWTServiceImpl;
+import com.wafipix.wafipix.common.security.service.impl.JwtUserDetails;
+import com.wafipix.wafipix.modules.user.entity.User;
+import com.wafipix.wafipix.modules.user.enums.UserRole;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "admin@wafipix.com";
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private JWTServiceImpl jwtService;
+    private UserStatusService userStatusService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JWTServiceImpl(mock(RefreshTokenService.class));
+        ReflectionTestUtils.setField(jwtService, "SECRET",
+                "Sk9Gxfr8hkSbPx7TXONQJsEff4XXAmWGas5WGq8LMtX5KNXg3CQ4XpdvEIXPXL3j3vPDVsP5NAsNWK+tsjx7lw==");
+        ReflectionTestUtils.setField(jwtService, "ACCESS_TOKEN_EXPIRATION", 60_000L);
+        userStatusService = mock(UserStatusService.class);
+        filter = new JwtAuthenticationFilter(jwtService, userStatusService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromTokenClaimsAndCachedStatus() throws Exception {
+        when(userStatusService.getStatus(EMAIL))
+                .thenReturn(Optional.of(new UserStatusService.UserStatus(USER_ID, UserRole.ADMIN, true, 2)));
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request(tokenFor(2)), new MockHttpServletResponse(), chain);
+
+        verify(chain).doFilter(any(), any());
+        JwtUserDetails principal = (JwtUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertThat(principal.userId()).isEqualTo(USER_ID);
+        assertThat(principal.getUsername()).isEqualTo(EMAIL);
+        assertThat(principal.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void rejectsTokensOfARevokedVersionOrDeactivatedUser() throws Exception {
+        when(userStatusService.getStatus(EMAIL))
+                .thenReturn(Optional.of(new UserStatusService.UserStatus(USER_ID, UserRole.ADMIN, true, 3)));
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletResponse revoked = new MockHttpServletResponse();
+        filter.doFilter(request(tokenFor(2)), revoked, chain);
+
+        assertThat(revoked.getStatus()).isEqualTo(403);
+
+        when(userStatusService.getStatus(EMAIL))
+                .thenReturn(Optional.of(new UserStatusService.UserStatus(USER_ID, UserRole.ADMIN, false, 3)));
+        MockHttpServletResponse deactivated = new MockHttpServletResponse();
+        filter.doFilter(request(tokenFor(3)), deactivated, chain);
+
+        assertThat(deactivated.getStatus()).isEqualTo(403);
+        verify(chain, never()).doFilter(any(), any());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void answersExpiredTokensByWhetherTheyCanBeRefreshed() throws Exception {
+        String expired = jwtService.generateToken(EMAIL, UserRole.ADMIN.name(), -1_000L);
+        FilterChain chain = mock(FilterChain.class);
+
+        MockHttpServletRequest refreshable = request(expired);
+        refreshable.setCookies(new Cookie("rt", "refresh-token"));
+        MockHttpServletResponse unauthorized = new MockHttpServletResponse();
+        filter.doFilter(refreshable, unauthorized, chain);
+
+        MockHttpServletResponse forbidden = new MockHttpServletResponse();
+        filter.doFilter(request(expired), forbidden, chain);
+
+        assertThat(unauthorized.getStatus()).isEqualTo(401);
+        assertThat(forbidden.getStatus()).isEqualTo(403);
+        verify(chain, never()).doFilter(any(), any());
+        verifyNoInteractions(userStatusService);
+    }
+
+    private String tokenFor(int tokenVersion) {
+        User user = User.builder().email(EMAIL).role(UserRole.ADMIN).tokenVersion(tokenVersion).build();
+        ReflectionTestUtils.setField(user, "id", USER_ID);
+        return jwtService.generateAccessToken(user);
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v3/admin/works");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
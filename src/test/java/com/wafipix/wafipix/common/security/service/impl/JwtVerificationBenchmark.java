@@ -0,0 +1,76 @@
+package com.wafipix.wafipix.common.security.service.impl;
+
+import com.wafipix.wafipix.common.security.service.JWTService;
+import com.wafipix.wafipix.common.security.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing and verifying access tokens
+ * uncachedDoubleParse is the verification the filter did before JWTServiceImpl.verify (key decoded and parser
+ * built for each of two parses), kept as the baseline for verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+            "Sk9Gxfr8hkSbPx7TXONQJsEff4XXAmWGas5WGq8LMtX5KNXg3CQ4XpdvEIXPXL3j3vPDVsP5NAsNWK+tsjx7lw==";
+
+    private JWTServiceImpl jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JWTServiceImpl(Mockito.mock(RefreshTokenService.class));
+        ReflectionTestUtils.setField(jwtService, "SECRET", SECRET);
+        token = jwtService.generateToken("admin@wafipix.com", "ADMIN", TimeUnit.HOURS.toMillis(1));
+    }
+
+    @Benchmark
+    public boolean uncachedDoubleParse() {
+        String subject = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return subject != null && !claims.getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public JWTService.TokenVerification verify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("admin@wafipix.com", "ADMIN", TimeUnit.HOURS.toMillis(1));
+    }
+}
@@ -0,0 +1,115 @@
+package com.wafipix.wafipix.common.security.service.impl;
+
+import com.wafipix.wafipix.common.security.config.LegacyRefreshTokenTableMigration;
+import com.wafipix.wafipix.common.security.repository.RefreshTokenRepository;
+import com.wafipix.wafipix.common.security.service.RefreshTokenService;
+import com.wafipix.wafipix.modules.user.entity.User;
+import com.wafipix.wafipix.modules.user.enums.AuthProvider;
+import com.wafipix.wafipix.modules.user.enums.UserRole;
+import com.wafipix.wafipix.support.QueryBudget;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rotation of stored refresh tokens against an in-memory database
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:refresh-tokens;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "file.storage.local.base-path=target/refresh-token-uploads",
+        "file.storage.reconciliation.enabled=false",
+        "spring.mail.host=localhost",
+        "spring.mail.port=2525",
+        QueryBudget.STATEMENT_INSPECTOR_PROPERTY
+})
+class RefreshTokenServiceImplTest {
+
+    private static final String DEVICE = "device-1";
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LegacyRefreshTokenTableMigration legacyRefreshTokenTableMigration;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = transactionTemplate.execute(status -> {
+            User created = User.builder().email(UUID.randomUUID() + "@wafipix.com").firstName("Ada").lastName("Lovelace")
+                    .role(UserRole.CUSTOMER).authProvider(AuthProvider.GOOGLE).build();
+            entityManager.persist(created);
+            return created;
+        });
+        refreshTokenService.save(user, "token-1", DEVICE);
+    }
+
+    @Test
+    void storesOnlyTheHashOfOneTokenPerDevice() {
+        refreshTokenService.save(user, "token-2", DEVICE);
+
+        assertThat(refreshTokenRepository.findAll())
+                .filteredOn(token -> token.getUser().getId().equals(user.getId()))
+                .singleElement()
+                .satisfies(token -> assertThat(token.getTokenHash())
+                        .hasSize(64)
+                        .isEqualTo(RefreshTokenServiceImpl.hash("token-2")));
+    }
+
+    @Test
+    void rotatesTheCurrentTokenInOneStatement() throws Exception {
+        boolean rotated = QueryBudget.assertAtMost(1, "Refresh token rotation",
+                () -> refreshTokenService.rotate(user, DEVICE, "token-1", "token-2"));
+
+        assertThat(rotated).isTrue();
+        assertThat(refreshTokenService.rotate(user, DEVICE, "token-2", "token-3")).isTrue();
+    }
+
+    @Test
+    void revokesTheDeviceWhenARotatedTokenIsReplayed() {
+        assertThat(refreshTokenService.rotate(user, DEVICE, "token-1", "token-2")).isTrue();
+
+        assertThat(refreshTokenService.rotate(user, DEVICE, "token-1", "token-3")).isFalse();
+        // The legitimate holder of token-2 has to log in again as well
+        assertThat(refreshTokenService.rotate(user, DEVICE, "token-2", "token-4")).isFalse();
+    }
+
+    @Test
+    void dropsTheLegacyTableOfRawTokens() {
+        jdbcTemplate.execute("CREATE TABLE refresh_tokens (id UUID PRIMARY KEY, token VARCHAR(1000) NOT NULL)");
+
+        legacyRefreshTokenTableMigration.afterSingletonsInstantiated();
+        legacyRefreshTokenTableMigration.afterSingletonsInstantiated();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'REFRESH_TOKENS'", Integer.class))
+                .isZero();
+    }
+}
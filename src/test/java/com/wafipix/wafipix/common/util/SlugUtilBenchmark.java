@@ -0,0 +1,49 @@
+package com.wafipix.wafipix.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slug generation for typical titles, plain ASCII and with accents to strip
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlugUtilBenchmark {
+
+    private static final Map<String, String> TITLES = Map.of(
+            "ascii", "Brand Identity for a Coffee Roastery",
+            "accented", "Café Crème — Motion Design & Édition 2025"
+    );
+
+    // Keys rather than titles, parameters are passed to the forked VM on its command line
+    @Param({"ascii", "accented"})
+    public String title;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        input = TITLES.get(title);
+    }
+
+    @Benchmark
+    public String generateSlug() {
+        return SlugUtil.generateSlug(input);
+    }
+}
@@ -0,0 +1,138 @@
+package com.wafipix.wafipix.modules.filemanagement.controller;
+
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocalMediaRequestHandlerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path basePath;
+
+    private FileRepository fileRepository;
+    private LocalMediaRequestHandler handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(basePath.resolve("works"));
+        Files.writeString(basePath.resolve("works/clip.mp4"), CONTENT);
+        Files.writeString(basePath.resolve("works/.upload-123.part"), CONTENT);
+
+        fileRepository = mock(FileRepository.class);
+        when(fileRepository.findByFilePath(anyString())).thenReturn(Optional.empty());
+        when(fileRepository.findByFilePath("works/clip.mp4")).thenReturn(Optional.of(
+                File.builder().filePath("works/clip.mp4").contentHash(HASH).mimeType("video/mp4").build()));
+        handler = new LocalMediaRequestHandler(basePath.toString(), "/v3/public/uploads", fileRepository);
+    }
+
+    @Test
+    void servesFullBodyWithStrongEtag() throws Exception {
+        MockHttpServletResponse response = serve(request("works/clip.mp4"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + HASH + "\"");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo("video/mp4");
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void servesSingleRange() throws Exception {
+        MockHttpServletRequest request = request("works/clip.mp4");
+        request.addHeader("Range", "bytes=5-9");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 5-9/20");
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+        assertThat(response.getContentAsString()).isEqualTo("56789");
+    }
+
+    @Test
+    void servesMultipleRangesAsMultipart() throws Exception {
+        MockHttpServletRequest request = request("works/clip.mp4");
+        request.addHeader("Range", "bytes=0-1, -3");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        String body = response.getContentAsString(StandardCharsets.US_ASCII);
+        assertThat(body).contains("Content-Range: bytes 0-1/20\r\n\r\n01")
+                .contains("Content-Range: bytes 17-19/20\r\n\r\nhij");
+        assertThat(response.getContentLengthLong()).isEqualTo(response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void staleIfRangeServesFullBody() throws Exception {
+        MockHttpServletRequest request = request("works/clip.mp4");
+        request.addHeader("Range", "bytes=5-9");
+        request.addHeader("If-Range", "\"" + "b".repeat(64) + "\"");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void handlesUnsatisfiableRangesConditionalsAndHiddenFiles() throws Exception {
+        MockHttpServletRequest outOfRange = request("works/clip.mp4");
+        outOfRange.addHeader("Range", "bytes=50-");
+        MockHttpServletResponse unsatisfiable = serve(outOfRange);
+        assertThat(unsatisfiable.getStatus()).isEqualTo(416);
+        assertThat(unsatisfiable.getHeader("Content-Range")).isEqualTo("bytes */20");
+
+        MockHttpServletRequest conditional = request("works/clip.mp4");
+        conditional.addHeader("If-None-Match", "\"" + HASH + "\"");
+        assertThat(serve(conditional).getStatus()).isEqualTo(304);
+
+        assertThat(serve(request("works/.upload-123.part")).getStatus()).isEqualTo(404);
+        assertThat(serve(request("works/../../etc/passwd")).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void cachesWeakMetadataUntilTheFileChanges() throws Exception {
+        Path legacy = basePath.resolve("works/legacy.mp4");
+        Files.writeString(legacy, CONTENT);
+
+        String etag = serve(request("works/legacy.mp4")).getHeader("ETag");
+        assertThat(etag).startsWith("W/");
+        assertThat(serve(request("works/legacy.mp4")).getHeader("ETag")).isEqualTo(etag);
+        verify(fileRepository, times(1)).findByFilePath("works/legacy.mp4");
+
+        Files.writeString(legacy, CONTENT + CONTENT);
+        assertThat(serve(request("works/legacy.mp4")).getHeader("ETag")).isNotEqualTo(etag);
+        verify(fileRepository, times(2)).findByFilePath("works/legacy.mp4");
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String relativePath) {
+        return new MockHttpServletRequest("GET", "/v3/public/uploads/" + relativePath);
+    }
+}
@@ -0,0 +1,148 @@
+package com.wafipix.wafipix.modules.filemanagement.controller;
+
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serving a stored video through LocalMediaRequestHandler against Spring's resource handler it replaced,
+ * for a full GET and for a 1MB range as issued while scrubbing. Bodies are written to a discarding stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MediaServingBenchmark {
+
+    private static final String URL_PATH = "/v3/public/uploads";
+    private static final String FILE_PATH = "works/clip.mp4";
+    private static final String RANGE = "bytes=1048576-2097151";
+
+    @Param({"4", "32"})
+    public int sizeMb;
+
+    private Path basePath;
+    private LocalMediaRequestHandler mediaHandler;
+    private ResourceHttpRequestHandler resourceHandler;
+
+    @Setup
+    public void setUp() throws Exception {
+        basePath = Files.createTempDirectory("media-benchmark");
+        Files.createDirectories(basePath.resolve("works"));
+        byte[] content = new byte[sizeMb * 1024 * 1024];
+        new Random(7).nextBytes(content);
+        Files.write(basePath.resolve(FILE_PATH), content);
+
+        FileRepository fileRepository = Mockito.mock(FileRepository.class);
+        Mockito.when(fileRepository.findByFilePath(FILE_PATH)).thenReturn(Optional.of(
+                File.builder().filePath(FILE_PATH).contentHash("a".repeat(64)).mimeType("video/mp4").build()));
+        mediaHandler = new LocalMediaRequestHandler(basePath.toString(), URL_PATH, fileRepository);
+
+        resourceHandler = new ResourceHttpRequestHandler();
+        resourceHandler.setLocations(List.of(new FileSystemResource(basePath + "/")));
+        resourceHandler.setCacheSeconds(3600);
+        resourceHandler.afterPropertiesSet();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(basePath);
+    }
+
+    @Benchmark
+    public int mediaHandlerFullBody() throws Exception {
+        DiscardingResponse response = new DiscardingResponse();
+        mediaHandler.handleRequest(request(null), response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int mediaHandlerRange() throws Exception {
+        DiscardingResponse response = new DiscardingResponse();
+        mediaHandler.handleRequest(request(RANGE), response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int resourceHandlerFullBody() throws Exception {
+        DiscardingResponse response = new DiscardingResponse();
+        resourceHandler.handleRequest(request(null), response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int resourceHandlerRange() throws Exception {
+        DiscardingResponse response = new DiscardingResponse();
+        resourceHandler.handleRequest(request(RANGE), response);
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest request(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", URL_PATH + "/" + FILE_PATH);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, FILE_PATH);
+        if (range != null) {
+            request.addHeader("Range", range);
+        }
+        return request;
+    }
+
+    /**
+     * Response whose body goes nowhere, buffering it would dominate the measurement
+     */
+    private static class DiscardingResponse extends MockHttpServletResponse {
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
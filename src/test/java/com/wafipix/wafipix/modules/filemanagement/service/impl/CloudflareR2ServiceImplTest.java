@@ -0,0 +1,225 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
+import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CloudflareR2ServiceImplTest {
+
+    private static final int PART_SIZE = (int) DataSize.ofMegabytes(5).toBytes();
+
+    private InMemoryS3Client s3Client;
+    private CloudflareR2ServiceImpl storageService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConfig config = new FileStorageConfig();
+        FileStorageConfig.Cloudflare.R2 r2 = config.getStorage().getCloudflare().getR2();
+        r2.setBucketName("wafipix");
+        r2.setPublicUrl("https://cdn.example.com");
+        r2.getMultipart().setPartSize(DataSize.ofBytes(PART_SIZE));
+        r2.getMultipart().setConcurrency(2);
+        config.getStorage().setUploadBufferSize(DataSize.ofKilobytes(256));
+        s3Client = new InMemoryS3Client();
+        storageService = new CloudflareR2ServiceImpl(config, s3Client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageService.destroy();
+    }
+
+    @Test
+    void smallFileIsStoredWithSinglePut() throws Exception {
+        byte[] content = pngContent(PART_SIZE - 1);
+
+        FileStorageService.UploadResult result = storageService.uploadFile(file("logo.png", content), "clients");
+
+        assertThat(result.getFilePath()).startsWith("clients/").endsWith(".png");
+        assertThat(result.getPublicUrl()).isEqualTo("https://cdn.example.com/" + result.getFilePath());
+        assertThat(result.getMimeType()).isEqualTo("image/png");
+        assertThat(result.getContentHash()).isEqualTo(sha256(content));
+        assertThat(s3Client.objects.get(result.getFilePath())).isEqualTo(content);
+        assertThat(s3Client.multipartUploadsCreated).hasValue(0);
+    }
+
+    @Test
+    void largeFileIsStoredWithParallelMultipartUpload() throws Exception {
+        byte[] content = pngContent(2 * PART_SIZE + 12345);
+
+        FileStorageService.UploadResult result = storageService.uploadFile(file("cover.png", content), "works");
+
+        assertThat(s3Client.multipartUploadsCreated).hasValue(1);
+        assertThat(s3Client.partsUploaded).hasValue(3);
+        assertThat(s3Client.objects.get(result.getFilePath())).isEqualTo(content);
+        assertThat(s3Client.contentTypes.get(result.getFilePath())).isEqualTo("image/png");
+        assertThat(result.getFileSize()).isEqualTo(content.length);
+        assertThat(result.getContentHash()).isEqualTo(sha256(content));
+        assertThat(s3Client.pendingUploads).isEmpty();
+    }
+
+    @Test
+    void failedPartAbortsMultipartUpload() {
+        s3Client.failPartNumber = 2;
+        byte[] content = pngContent(3 * PART_SIZE);
+
+        assertThatThrownBy(() -> storageService.uploadFile(file("video.mp4", content), "works"))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(s3Client.abortedUploads).hasValue(1);
+        assertThat(s3Client.pendingUploads).isEmpty();
+        assertThat(s3Client.objects).isEmpty();
+    }
+
+    @Test
+    void reusesPartBuffersAcrossUploads() throws Exception {
+        byte[] first = pngContent(2 * PART_SIZE + 100);
+        byte[] second = pngContent(3 * PART_SIZE);
+        second[PART_SIZE] ^= 1;
+
+        // Two parts in flight and one filling at most, fewer when a finished part hands its buffer to the next one
+        String firstPath = storageService.uploadFile(file("first.png", first), "works").getFilePath();
+        assertThat(storageService.pooledPartBuffers()).isBetween(1, 2);
+        String secondPath = storageService.uploadFile(file("second.png", second), "works").getFilePath();
+        assertThat(storageService.pooledPartBuffers()).isBetween(1, 3);
+        String thirdPath = storageService.uploadFile(file("third.png", second), "works").getFilePath();
+        assertThat(storageService.pooledPartBuffers()).isBetween(1, 3);
+
+        assertThat(s3Client.objects.get(firstPath)).isEqualTo(first);
+        assertThat(s3Client.objects.get(secondPath)).isEqualTo(second);
+        assertThat(s3Client.objects.get(thirdPath)).isEqualTo(second);
+    }
+
+    @Test
+    void storesInputLongerThanItsDeclaredSize() throws Exception {
+        byte[] content = pngContent(PART_SIZE + 10);
+        MockMultipartFile understated = new MockMultipartFile("file", "clip.png", null, content) {
+            @Override
+            public long getSize() {
+                return 10;
+            }
+        };
+
+        String path = storageService.uploadFile(understated, "works").getFilePath();
+
+        assertThat(s3Client.objects.get(path)).isEqualTo(content);
+        assertThat(s3Client.partsUploaded).hasValue(2);
+    }
+
+    private static MockMultipartFile file(String name, byte[] content) {
+        return new MockMultipartFile("file", name, null, content);
+    }
+
+    private static byte[] pngContent(int size) {
+        byte[] content = new byte[size];
+        new Random(7).nextBytes(content);
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        System.arraycopy(signature, 0, content, 0, signature.length);
+        return content;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    /**
+     * Local S3 stand-in covering the object and multipart calls used by the storage service
+     */
+    private static class InMemoryS3Client implements S3Client {
+
+        final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+        final Map<String, Map<Integer, byte[]>> pendingUploads = new ConcurrentHashMap<>();
+        final Map<String, String> pendingContentTypes = new ConcurrentHashMap<>();
+        final AtomicInteger multipartUploadsCreated = new AtomicInteger();
+        final AtomicInteger partsUploaded = new AtomicInteger();
+        final AtomicInteger abortedUploads = new AtomicInteger();
+        volatile int failPartNumber = -1;
+
+        @Override
+        public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+            objects.put(request.key(), read(body));
+            contentTypes.put(request.key(), request.contentType());
+            return PutObjectResponse.builder().build();
+        }
+
+        @Override
+        public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+            String uploadId = UUID.randomUUID().toString();
+            multipartUploadsCreated.incrementAndGet();
+            pendingUploads.put(uploadId, new ConcurrentSkipListMap<>());
+            pendingContentTypes.put(uploadId, request.contentType());
+            return CreateMultipartUploadResponse.builder().uploadId(uploadId).build();
+        }
+
+        @Override
+        public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+            if (request.partNumber() == failPartNumber) {
+                throw S3Exception.builder().message("Simulated part failure").statusCode(500).build();
+            }
+            pendingUploads.get(request.uploadId()).put(request.partNumber(), read(body));
+            partsUploaded.incrementAndGet();
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        }
+
+        @Override
+        public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+            Map<Integer, byte[]> parts = pendingUploads.remove(request.uploadId());
+            ByteArrayOutputStream object = new ByteArrayOutputStream();
+            request.multipartUpload().parts().stream()
+                    .sorted(Comparator.comparing(CompletedPart::partNumber))
+                    .forEach(part -> object.writeBytes(parts.get(part.partNumber())));
+            objects.put(request.key(), object.toByteArray());
+            contentTypes.put(request.key(), pendingContentTypes.remove(request.uploadId()));
+            return CompleteMultipartUploadResponse.builder().build();
+        }
+
+        @Override
+        public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+            pendingUploads.remove(request.uploadId());
+            abortedUploads.incrementAndGet();
+            return AbortMultipartUploadResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private static byte[] read(RequestBody body) {
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
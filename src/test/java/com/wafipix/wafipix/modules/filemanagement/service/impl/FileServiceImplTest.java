@@ -0,0 +1,151 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileVariantRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.PendingUploadRepository;
+import com.wafipix.wafipix.modules.filemanagement.service.FileService;
+import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileServiceImplTest {
+
+    private FileRepository fileRepository;
+    private FileStorageService fileStorageService;
+    private FileServiceImpl fileService;
+
+    @BeforeEach
+    void setUp() {
+        fileRepository = mock(FileRepository.class);
+        fileStorageService = mock(FileStorageService.class);
+        FileStorageConfig config = new FileStorageConfig();
+        config.getStorage().setBatchUploadConcurrency(3);
+        fileService = new FileServiceImpl(fileRepository, fileStorageService, config, mock(PendingUploadRepository.class), mock(FileVariantRepository.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(ApplicationEventPublisher.class));
+
+        when(fileRepository.findActiveByContentHashIn(anyList())).thenReturn(List.of());
+        when(fileRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fileStorageService.uploadFile(any(MultipartFile.class), anyString())).thenAnswer(invocation -> {
+            MultipartFile file = invocation.getArgument(0);
+            if (file.getOriginalFilename().startsWith("broken")) {
+                throw new RuntimeException("Storage unavailable");
+            }
+            // Slower uploads for earlier files, results must still follow the input order
+            Thread.sleep(50L * (10 - file.getOriginalFilename().charAt(0) + '0'));
+            String path = "works/galleries/" + file.getOriginalFilename();
+            return new FileStorageService.UploadResult(file.getOriginalFilename(), path, "http://cdn/" + path,
+                    "image/png", file.getSize(), "png", sha256(file.getBytes()));
+        });
+        when(fileStorageService.deleteFiles(any())).thenReturn(List.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchKeepsInputOrderReportsFailuresAndInsertsOnce() {
+        List<FileService.FileUpload> uploads = List.of(
+                upload("1.png", "one"),
+                upload("broken.png", "two"),
+                upload("3.png", "three"),
+                upload("4.png", "one") // same content as the first file
+        );
+
+        FileService.BatchUploadResult result = fileService.uploadFileBatch(uploads);
+
+        assertThat(result.items()).extracting(FileService.BatchUploadResult.Item::originalFileName)
+                .containsExactly("1.png", "broken.png", "3.png", "4.png");
+        assertThat(result.failures()).singleElement()
+                .satisfies(item -> assertThat(item.error()).isEqualTo("Storage unavailable"));
+        assertThat(result.uploadedFiles()).extracting(File::getOriginalFileName)
+                .containsExactly("1.png", "3.png", "1.png");
+        assertThat(result.items().get(3).file()).isSameAs(result.items().get(0).file());
+
+        // Every file is read once by its storage write, the duplicate object is dropped and the row shared
+        verify(fileStorageService, times(4)).uploadFile(any(MultipartFile.class), anyString());
+        verify(fileStorageService).deleteFiles(List.of("works/galleries/4.png"));
+        ArgumentCaptor<List<File>> saved = ArgumentCaptor.forClass(List.class);
+        verify(fileRepository, times(1)).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(File::getReferenceCount).containsExactly(2, 1);
+    }
+
+    @Test
+    void reusesTheStoredRowOfIdenticalContent() throws Exception {
+        File stored = stored("logo.png", 1);
+        stored.setContentHash(sha256("logo".getBytes(StandardCharsets.UTF_8)));
+        stored.setFileSize(4L);
+        when(fileRepository.findActiveByContentHashIn(anyList())).thenReturn(List.of(stored));
+
+        FileService.StagedFile stagedFile = fileService.stageFile(
+                new MockMultipartFile("file", "5.png", "image/png", "logo".getBytes(StandardCharsets.UTF_8)), "works");
+
+        assertThat(stagedFile.existingFileId()).isEqualTo(stored.getId());
+        assertThat(stagedFile.isNewObject()).isFalse();
+        verify(fileStorageService).deleteFiles(List.of("works/galleries/5.png"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteFilesByUrlsReleasesReferencesAndDeletesInBulk() {
+        File single = stored("single.png", 1);
+        File shared = stored("shared.png", 3);
+        File twice = stored("twice.png", 2);
+        when(fileRepository.findForUpdateByPublicUrlIn(any())).thenReturn(List.of(single, shared, twice));
+        when(fileStorageService.deleteFiles(any())).thenReturn(List.of());
+
+        Map<String, FileService.DeleteOutcome> outcomes = fileService.deleteFilesByUrls(List.of(
+                single.getPublicUrl(), shared.getPublicUrl(), twice.getPublicUrl(), twice.getPublicUrl(), "http://cdn/missing.png"));
+
+        assertThat(outcomes).containsExactly(
+                Map.entry(single.getPublicUrl(), FileService.DeleteOutcome.DELETED),
+                Map.entry(shared.getPublicUrl(), FileService.DeleteOutcome.RELEASED),
+                Map.entry(twice.getPublicUrl(), FileService.DeleteOutcome.DELETED),
+                Map.entry("http://cdn/missing.png", FileService.DeleteOutcome.NOT_FOUND));
+        verify(fileRepository).releaseReferences(List.of(shared.getId()), 1);
+        verify(fileRepository).deleteAllByIdInBatch(List.of(single.getId(), twice.getId()));
+        ArgumentCaptor<Collection<String>> deletedPaths = ArgumentCaptor.forClass(Collection.class);
+        verify(fileStorageService).deleteFiles(deletedPaths.capture());
+        assertThat(deletedPaths.getValue()).containsExactly("works/single.png", "works/twice.png");
+    }
+
+    private static File stored(String name, int referenceCount) {
+        File file = File.builder().filePath("works/" + name).publicUrl("http://cdn/works/" + name)
+                .referenceCount(referenceCount).build();
+        ReflectionTestUtils.setField(file, "id", UUID.randomUUID());
+        return file;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private static FileService.FileUpload upload(String name, String content) {
+        return new FileService.FileUpload(
+                new MockMultipartFile("files", name, "image/png", content.getBytes(StandardCharsets.UTF_8)),
+                "works/galleries");
+    }
+}
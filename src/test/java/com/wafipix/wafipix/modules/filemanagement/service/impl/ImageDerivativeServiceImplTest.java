@@ -0,0 +1,113 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileRepository;
+import com.wafipix.wafipix.modules.filemanagement.repository.FileVariantRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImageDerivativeServiceImplTest {
+
+    @TempDir
+    Path baseDir;
+
+    @Test
+    void rendersConfiguredWidthsBelowOriginalInEveryFormat() throws Exception {
+        FileStorageConfig config = new FileStorageConfig();
+        config.getStorage().getLocal().setBasePath(baseDir.toString());
+        config.getStorage().getLocal().setPublicUrl("http://localhost:8080/v3/public/uploads");
+        config.getStorage().getDerivatives().setWidths(List.of(320, 640, 4000));
+        config.getStorage().getDerivatives().setFormats(List.of("webp", "jpeg"));
+
+        Files.createDirectories(baseDir.resolve("works/galleries"));
+        ImageIO.write(new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB), "png",
+                baseDir.resolve("works/galleries/photo.png").toFile());
+
+        UUID fileId = UUID.randomUUID();
+        File original = File.builder().fileName("photo.png").filePath("works/galleries/photo.png")
+                .folderPath("works/galleries").mimeType("image/png").build();
+        FileRepository fileRepository = mock(FileRepository.class);
+        FileVariantRepository fileVariantRepository = mock(FileVariantRepository.class);
+        when(fileRepository.findById(fileId)).thenReturn(Optional.of(original));
+        when(fileVariantRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ImageDerivativeServiceImpl service = new ImageDerivativeServiceImpl(fileRepository, fileVariantRepository,
+                new LocalFileStorageServiceImpl(config), config, mock(ApplicationEventPublisher.class));
+
+        List<FileVariant> variants = service.generateDerivatives(fileId);
+
+        assertThat(variants).extracting(FileVariant::getWidth).containsExactly(320, 320, 640, 640);
+        assertThat(variants).extracting(FileVariant::getHeight).containsExactly(213, 213, 427, 427);
+        assertThat(variants).extracting(FileVariant::getMimeType)
+                .containsExactly("image/webp", "image/jpeg", "image/webp", "image/jpeg");
+        assertThat(variants).allSatisfy(variant -> {
+            assertThat(variant.getFilePath()).startsWith("works/galleries/variants/").matches(".*\\.(webp|jpg)");
+            BufferedImage stored = ImageIO.read(baseDir.resolve(variant.getFilePath()).toFile());
+            assertThat(stored.getWidth()).isEqualTo(variant.getWidth());
+        });
+    }
+
+    @Test
+    void keepsTransparentSourcesAsPng() throws Exception {
+        FileStorageConfig config = new FileStorageConfig();
+        config.getStorage().getLocal().setBasePath(baseDir.toString());
+        config.getStorage().getLocal().setPublicUrl("http://localhost:8080/v3/public/uploads");
+        config.getStorage().getDerivatives().setWidths(List.of(320));
+        config.getStorage().getDerivatives().setFormats(List.of("jpeg", "png"));
+
+        Files.createDirectories(baseDir.resolve("works/galleries"));
+        BufferedImage logo = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB);
+        logo.setRGB(0, 0, 0xFF336699);
+        ImageIO.write(logo, "png", baseDir.resolve("works/galleries/logo.png").toFile());
+
+        UUID fileId = UUID.randomUUID();
+        File original = File.builder().fileName("logo.png").filePath("works/galleries/logo.png")
+                .folderPath("works/galleries").mimeType("image/png").build();
+        FileRepository fileRepository = mock(FileRepository.class);
+        FileVariantRepository fileVariantRepository = mock(FileVariantRepository.class);
+        when(fileRepository.findById(fileId)).thenReturn(Optional.of(original));
+        when(fileVariantRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ImageDerivativeServiceImpl service = new ImageDerivativeServiceImpl(fileRepository, fileVariantRepository,
+                new LocalFileStorageServiceImpl(config), config, mock(ApplicationEventPublisher.class));
+
+        List<FileVariant> variants = service.generateDerivatives(fileId);
+
+        assertThat(variants).singleElement().satisfies(variant -> {
+            assertThat(variant.getMimeType()).isEqualTo("image/png");
+            BufferedImage stored = ImageIO.read(baseDir.resolve(variant.getFilePath()).toFile());
+            assertThat(stored.getColorModel().hasAlpha()).isTrue();
+            assertThat(stored.getRGB(stored.getWidth() - 1, stored.getHeight() - 1) >>> 24).isZero();
+        });
+    }
+
+    @Test
+    void refusesToStartWithAFormatWithoutWriter() {
+        FileStorageConfig config = new FileStorageConfig();
+        config.getStorage().getDerivatives().setFormats(List.of("webp", "no-such-format"));
+        ImageDerivativeServiceImpl service = new ImageDerivativeServiceImpl(mock(FileRepository.class),
+                mock(FileVariantRepository.class), new LocalFileStorageServiceImpl(config), config,
+                mock(ApplicationEventPublisher.class));
+
+        assertThatThrownBy(service::checkWriters)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("no-such-format");
+    }
+}
@@ -0,0 +1,160 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
+import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class LocalFileStorageServiceImplTest {
+
+    @TempDir
+    Path baseDir;
+
+    private LocalFileStorageServiceImpl storageService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConfig config = new FileStorageConfig();
+        config.getStorage().getLocal().setBasePath(baseDir.toString());
+        config.getStorage().getLocal().setPublicUrl("http://localhost:8080/v3/public/uploads");
+        config.getStorage().setUploadBufferSize(DataSize.ofKilobytes(256));
+        storageService = new LocalFileStorageServiceImpl(config);
+    }
+
+    @Test
+    void uploadReadsStreamOnceAndReturnsContentHash() throws Exception {
+        byte[] content = pngContent(3 * 1024 * 1024 + 17);
+        CountingMultipartFile file = new CountingMultipartFile("cover.png", content);
+
+        FileStorageService.UploadResult result = storageService.uploadFile(file, "works/cover-images");
+
+        // Before the single-pass pipeline every upload read the content twice (copy + MIME detection)
+        assertThat(file.bytesRead()).isEqualTo(content.length);
+        assertThat(file.streamsOpened()).isEqualTo(1);
+
+        assertThat(result.getFileSize()).isEqualTo(content.length);
+        assertThat(result.getMimeType()).isEqualTo("image/png");
+        assertThat(result.getContentHash()).isEqualTo(sha256(content));
+
+        Path stored = baseDir.resolve(result.getFilePath());
+        assertThat(Files.readAllBytes(stored)).isEqualTo(content);
+        try (Stream<Path> files = Files.list(stored.getParent())) {
+            assertThat(files).containsExactly(stored);
+        }
+    }
+
+    @Test
+    void uploadHandlesEmptyFile() throws Exception {
+        CountingMultipartFile file = new CountingMultipartFile("empty.txt", new byte[0]);
+
+        FileStorageService.UploadResult result = storageService.uploadFile(file, "misc");
+
+        assertThat(result.getFileSize()).isZero();
+        assertThat(result.getContentHash()).isEqualTo(sha256(new byte[0]));
+        assertThat(Files.size(baseDir.resolve(result.getFilePath()))).isZero();
+    }
+
+    @Test
+    void storedFilesGetTheUsualPermissionsNotThoseOfTheTempFile() throws Exception {
+        assumeTrue(baseDir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+        FileStorageService.UploadResult result = storageService.uploadFile(
+                new CountingMultipartFile("logo.png", pngContent(1024)), "clients");
+
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(baseDir.resolve(result.getFilePath()))))
+                .isEqualTo("rw-r--r--");
+    }
+
+    @Test
+    void listsFilesInObjectStoreKeyOrder() throws Exception {
+        for (String key : new String[]{"ab", "a/y", "a.txt", "a-b/x", "a/b/z"}) {
+            Files.createDirectories(baseDir.resolve(key).getParent());
+            Files.writeString(baseDir.resolve(key), key);
+        }
+
+        try (Stream<FileStorageService.StoredObject> objects = storageService.listFiles()) {
+            // '-' < '.' < '/' in byte order, a directory sorts as its name followed by '/'
+            assertThat(objects.map(FileStorageService.StoredObject::filePath))
+                    .containsExactly("a-b/x", "a.txt", "a/b/z", "a/y", "ab");
+        }
+
+        assertThat(storageService.moveFile("a/y", ".quarantine/a/y")).isTrue();
+        assertThat(Files.readString(baseDir.resolve(".quarantine/a/y"))).isEqualTo("a/y");
+        assertThat(storageService.fileExists("a/y")).isFalse();
+    }
+
+    private static byte[] pngContent(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        System.arraycopy(signature, 0, content, 0, signature.length);
+        return content;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    /**
+     * Multipart file that records how many bytes are pulled from its streams
+     */
+    private static class CountingMultipartFile extends MockMultipartFile {
+
+        private final AtomicLong bytesRead = new AtomicLong();
+        private int streamsOpened;
+
+        CountingMultipartFile(String originalFilename, byte[] content) {
+            super("file", originalFilename, null, content);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            streamsOpened++;
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b != -1) {
+                        bytesRead.incrementAndGet();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = super.read(b, off, len);
+                    if (n > 0) {
+                        bytesRead.addAndGet(n);
+                    }
+                    return n;
+                }
+            };
+        }
+
+        long bytesRead() {
+            return bytesRead.get();
+        }
+
+        int streamsOpened() {
+            return streamsOpened;
+        }
+    }
+}
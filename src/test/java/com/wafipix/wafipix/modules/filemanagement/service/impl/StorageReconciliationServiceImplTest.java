@@ -0,0 +1,35 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StorageReconciliationServiceImplTest {
+
+    @Test
+    void mergesStorageKeysWithKeysetPagesOfKnownKeys() {
+        TreeSet<String> table = new TreeSet<>(List.of("services/a.jpg", "works/1.mp4", "works/2.jpg", "works/2.jpg-480.webp", "works/9.png"));
+        List<String> pagesRequestedAfter = new ArrayList<>();
+        StorageReconciliationServiceImpl.KnownKeys keys = new StorageReconciliationServiceImpl.KnownKeys(after -> {
+            pagesRequestedAfter.add(after);
+            return table.tailSet(after, false).stream().limit(2).toList();
+        }, 2);
+
+        // Storage listing order, with keys the table does not know in between
+        assertThat(keys.contains("a/orphan.jpg")).isFalse();
+        assertThat(keys.contains("services/a.jpg")).isTrue();
+        assertThat(keys.contains("works/0.jpg")).isFalse();
+        assertThat(keys.contains("works/2.jpg")).isTrue();
+        assertThat(keys.contains("works/2.jpg-480.webp")).isTrue();
+        assertThat(keys.contains("works/3.jpg")).isFalse();
+        assertThat(keys.contains("works/9.png")).isTrue();
+        assertThat(keys.contains("zz/orphan.jpg")).isFalse();
+
+        // Every known key read once, the short last page ends the cursor
+        assertThat(pagesRequestedAfter).containsExactly("", "works/1.mp4", "works/2.jpg-480.webp");
+    }
+}
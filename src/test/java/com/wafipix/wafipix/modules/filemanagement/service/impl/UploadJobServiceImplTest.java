@@ -0,0 +1,125 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import com.wafipix.wafipix.modules.filemanagement.dto.response.UploadJobResponse;
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.service.FileService;
+import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
+import com.wafipix.wafipix.modules.filemanagement.service.UploadJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UploadJobServiceImplTest {
+
+    private FileService fileService;
+    private UploadJobServiceImpl uploadJobService;
+
+    @BeforeEach
+    void setUp() {
+        fileService = mock(FileService.class);
+        uploadJobService = new UploadJobServiceImpl(fileService, new SyncTaskExecutor(), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void completedJobReportsOwningEntityAndFullProgress() {
+        File stored = File.builder().publicUrl("http://localhost/uploads/works/video.mp4").build();
+        FileService.StagedFile staged = staged("works/cover-videos");
+        when(fileService.stageFile(any(MultipartFile.class), eq("works/cover-videos"))).thenAnswer(invocation -> {
+            // Storage implementations read the whole stream
+            invocation.getArgument(0, MultipartFile.class).getInputStream().readAllBytes();
+            return staged;
+        });
+        when(fileService.commitStagedFiles(List.of(staged))).thenReturn(List.of(stored));
+        UUID workId = UUID.randomUUID();
+
+        UploadJobResponse submitted = uploadJobService.submit("work",
+                List.of(new UploadJobService.JobFile("coverVideo", video(4096), "works/cover-videos")),
+                files -> {
+                    assertThat(files).containsEntry("coverVideo", stored);
+                    return workId;
+                });
+
+        UploadJobResponse job = uploadJobService.getJob(submitted.jobId());
+        assertThat(job.status()).isEqualTo(UploadJobResponse.Status.COMPLETED);
+        assertThat(job.resourceId()).isEqualTo(workId);
+        assertThat(job.bytesTotal()).isEqualTo(4096);
+        assertThat(job.progressPercent()).isEqualTo(100);
+    }
+
+    @Test
+    void progressNeverMovesBackWhenAFileIsReadAgain() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        uploadJobService = new UploadJobServiceImpl(fileService, queued::add, mock(PlatformTransactionManager.class));
+        List<Integer> observed = new ArrayList<>();
+        AtomicReference<UUID> jobId = new AtomicReference<>();
+        FileService.StagedFile staged = staged("works/cover-videos");
+        when(fileService.stageFile(any(MultipartFile.class), any())).thenAnswer(invocation -> {
+            MultipartFile file = invocation.getArgument(0, MultipartFile.class);
+            for (int pass = 0; pass < 2; pass++) {
+                try (InputStream in = file.getInputStream()) {
+                    byte[] chunk = new byte[1024];
+                    while (in.read(chunk) != -1) {
+                        observed.add(uploadJobService.getJob(jobId.get()).progressPercent());
+                    }
+                }
+            }
+            return staged;
+        });
+        when(fileService.commitStagedFiles(List.of(staged))).thenReturn(List.of(File.builder().build()));
+
+        List<UploadJobService.JobFile> files = List.of(
+                new UploadJobService.JobFile("coverVideo", video(4096), "works/cover-videos"),
+                new UploadJobService.JobFile("profileVideo", video(4096), "works/profile-videos"));
+        jobId.set(uploadJobService.submit("work", files, stored -> UUID.randomUUID()).jobId());
+        queued.forEach(Runnable::run);
+
+        assertThat(observed).containsExactly(12, 25, 37, 50, 50, 50, 50, 50, 62, 75, 87, 100, 100, 100, 100, 100);
+        assertThat(uploadJobService.getJob(jobId.get()).progressPercent()).isEqualTo(100);
+    }
+
+    @Test
+    void failedCompletionDiscardsStagedFiles() {
+        File stored = File.builder().publicUrl("http://localhost/uploads/advertisement-videos/video.mp4").build();
+        FileService.StagedFile staged = staged("advertisement-videos");
+        when(fileService.stageFile(any(MultipartFile.class), any())).thenReturn(staged);
+        when(fileService.commitStagedFiles(List.of(staged))).thenReturn(List.of(stored));
+
+        UploadJobResponse submitted = uploadJobService.submit("advertisement-video",
+                List.of(new UploadJobService.JobFile("video", video(16), "advertisement-videos")),
+                files -> {
+                    throw new IllegalStateException("Owner update failed");
+                });
+
+        UploadJobResponse job = uploadJobService.getJob(submitted.jobId());
+        assertThat(job.status()).isEqualTo(UploadJobResponse.Status.FAILED);
+        assertThat(job.error()).isEqualTo("Owner update failed");
+        verify(fileService).discardStagedFiles(List.of(staged));
+    }
+
+    private static FileService.StagedFile staged(String folderPath) {
+        String path = folderPath + "/video.mp4";
+        return new FileService.StagedFile(0, "video.mp4", folderPath, "hash", null,
+                new FileStorageService.UploadResult("video.mp4", path, "http://localhost/uploads/" + path,
+                        "video/mp4", 16, "mp4"), null);
+    }
+
+    private static MockMultipartFile video(int size) {
+        return new MockMultipartFile("file", "video.mp4", "video/mp4", new byte[size]);
+    }
+}
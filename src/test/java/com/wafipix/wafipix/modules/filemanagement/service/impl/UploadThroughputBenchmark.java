@@ -0,0 +1,224 @@
+package com.wafipix.wafipix.modules.filemanagement.service.impl;
+
+import com.wafipix.wafipix.modules.filemanagement.config.FileStorageConfig;
+import com.wafipix.wafipix.modules.filemanagement.service.FileStorageService;
+import org.apache.tika.Tika;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload pipelines for 10, 100 and 200MB videos, from a multipart file spooled to disk as the container does
+ * twoPassLocalCopy is the local upload before the single-pass pipeline (copy, then a second read for MIME detection),
+ * it computed no content hash, so the difference to localSinglePass includes hashing
+ * R2 uploads go to an S3 client that discards the bytes, so only the pipeline itself (hashing, part splitting) is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadThroughputBenchmark {
+
+    @Param({"10", "100", "200"})
+    public int sizeMb;
+
+    private Path workDir;
+    private Path storageDir;
+    private MultipartFile upload;
+    private LocalFileStorageServiceImpl localStorage;
+    private CloudflareR2ServiceImpl r2Storage;
+    private final Tika tika = new Tika();
+
+    @Setup
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("upload-benchmark");
+        storageDir = workDir.resolve("storage");
+        Path spooled = workDir.resolve("upload.mp4");
+        writeVideo(spooled, sizeMb * 1024L * 1024L);
+        upload = new SpooledMultipartFile(spooled);
+
+        FileStorageConfig config = new FileStorageConfig();
+        config.getStorage().getLocal().setBasePath(storageDir.toString());
+        config.getStorage().getLocal().setPublicUrl("http://localhost:8080/v3/public/uploads");
+        config.getStorage().getCloudflare().getR2().setBucketName("wafipix");
+        config.getStorage().getCloudflare().getR2().setPublicUrl("https://cdn.wafipix.com");
+        localStorage = new LocalFileStorageServiceImpl(config);
+        r2Storage = new CloudflareR2ServiceImpl(config, new DiscardingS3Client());
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearStorage() throws IOException {
+        FileSystemUtils.deleteRecursively(storageDir);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        r2Storage.destroy();
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    public FileStorageService.UploadResult localSinglePass() {
+        return localStorage.uploadFile(upload, "works");
+    }
+
+    @Benchmark
+    public String twoPassLocalCopy() throws IOException {
+        Path target = storageDir.resolve("works").resolve(UUID.randomUUID() + ".mp4");
+        Files.createDirectories(target.getParent());
+        try (InputStream in = upload.getInputStream()) {
+            Files.copy(in, target);
+        }
+        try (InputStream in = upload.getInputStream()) {
+            return tika.detect(in);
+        }
+    }
+
+    @Benchmark
+    public FileStorageService.UploadResult r2Multipart() {
+        return r2Storage.uploadFile(upload, "works");
+    }
+
+    private static void writeVideo(Path path, long size) throws IOException {
+        byte[] chunk = new byte[1024 * 1024];
+        Random random = new Random(7);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            for (long written = 0; written < size; written += chunk.length) {
+                random.nextBytes(chunk);
+                if (written == 0) {
+                    // ftyp box, detected as video/mp4
+                    byte[] header = {0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'm', 'p', '4', '2'};
+                    System.arraycopy(header, 0, chunk, 0, header.length);
+                }
+                out.write(chunk, 0, (int) Math.min(chunk.length, size - written));
+            }
+        }
+    }
+
+    /**
+     * Multipart file backed by a file on disk, like the container's spooled upload parts
+     */
+    private record SpooledMultipartFile(Path path) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "advertisement.mp4";
+        }
+
+        @Override
+        public String getContentType() {
+            return "video/mp4";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(java.io.File dest) throws IOException {
+            Files.copy(path, dest.toPath());
+        }
+    }
+
+    /**
+     * Accepts every object and part and drops the bytes after reading them
+     */
+    private static class DiscardingS3Client implements S3Client {
+
+        @Override
+        public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+            drain(body);
+            return PutObjectResponse.builder().build();
+        }
+
+        @Override
+        public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+            return CreateMultipartUploadResponse.builder().uploadId(UUID.randomUUID().toString()).build();
+        }
+
+        @Override
+        public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+            drain(body);
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        }
+
+        @Override
+        public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+            return CompleteMultipartUploadResponse.builder().build();
+        }
+
+        @Override
+        public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+            return AbortMultipartUploadResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return "s3";
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private static void drain(RequestBody body) {
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
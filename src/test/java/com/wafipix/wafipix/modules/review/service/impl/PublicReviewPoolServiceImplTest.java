@@ -0,0 +1,62 @@
+package com.wafipix.wafipix.modules.review.service.impl;
+
+import com.wafipix.wafipix.modules.review.dto.response.ReviewResponsePublic;
+import com.wafipix.wafipix.modules.review.entity.Review;
+import com.wafipix.wafipix.modules.review.mapper.ReviewMapper;
+import com.wafipix.wafipix.modules.review.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PublicReviewPoolServiceImplTest {
+
+    private ReviewRepository reviewRepository;
+    private PublicReviewPoolServiceImpl poolService;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository = mock(ReviewRepository.class);
+        poolService = new PublicReviewPoolServiceImpl(reviewRepository, new ReviewMapper());
+        ReflectionTestUtils.setField(poolService, "shufflePeriod", Duration.ofHours(1));
+
+        List<Review> reviews = IntStream.range(0, 20)
+                .mapToObj(i -> review(i % 4 == 0 ? "google" : "fiverr", "Client " + i))
+                .toList();
+        when(reviewRepository.findByActiveTrueOrderByCreatedAtDesc()).thenReturn(reviews);
+    }
+
+    @Test
+    void readsAreServedFromOnePoolLoadUntilInvalidated() {
+        List<ReviewResponsePublic> first = poolService.getShuffledReviews(null);
+        List<ReviewResponsePublic> second = poolService.getShuffledReviews(null);
+
+        // Same period, same order, no repeated query
+        assertThat(second).containsExactlyElementsOf(first).hasSize(20);
+        assertThat(poolService.getShuffledReviews("google")).hasSize(5)
+                .allMatch(review -> review.platform().equals("google"));
+        assertThat(poolService.getShuffledReviews("unknown")).isEmpty();
+        assertThat(poolService.getPlatforms()).containsExactly("fiverr", "google");
+        verify(reviewRepository, times(1)).findByActiveTrueOrderByCreatedAtDesc();
+
+        poolService.invalidate();
+        poolService.getPlatforms();
+        verify(reviewRepository, times(2)).findByActiveTrueOrderByCreatedAtDesc();
+    }
+
+    private static Review review(String platform, String clientName) {
+        Review review = Review.builder().platform(platform).clientName(clientName).rating(5).reviewText("Great").active(true).build();
+        ReflectionTestUtils.setField(review, "id", UUID.randomUUID());
+        return review;
+    }
+}
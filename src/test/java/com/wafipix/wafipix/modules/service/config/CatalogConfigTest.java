@@ -0,0 +1,51 @@
+package com.wafipix.wafipix.modules.service.config;
+
+import com.wafipix.wafipix.modules.service.listener.ServiceCatalogEventListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogConfigTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dropsTheSnapshotWhenARefreshIsRejected() throws Exception {
+        ServiceCatalogEventListener listener = mock(ServiceCatalogEventListener.class);
+        ObjectProvider<ServiceCatalogEventListener> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(listener);
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) new CatalogConfig().catalogRefreshExecutor(provider);
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            // One running, 200 queued, the last one is rejected
+            for (int i = 0; i < 201; i++) {
+                executor.execute(ran::incrementAndGet);
+            }
+            verify(listener).handleRejectedRefresh();
+        } finally {
+            release.countDown();
+            // Graceful, the task executor shutdown would discard the queue
+            executor.getThreadPoolExecutor().shutdown();
+        }
+
+        assertThat(executor.getThreadPoolExecutor().awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).hasValue(200);
+    }
+}
@@ -0,0 +1,63 @@
+package com.wafipix.wafipix.modules.service.mapper;
+
+import com.wafipix.wafipix.modules.service.dto.admin.response.PackageResponse;
+import com.wafipix.wafipix.modules.service.entity.Feature;
+import com.wafipix.wafipix.modules.service.entity.Package;
+import com.wafipix.wafipix.modules.service.entity.Pricing;
+import com.wafipix.wafipix.modules.service.entity.Service;
+import com.wafipix.wafipix.modules.service.enums.PackageStatus;
+import com.wafipix.wafipix.modules.service.repository.ServiceRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packages of a service page (3 packages of 6 features) mapped to responses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackageMapperBenchmark {
+
+    private PackageMapper packageMapper;
+    private List<Package> packages;
+
+    @Setup
+    public void setUp() {
+        packageMapper = new PackageMapper(Mockito.mock(ServiceRepository.class));
+
+        Service service = Service.builder().title("Motion Design").slug("motion-design").build();
+        packages = new ArrayList<>();
+        for (int p = 0; p < 3; p++) {
+            Package pkg = Package.builder().service(service).title("Package " + p).subtitle("For growing brands")
+                    .pricing(new Pricing(100.0 * (p + 1), 12000.0 * (p + 1))).status(PackageStatus.ACTIVE)
+                    .deliveryTime((p + 1) * 7 + " days").advancePercentage(50.0).popular(p == 1).build();
+            List<Feature> features = new ArrayList<>();
+            for (int f = 0; f < 6; f++) {
+                features.add(Feature.builder().packageEntity(pkg).text("Feature " + f).highlight(f == 0).build());
+            }
+            pkg.setFeatures(features);
+            packages.add(pkg);
+        }
+    }
+
+    @Benchmark
+    public List<PackageResponse> toResponseList() {
+        return packageMapper.toResponseList(packages);
+    }
+}
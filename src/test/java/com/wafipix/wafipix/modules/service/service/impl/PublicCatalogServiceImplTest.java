@@ -0,0 +1,68 @@
+package com.wafipix.wafipix.modules.service.service.impl;
+
+import com.wafipix.wafipix.modules.service.entity.Category;
+import com.wafipix.wafipix.modules.service.entity.FAQ;
+import com.wafipix.wafipix.modules.service.entity.Feature;
+import com.wafipix.wafipix.modules.service.entity.Package;
+import com.wafipix.wafipix.modules.service.entity.Pricing;
+import com.wafipix.wafipix.modules.service.entity.Service;
+import com.wafipix.wafipix.modules.service.entity.ServiceFeature;
+import com.wafipix.wafipix.modules.service.enums.PackageStatus;
+import com.wafipix.wafipix.modules.service.service.PublicCatalogService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(PublicCatalogServiceImpl.class)
+class PublicCatalogServiceImplTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PublicCatalogServiceImpl publicCatalogService;
+
+    @Test
+    void buildsCatalogWithStatementCountIndependentOfPackages() {
+        Category category = entityManager.persist(Category.builder().title("Design").subtitle("Visual work").build());
+        for (int s = 0; s < 3; s++) {
+            Service service = entityManager.persist(Service.builder().title("Service " + s).slug("service-" + s)
+                    .category(category).active(s < 2).build());
+            entityManager.persist(ServiceFeature.builder().service(service).text("Fast delivery").build());
+            entityManager.persist(FAQ.builder().service(service).question("How long?").answer("A week").build());
+            for (int p = 0; p < 2; p++) {
+                Package pkg = entityManager.persist(Package.builder().service(service).title("Package " + p)
+                        .pricing(new Pricing(10.0, 1200.0)).status(PackageStatus.ACTIVE).build());
+                entityManager.persist(Feature.builder().packageEntity(pkg).text("Source files").build());
+                entityManager.persist(Feature.builder().packageEntity(pkg).text("Revisions").highlight(true).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PublicCatalogService.PublicCatalog catalog = publicCatalogService.getCatalog();
+
+        // Services, categories, packages, package features, service features, FAQs
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+        assertThat(catalog.packages()).hasSize(6)
+                .allSatisfy(pkg -> assertThat(pkg.features()).extracting("text").containsExactly("Source files", "Revisions"));
+        assertThat(catalog.servicePagesBySlug()).containsOnlyKeys("service-0", "service-1");
+        assertThat(catalog.servicePagesBySlug().get("service-1").packages()).hasSize(2);
+        assertThat(catalog.servicePagesBySlug().get("service-1").faqs()).hasSize(1);
+        assertThat(catalog.navigation()).singleElement()
+                .satisfies(navigation -> assertThat(navigation.items()).hasSize(2));
+    }
+}
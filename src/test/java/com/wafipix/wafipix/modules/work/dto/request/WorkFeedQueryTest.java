@@ -0,0 +1,31 @@
+package com.wafipix.wafipix.modules.work.dto.request;
+
+import com.wafipix.wafipix.modules.work.dto.response.FeedCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkFeedQueryTest {
+
+    @Test
+    void keysByTheClampedValuesTheQueryRunsWith() {
+        UUID serviceId = UUID.randomUUID();
+        String cursor = new FeedCursor(LocalDateTime.parse("2025-01-01T10:00"), UUID.randomUUID()).encode();
+
+        assertThat(WorkFeedQuery.of(serviceId, cursor, 500).cacheKey())
+                .isEqualTo(WorkFeedQuery.of(serviceId, cursor, 48).cacheKey());
+        assertThat(WorkFeedQuery.of(serviceId, "", -3).cacheKey())
+                .isEqualTo(WorkFeedQuery.of(serviceId, null, 1).cacheKey());
+        assertThat(WorkFeedQuery.of(serviceId, null, 500).limit()).isEqualTo(48);
+
+        Sort newest = Sort.by(Sort.Direction.DESC, "createdAt");
+        PublicWorksQuery page = PublicWorksQuery.of(null, PageRequest.of(2, 2000, newest));
+        assertThat(page.pageable().getPageSize()).isEqualTo(PublicWorksQuery.MAX_PAGE_SIZE);
+        assertThat(page.cacheKey()).isEqualTo(PublicWorksQuery.of(null, PageRequest.of(2, 48, newest)).cacheKey());
+    }
+}
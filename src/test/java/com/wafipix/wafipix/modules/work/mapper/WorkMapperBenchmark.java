@@ -0,0 +1,117 @@
+package com.wafipix.wafipix.modules.work.mapper;
+
+import com.wafipix.wafipix.modules.filemanagement.entity.File;
+import com.wafipix.wafipix.modules.filemanagement.entity.FileVariant;
+import com.wafipix.wafipix.modules.filemanagement.mapper.FileMapper;
+import com.wafipix.wafipix.modules.service.entity.Service;
+import com.wafipix.wafipix.modules.service.mapper.ServiceMapper;
+import com.wafipix.wafipix.modules.work.dto.projection.WorkFeedRow;
+import com.wafipix.wafipix.modules.work.dto.response.WorkDetailPublicResponse;
+import com.wafipix.wafipix.modules.work.dto.response.WorkListPublicResponse;
+import com.wafipix.wafipix.modules.work.entity.Gallery;
+import com.wafipix.wafipix.modules.work.entity.GalleryItem;
+import com.wafipix.wafipix.modules.work.entity.Work;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public work mappings: a 24 row feed page with srcsets and a detail with 2 galleries of 6 items
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkMapperBenchmark {
+
+    private WorkMapper workMapper;
+    private List<WorkFeedRow> feedRows;
+    private Map<UUID, List<FileVariant>> variantsByFileId;
+    private Work work;
+    private List<Gallery> galleries;
+    private Map<UUID, List<GalleryItem>> itemsByGallery;
+
+    @Setup
+    public void setUp() {
+        FileMapper fileMapper = new FileMapper();
+        workMapper = new WorkMapper(new ServiceMapper(), fileMapper, new GalleryMapper(new GalleryItemMapper(fileMapper)));
+
+        feedRows = new ArrayList<>();
+        variantsByFileId = new HashMap<>();
+        for (int i = 0; i < 24; i++) {
+            File coverImage = file("works/" + i + "/cover.jpg", "image/jpeg");
+            File profileImage = file("works/" + i + "/profile.jpg", "image/jpeg");
+            variantsByFileId.put(coverImage.getId(), coverImage.getVariants());
+            variantsByFileId.put(profileImage.getId(), profileImage.getVariants());
+            feedRows.add(new WorkFeedRow(UUID.randomUUID(), "Work " + i, "work-" + i, "Motion Design",
+                    "https://cdn.wafipix.com/works/" + i + "/cover.mp4", coverImage.getId(), coverImage.getPublicUrl(),
+                    "https://cdn.wafipix.com/works/" + i + "/profile.mp4", profileImage.getId(), profileImage.getPublicUrl(),
+                    LocalDateTime.now().minusDays(i)));
+        }
+
+        work = Work.builder().title("Launch film").slug("launch-film").description("Case study")
+                .service(Service.builder().title("Motion Design").slug("motion-design").build())
+                .coverVideo(file("works/launch/cover.mp4", "video/mp4"))
+                .coverImage(file("works/launch/cover.jpg", "image/jpeg"))
+                .profileVideo(file("works/launch/profile.mp4", "video/mp4"))
+                .profileImage(file("works/launch/profile.jpg", "image/jpeg"))
+                .build();
+        galleries = new ArrayList<>();
+        itemsByGallery = new HashMap<>();
+        for (int g = 0; g < 2; g++) {
+            Gallery gallery = Gallery.builder().work(work).isMobileGrid(g == 1).build();
+            ReflectionTestUtils.setField(gallery, "id", UUID.randomUUID());
+            List<GalleryItem> items = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                items.add(GalleryItem.builder().gallery(gallery)
+                        .file(i % 3 == 2 ? file("works/launch/" + g + "-" + i + ".mp4", "video/mp4")
+                                : file("works/launch/" + g + "-" + i + ".jpg", "image/jpeg"))
+                        .build());
+            }
+            galleries.add(gallery);
+            itemsByGallery.put(gallery.getId(), items);
+        }
+    }
+
+    @Benchmark
+    public List<WorkListPublicResponse> feedPage() {
+        return feedRows.stream().map(row -> workMapper.toPublicListResponse(row, variantsByFileId)).toList();
+    }
+
+    @Benchmark
+    public WorkDetailPublicResponse detail() {
+        return workMapper.toPublicDetailResponse(work, galleries, itemsByGallery);
+    }
+
+    private static File file(String path, String mimeType) {
+        File file = File.builder().fileName(path).originalFileName(path).filePath(path)
+                .publicUrl("https://cdn.wafipix.com/" + path).mimeType(mimeType).build();
+        ReflectionTestUtils.setField(file, "id", UUID.randomUUID());
+        if (mimeType.startsWith("image/")) {
+            for (int width : new int[]{480, 960, 1600}) {
+                file.getVariants().add(FileVariant.builder().file(file).width(width).height(width * 9 / 16)
+                        .mimeType("image/webp").publicUrl("https://cdn.wafipix.com/" + path + "-" + width + ".webp")
+                        .build());
+            }
+        }
+        return file;
+    }
+}
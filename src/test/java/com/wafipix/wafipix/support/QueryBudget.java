@@ -0,0 +1,47 @@
+package com.wafipix.wafipix.support;
+
+import java.util.List;
+
+/**
+ * Statement budgets for code paths that must not grow with the data (N+1 regressions)
+ * Counts the SQL Hibernate prepares on the calling thread, so MockMvc requests are covered
+ * while async listeners and schedulers are not
+ */
+public final class QueryBudget {
+
+    // Add to the test properties of any context that uses budgets
+    public static final String STATEMENT_INSPECTOR_PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.wafipix.wafipix.support.StatementRecorder";
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Run the action and fail, listing the executed SQL, if it prepared more than maxStatements statements
+     */
+    public static <T> T assertAtMost(int maxStatements, String description, Action<T> action) throws Exception {
+        StatementRecorder.start();
+        T result;
+        List<String> statements;
+        try {
+            result = action.run();
+        } finally {
+            statements = StatementRecorder.stop();
+        }
+
+        if (statements.size() > maxStatements) {
+            StringBuilder message = new StringBuilder(description).append(" executed ").append(statements.size())
+                    .append(" statements, budget is ").append(maxStatements).append(':');
+            for (int i = 0; i < statements.size(); i++) {
+                message.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(statements.get(i));
+            }
+            throw new AssertionError(message.toString());
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Exception;
+    }
+}